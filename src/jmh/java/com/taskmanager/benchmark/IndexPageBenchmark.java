@@ -0,0 +1,36 @@
+package com.taskmanager.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Renders index.html through the full MVC stack (controller, model, Thymeleaf)
+ * without a socket in between.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class IndexPageBenchmark {
+
+    @Benchmark
+    public String renderIndex(SeededApplication app) throws Exception {
+        return app.mockMvc.perform(get("/")).andReturn().getResponse().getContentAsString();
+    }
+
+    @Benchmark
+    public String renderFilteredIndex(SeededApplication app) throws Exception {
+        return app.mockMvc.perform(get("/tasks/filter").param("status", "PENDING").param("priority", "URGENT"))
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,77 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.repository.TaskIdSequenceAligner;
+import com.taskmanager.service.TaskService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Boots the whole application against a private in-memory H2 database holding
+ * {@link #tasks} generated rows. Rows are inserted before ApplicationReadyEvent
+ * so the search index, overdue tracker and counters load them like a real start.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+
+    @Param({"1000", "100000", "1000000"})
+    public int tasks;
+
+    ConfigurableApplicationContext context;
+    TaskService taskService;
+    MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = boot(tasks);
+        taskService = context.getBean(TaskService.class);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    /**
+     * Starts the application seeded with {@code tasks} rows; {@code overrides} are
+     * extra {@code key=value} properties applied on top of the benchmark defaults.
+     */
+    static ConfigurableApplicationContext boot(int tasks, String... overrides) {
+        return new SpringApplicationBuilder(TaskManagerApplication.class)
+                .properties(
+                        "server.port=0",
+                        "taskmanager.reactive.port=0",
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.h2.console.enabled=false",
+                        "spring.thymeleaf.cache=true",
+                        "logging.level.root=WARN")
+                .properties(overrides)
+                .listeners(new ApplicationListener<ApplicationStartedEvent>() {
+                    @Override
+                    public void onApplicationEvent(ApplicationStartedEvent event) {
+                        ApplicationContext seeded = event.getApplicationContext();
+                        TaskSeeder.seed(seeded.getBean(JdbcTemplate.class), tasks);
+                        // The aligner already ran at startup, before these rows existed
+                        seeded.getBean(TaskIdSequenceAligner.class).alignSequence();
+                    }
+                })
+                .run();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+}
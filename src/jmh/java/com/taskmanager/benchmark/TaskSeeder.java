@@ -0,0 +1,43 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Fills the tasks table with deterministic rows using H2's SYSTEM_RANGE, so even
+ * a million rows are generated inside the database without JDBC round trips.
+ * Statuses and priorities rotate through every value; two thirds of the tasks
+ * have a due date spread over the 15 days either side of now. The caller moves
+ * task_seq past the generated ids afterwards.
+ */
+final class TaskSeeder {
+
+    private static final int SLICE = 100_000;
+
+    private TaskSeeder() {
+    }
+
+    static void seed(JdbcTemplate jdbcTemplate, int tasks) {
+        String sql = "INSERT INTO tasks (id, title, description, status, priority, created_at, updated_at, "
+                + "due_date, version) "
+                + "SELECT X, 'Task ' || X, 'Generated benchmark task number ' || X, "
+                + rotate(TaskStatus.values(), "X") + ", "
+                + rotate(TaskPriority.values(), "X / " + TaskStatus.values().length) + ", "
+                + "DATEADD('SECOND', -X, LOCALTIMESTAMP), DATEADD('SECOND', -X, LOCALTIMESTAMP), "
+                + "CASE WHEN MOD(X, 3) = 0 THEN NULL "
+                + "ELSE DATEADD('HOUR', MOD(X, 720) - 360, LOCALTIMESTAMP) END, 0 "
+                + "FROM SYSTEM_RANGE(?, ?)";
+        for (long start = 1; start <= tasks; start += SLICE) {
+            jdbcTemplate.update(sql, start, Math.min(start + SLICE - 1, tasks));
+        }
+    }
+
+    private static String rotate(Enum<?>[] values, String expression) {
+        StringBuilder sql = new StringBuilder("CASE MOD(" + expression + ", " + values.length + ")");
+        for (int i = 0; i < values.length; i++) {
+            sql.append(" WHEN ").append(i).append(" THEN '").append(values[i].name()).append("'");
+        }
+        return sql.append(" END").toString();
+    }
+}
@@ -0,0 +1,67 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskFilter;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskSortKey;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.model.TaskSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskServiceBenchmark {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    @Benchmark
+    public List<Task> getAllTasks(SeededApplication app) {
+        return app.taskService.getAllTasks();
+    }
+
+    @Benchmark
+    public List<Task> getOverdueTasks(SeededApplication app) {
+        return app.taskService.getOverdueTasks();
+    }
+
+    @Benchmark
+    public List<Task> getTasksByStatus(SeededApplication app) {
+        return app.taskService.getTasksByStatus(TaskStatus.IN_PROGRESS);
+    }
+
+    @Benchmark
+    public List<Task> getTasksByPriority(SeededApplication app) {
+        return app.taskService.getTasksByPriority(TaskPriority.URGENT);
+    }
+
+    @Benchmark
+    public List<TaskSummary> filterByStatusAndPriority(SeededApplication app) {
+        return app.taskService.filterTasks(
+                TaskFilter.of(TaskStatus.PENDING, TaskPriority.HIGH, null, null, TaskSortKey.NEWEST));
+    }
+
+    @Benchmark
+    public Task createTask(SeededApplication app) {
+        return app.taskService.createTask(new Task("Benchmark task", "Created by TaskServiceBenchmark"));
+    }
+
+    @Benchmark
+    public Task updateTaskStatus(SeededApplication app) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = random.nextLong(1, app.tasks + 1L);
+        return app.taskService.updateTaskStatus(id, STATUSES[random.nextInt(STATUSES.length)]);
+    }
+}
@@ -0,0 +1,208 @@
+package com.taskmanager.benchmark;
+
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load test that runs the same workload against the application
+ * twice, first with Tomcat's platform thread pool and then with
+ * {@code spring.threads.virtual.enabled=true}, and reports throughput and
+ * latency percentiles for each. The virtual run needs a Java 21 runtime.
+ *
+ * <p>Tuned with system properties: {@code loadtest.tasks} (rows seeded, default
+ * 10000), {@code loadtest.concurrency} (client threads, default 1000),
+ * {@code loadtest.warmup-seconds} (10), {@code loadtest.seconds} (30) and
+ * {@code loadtest.tomcat-threads} (platform pool size, default 200).
+ */
+public final class VirtualThreadLoadTest {
+
+    private static final Path RESULT_FILE = Path.of("target", "loadtest-result.json");
+
+    private VirtualThreadLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int tasks = Integer.getInteger("loadtest.tasks", 10_000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 1000);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 10));
+        Duration measured = Duration.ofSeconds(Integer.getInteger("loadtest.seconds", 30));
+        int tomcatThreads = Integer.getInteger("loadtest.tomcat-threads", 200);
+
+        List<Result> results = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            String mode = virtual ? "virtual" : "platform";
+            try (ConfigurableApplicationContext context = SeededApplication.boot(tasks,
+                    "spring.datasource.url=jdbc:h2:mem:loadtest-" + mode + ";DB_CLOSE_DELAY=-1",
+                    "spring.threads.virtual.enabled=" + virtual,
+                    "server.tomcat.threads.max=" + tomcatThreads,
+                    "server.tomcat.accept-count=" + concurrency)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                Workload workload = new Workload(port, tasks);
+                workload.run(concurrency, warmup);
+                results.add(workload.run(concurrency, measured).named(mode));
+            }
+        }
+
+        System.out.printf(Locale.ROOT, "%n%-9s %12s %10s %10s %10s %8s%n",
+                "mode", "requests/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Result result : results) {
+            System.out.printf(Locale.ROOT, "%-9s %12.1f %10.2f %10.2f %10.2f %8d%n", result.mode,
+                    result.throughput(), result.percentile(50), result.percentile(99), result.percentile(100),
+                    result.errors);
+        }
+        writeJson(results, concurrency, tasks);
+        System.out.println("Results written to " + RESULT_FILE.toAbsolutePath());
+    }
+
+    private static void writeJson(List<Result> results, int concurrency, int tasks) throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (Result result : results) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(String.format(Locale.ROOT,
+                    "{\"mode\":\"%s\",\"concurrency\":%d,\"tasks\":%d,\"requests\":%d,\"errors\":%d,"
+                            + "\"throughput\":%.1f,\"p50Ms\":%.3f,\"p99Ms\":%.3f,\"maxMs\":%.3f}",
+                    result.mode, concurrency, tasks, result.latencies.length, result.errors,
+                    result.throughput(), result.percentile(50), result.percentile(99), result.percentile(100)));
+        }
+        Files.createDirectories(RESULT_FILE.getParent());
+        Files.writeString(RESULT_FILE, json.append(']').toString());
+    }
+
+    private static final class Workload {
+
+        private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        private final String baseUrl;
+        private final int tasks;
+
+        Workload(int port, int tasks) {
+            this.baseUrl = "http://localhost:" + port;
+            this.tasks = tasks;
+        }
+
+        /**
+         * Each client alternates between rendering the index page and fetching a
+         * random task over the API, back to back, until the duration elapses.
+         */
+        Result run(int concurrency, Duration duration) throws InterruptedException {
+            ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+            CountDownLatch done = new CountDownLatch(concurrency);
+            List<long[]> perClient = new ArrayList<>();
+            AtomicLong errors = new AtomicLong();
+            long deadline = System.nanoTime() + duration.toNanos();
+
+            for (int c = 0; c < concurrency; c++) {
+                LatencyRecorder recorder = new LatencyRecorder();
+                clients.execute(() -> {
+                    try {
+                        for (int i = 0; System.nanoTime() < deadline; i++) {
+                            String path = i % 2 == 0
+                                    ? "/"
+                                    : "/api/tasks/" + ThreadLocalRandom.current().nextInt(1, tasks + 1);
+                            long start = System.nanoTime();
+                            if (!send(path)) {
+                                errors.incrementAndGet();
+                            }
+                            recorder.record(System.nanoTime() - start);
+                        }
+                    } finally {
+                        synchronized (perClient) {
+                            perClient.add(recorder.toArray());
+                        }
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+            clients.shutdown();
+            clients.awaitTermination(1, TimeUnit.MINUTES);
+
+            long[] latencies = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            return new Result(latencies, errors.get(), duration);
+        }
+
+        private boolean send(String path) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                return response.statusCode() < 400;
+            } catch (IOException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private static final class LatencyRecorder {
+
+        private long[] samples = new long[1024];
+        private int size;
+
+        void record(long nanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(samples, size);
+        }
+    }
+
+    private static final class Result {
+
+        private final long[] latencies;
+        private final long errors;
+        private final Duration duration;
+        private String mode;
+
+        Result(long[] latencies, long errors, Duration duration) {
+            this.latencies = latencies;
+            this.errors = errors;
+            this.duration = duration;
+        }
+
+        Result named(String mode) {
+            this.mode = mode;
+            return this;
+        }
+
+        double throughput() {
+            return latencies.length / (duration.toMillis() / 1000.0);
+        }
+
+        double percentile(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
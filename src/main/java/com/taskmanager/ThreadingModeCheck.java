@@ -0,0 +1,33 @@
+package com.taskmanager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spring Boot silently ignores spring.threads.virtual.enabled below Java 21,
+ * which would leave a load test comparing the platform pool with itself.
+ */
+@Component
+public class ThreadingModeCheck {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeCheck.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        if (!virtualThreadsRequested) {
+            log.info("Handling requests on the platform thread pool");
+        } else if (Runtime.version().feature() >= 21) {
+            log.info("Handling requests on virtual threads");
+        } else {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                    + "requests stay on the platform thread pool", Runtime.version().feature());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.taskmanager.cache;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.workspace.WorkspaceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Task ids are unique across workspaces, so tasks are cached by id alone and a
+ * hit is only returned in the task's own workspace. The per-status and
+ * per-priority lists are kept for the most recently used workspaces. Callers
+ * get copies of the cached tasks, so changing one cannot alter the cache.
+ */
+@Component
+public class TaskCache {
+
+    private static final int LIST_WORKSPACES = 64;
+
+    private final BoundedCache<Long, Task> tasksById;
+    private final BoundedCache<ListKey<TaskStatus>, List<Task>> tasksByStatus;
+    private final BoundedCache<ListKey<TaskPriority>, List<Task>> tasksByPriority;
+
+    public TaskCache(@Value("${taskmanager.cache.max-entries:10000}") int maxEntries,
+                     @Value("${taskmanager.cache.ttl-seconds:60}") long ttlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.tasksById = new BoundedCache<>(maxEntries, ttl);
+        this.tasksByStatus = new BoundedCache<>(TaskStatus.values().length * LIST_WORKSPACES, ttl);
+        this.tasksByPriority = new BoundedCache<>(TaskPriority.values().length * LIST_WORKSPACES, ttl);
+    }
+
+    public Optional<Task> getTask(Long id, Function<Long, Optional<Task>> loader) {
+        String workspace = WorkspaceContext.current();
+        return Optional.ofNullable(tasksById.get(id, key -> loader.apply(key).orElse(null)))
+                .filter(task -> workspace.equals(task.getWorkspace()))
+                .map(Task::copy);
+    }
+
+    public List<Task> getTasksByStatus(TaskStatus status, Supplier<List<Task>> loader) {
+        return copies(tasksByStatus.get(new ListKey<>(WorkspaceContext.current(), status),
+                key -> List.copyOf(loader.get())));
+    }
+
+    public List<Task> getTasksByPriority(TaskPriority priority, Supplier<List<Task>> loader) {
+        return copies(tasksByPriority.get(new ListKey<>(WorkspaceContext.current(), priority),
+                key -> List.copyOf(loader.get())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        tasksById.invalidate(event.getTaskId());
+
+        String workspace = event.getWorkspace();
+        Task task = event.getTask();
+        if (task != null) {
+            tasksByStatus.invalidate(new ListKey<>(workspace, task.getStatus()));
+            tasksByPriority.invalidate(new ListKey<>(workspace, task.getPriority()));
+        }
+        if (event.getType() == TaskChangedEvent.Type.CREATED) {
+            return;
+        }
+
+        if (event.getPreviousStatus() != null) {
+            tasksByStatus.invalidate(new ListKey<>(workspace, event.getPreviousStatus()));
+        } else {
+            tasksByStatus.invalidateAll();
+        }
+        if (event.getPreviousPriority() != null) {
+            tasksByPriority.invalidate(new ListKey<>(workspace, event.getPreviousPriority()));
+        } else {
+            tasksByPriority.invalidateAll();
+        }
+    }
+
+    public void clear() {
+        tasksById.invalidateAll();
+        tasksByStatus.invalidateAll();
+        tasksByPriority.invalidateAll();
+    }
+
+    public Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("tasksById", tasksById.stats());
+        stats.put("tasksByStatus", tasksByStatus.stats());
+        stats.put("tasksByPriority", tasksByPriority.stats());
+        return stats;
+    }
+
+    private static List<Task> copies(List<Task> tasks) {
+        return tasks.stream().map(Task::copy).toList();
+    }
+
+    private record ListKey<E extends Enum<E>>(String workspace, E value) {
+    }
+}
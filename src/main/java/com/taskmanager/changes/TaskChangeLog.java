@@ -0,0 +1,150 @@
+package com.taskmanager.changes;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskChange;
+import com.taskmanager.repository.TaskChangeRepository;
+import com.taskmanager.store.TaskStore;
+import com.taskmanager.workspace.ShardMap;
+import com.taskmanager.workspace.WorkspaceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sequenced log of task changes for delta sync. Entries are appended in the
+ * transaction of the change they record, just before it commits, so an entry
+ * exists exactly when its change does and the inserts go out with the rest of
+ * the transaction. Each append locks its workspace's log head first, so within a
+ * workspace sequence order matches commit order and a reader can never skip an
+ * entry that commits later with a lower sequence; other workspaces append freely.
+ * <p>
+ * Each workspace reads only its own entries; the sequence is shared by the
+ * workspaces on a shard, so a workspace's positions have gaps. Compaction drops
+ * entries older than the retention period and entries superseded by a newer one
+ * for the same task, workspace by workspace. A client whose position is older
+ * than its workspace's log reaches gets a snapshot instead.
+ */
+@Component
+public class TaskChangeLog {
+
+    public static final int DEFAULT_LIMIT = 1000;
+    public static final int MAX_LIMIT = 10_000;
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeLog.class);
+
+    @Autowired
+    private TaskChangeRepository taskChangeRepository;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Value("${taskmanager.changes.retention:P7D}")
+    private Duration retention;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            append(event);
+        } else {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> append(event));
+        }
+    }
+
+    private void append(TaskChangedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        // Take the position only once the head is ours, so positions follow commit order
+        taskChangeRepository.lockHead(event.getWorkspace(), now);
+        taskChangeRepository.save(new TaskChange(event.getWorkspace(), event.getTaskId(), event.getType(), now));
+    }
+
+    /**
+     * Changes after {@code since}, at most {@code limit} log entries' worth; several
+     * changes to one task collapse into its current state or a tombstone.
+     */
+    public TaskChangeSet changesSince(Long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        String workspace = WorkspaceContext.current();
+        Long first = taskChangeRepository.findFirstSeq(workspace);
+        Long last = taskChangeRepository.findLastSeq(workspace);
+        if (since == null || since <= 0 || first == null || since < first - 1 || since > last) {
+            return snapshot(last);
+        }
+
+        List<TaskChange> entries = taskChangeRepository.findAfter(workspace, since, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = entries.size() > pageSize;
+        if (hasMore) {
+            entries = entries.subList(0, pageSize);
+        }
+        Map<Long, TaskChange> latest = new LinkedHashMap<>();
+        entries.forEach(entry -> latest.put(entry.getTaskId(), entry));
+
+        List<Long> changedIds = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        latest.values().forEach(entry -> (entry.getType() == TaskChangedEvent.Type.DELETED ? deletes : changedIds)
+                .add(entry.getTaskId()));
+        List<Task> upserts = taskStore.findAllById(changedIds);
+        if (upserts.size() < changedIds.size()) {
+            // Deleted after this page's entries; its tombstone is further on
+            List<Long> found = upserts.stream().map(Task::getId).toList();
+            changedIds.stream().filter(id -> !found.contains(id)).forEach(deletes::add);
+        }
+        long nextSince = entries.isEmpty() ? since : entries.get(entries.size() - 1).getSeq();
+        return TaskChangeSet.delta(nextSince, hasMore, upserts, deletes);
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.changes.compaction-interval-ms:3600000}")
+    public synchronized void compact() {
+        for (String workspace : shardMap.getWorkspaces()) {
+            if (!shardMap.isMoving(workspace)) {
+                WorkspaceContext.run(workspace, () -> compact(workspace));
+            }
+        }
+    }
+
+    private void compact(String workspace) {
+        Long last = taskChangeRepository.findLastSeq(workspace);
+        if (last == null) {
+            return;
+        }
+        int expired = 0;
+        Long lastExpired = taskChangeRepository.findLastSeqBefore(workspace, LocalDateTime.now().minus(retention));
+        if (lastExpired != null) {
+            // Keep the newest entry so the log always shows how far it reaches
+            expired = taskChangeRepository.deleteThrough(workspace, Math.min(lastExpired, last - 1));
+        }
+        int superseded = taskChangeRepository.deleteSuperseded(workspace);
+        if (expired + superseded > 0) {
+            log.info("Compacted task change log of workspace {}: {} expired, {} superseded entries removed",
+                    workspace, expired, superseded);
+        }
+    }
+
+    private TaskChangeSet snapshot(Long last) {
+        // Read the position first: changes racing with the read are delivered again next time
+        long position = last == null ? 0 : last;
+        return TaskChangeSet.snapshot(position, taskStore.findAllByOrderByIdAsc());
+    }
+}
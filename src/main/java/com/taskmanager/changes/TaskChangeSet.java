@@ -0,0 +1,55 @@
+package com.taskmanager.changes;
+
+import com.taskmanager.model.Task;
+
+import java.util.List;
+
+/**
+ * Response to a delta sync. Clients apply {@code upserts} and {@code deletes} and
+ * ask again with {@code nextSince}. A snapshot lists every task instead, and the
+ * client replaces what it holds.
+ */
+public class TaskChangeSet {
+
+    private final boolean snapshot;
+    private final long nextSince;
+    private final boolean hasMore;
+    private final List<Task> upserts;
+    private final List<Long> deletes;
+
+    private TaskChangeSet(boolean snapshot, long nextSince, boolean hasMore, List<Task> upserts, List<Long> deletes) {
+        this.snapshot = snapshot;
+        this.nextSince = nextSince;
+        this.hasMore = hasMore;
+        this.upserts = upserts;
+        this.deletes = deletes;
+    }
+
+    public static TaskChangeSet snapshot(long nextSince, List<Task> tasks) {
+        return new TaskChangeSet(true, nextSince, false, tasks, List.of());
+    }
+
+    public static TaskChangeSet delta(long nextSince, boolean hasMore, List<Task> upserts, List<Long> deletes) {
+        return new TaskChangeSet(false, nextSince, hasMore, upserts, deletes);
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public long getNextSince() {
+        return nextSince;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public List<Task> getUpserts() {
+        return upserts;
+    }
+
+    public List<Long> getDeletes() {
+        return deletes;
+    }
+}
@@ -0,0 +1,241 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.cache.CacheStats;
+import com.taskmanager.changes.TaskChangeLog;
+import com.taskmanager.changes.TaskChangeSet;
+import com.taskmanager.controller.dto.BulkResult;
+import com.taskmanager.controller.dto.BulkUpdateRequest;
+import com.taskmanager.export.ExportFormat;
+import com.taskmanager.importer.ImportReport;
+import com.taskmanager.importer.TaskImporter;
+import com.taskmanager.live.TaskFeed;
+import com.taskmanager.model.ArchivedTask;
+import com.taskmanager.model.Task;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.stats.TaskStats;
+import com.taskmanager.workspace.WorkspaceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/tasks")
+public class TaskApiController {
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private TaskImporter taskImporter;
+    
+    @Autowired
+    private TaskFeed taskFeed;
+    
+    @GetMapping("/search")
+    public List<Task> searchTasks(@RequestParam("q") String query,
+                                  @RequestParam(defaultValue = "" + TaskService.DEFAULT_SEARCH_LIMIT) int limit) {
+        return taskService.searchTasks(query, limit);
+    }
+    
+    @GetMapping(value = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter liveTasks() {
+        return taskFeed.subscribe();
+    }
+    
+    @GetMapping("/changes")
+    public TaskChangeSet taskChanges(@RequestParam(required = false) Long since,
+                                     @RequestParam(defaultValue = "" + TaskChangeLog.DEFAULT_LIMIT) int limit) {
+        return taskService.getChangesSince(since, limit);
+    }
+    
+    @GetMapping("/archive")
+    public ResponseEntity<List<ArchivedTask>> searchArchivedTasks(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(defaultValue = "" + TaskService.DEFAULT_SEARCH_LIMIT) int limit) {
+        if (!taskService.supportsArchive()) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+        return ResponseEntity.ok(taskService.searchArchivedTasks(query, limit));
+    }
+    
+    @PostMapping("/archive/{id}/restore")
+    public ResponseEntity<Task> restoreArchivedTask(@PathVariable Long id) {
+        if (!taskService.supportsArchive()) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+        Task restored = taskService.restoreArchivedTask(id);
+        if (restored == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().eTag(eTagOf(restored)).body(restored);
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<Task> getTask(@PathVariable Long id) {
+        return taskService.getTaskById(id)
+                .map(task -> ResponseEntity.ok().eTag(eTagOf(task)).body(task))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @PutMapping("/{id}")
+    public ResponseEntity<Task> updateTask(@PathVariable Long id,
+                                           @Valid @RequestBody Task task,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (ifMatch != null && ifMatch.trim().equals("*")) {
+            // Matches any current version, but not a task that does not exist
+            Task replaced = taskService.replaceTask(id, task);
+            return replaced == null
+                    ? ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build()
+                    : ResponseEntity.ok().eTag(eTagOf(replaced)).body(replaced);
+        }
+        Long expectedVersion;
+        try {
+            expectedVersion = ifMatch != null ? versionOf(ifMatch) : task.getVersion();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (expectedVersion == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+        }
+        
+        Task updated;
+        try {
+            updated = taskService.updateTask(id, task, expectedVersion);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        if (updated == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().eTag(eTagOf(updated)).body(updated);
+    }
+    
+    @GetMapping("/stats")
+    public TaskStats taskStats() {
+        return taskService.getTaskStats();
+    }
+    
+    @GetMapping("/cache/stats")
+    public Map<String, CacheStats> cacheStats() {
+        return taskService.getCacheStats();
+    }
+    
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        // The body is written on another thread, outside the request's workspace
+        String workspace = WorkspaceContext.current();
+        StreamingResponseBody body = out -> {
+            try (WorkspaceContext.Scope scope = WorkspaceContext.enter(workspace)) {
+                taskService.exportTasks(exportFormat, out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+    
+    @PostMapping("/import")
+    public ResponseEntity<ImportReport> importTasks(@RequestParam(defaultValue = "ndjson") String format,
+                                                    @RequestParam(defaultValue = "0") long skip,
+                                                    InputStream body) throws IOException {
+        ExportFormat importFormat;
+        try {
+            importFormat = ExportFormat.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        ImportReport report = taskImporter.importTasks(body, importFormat, Math.max(0, skip));
+        return ResponseEntity.status(report.isCompleted() ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(report);
+    }
+    
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResult> createTasks(@RequestBody List<Task> tasks) {
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            for (ConstraintViolation<Task> violation : validator.validate(tasks.get(i))) {
+                errors.add("[" + i + "] " + violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(BulkResult.rejected(tasks.size(), errors));
+        }
+        
+        List<Task> created = taskService.createTasks(tasks);
+        return ResponseEntity.status(HttpStatus.CREATED).body(BulkResult.of(tasks.size(), created.size()));
+    }
+    
+    @PostMapping("/bulk/status")
+    public ResponseEntity<BulkResult> updateTaskStatuses(@Valid @RequestBody BulkUpdateRequest request) {
+        if (request.getStatus() == null) {
+            return ResponseEntity.badRequest()
+                    .body(BulkResult.rejected(request.getIds().size(), List.of("status: Status is required")));
+        }
+        int updated = taskService.updateTaskStatuses(request.getIds(), request.getStatus());
+        return ResponseEntity.ok(BulkResult.of(request.getIds().size(), updated));
+    }
+    
+    @PostMapping("/bulk/priority")
+    public ResponseEntity<BulkResult> updateTaskPriorities(@Valid @RequestBody BulkUpdateRequest request) {
+        if (request.getPriority() == null) {
+            return ResponseEntity.badRequest()
+                    .body(BulkResult.rejected(request.getIds().size(), List.of("priority: Priority is required")));
+        }
+        int updated = taskService.updateTaskPriorities(request.getIds(), request.getPriority());
+        return ResponseEntity.ok(BulkResult.of(request.getIds().size(), updated));
+    }
+    
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkResult> deleteTasks(@Valid @RequestBody BulkUpdateRequest request) {
+        int deleted = taskService.deleteTasks(request.getIds());
+        return ResponseEntity.ok(BulkResult.of(request.getIds().size(), deleted));
+    }
+    
+    private static String eTagOf(Task task) {
+        return "\"" + task.getVersion() + "\"";
+    }
+    
+    /** Reads the version out of an {@code If-Match} header other than {@code *}. */
+    private static Long versionOf(String ifMatch) {
+        String value = ifMatch.trim();
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new IllegalArgumentException("Malformed If-Match header: " + ifMatch);
+        }
+        return Long.valueOf(value.substring(1, value.length() - 1));
+    }
+}
@@ -1,35 +1,73 @@
 package com.taskmanager.controller;
 
 import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskFilter;
+import com.taskmanager.model.TaskPage;
+import com.taskmanager.model.TaskSortKey;
 import com.taskmanager.model.TaskStatus;
 import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskSummary;
 import com.taskmanager.service.TaskService;
+import com.taskmanager.workspace.WorkspaceContext;
+import com.taskmanager.workspace.WorkspaceFilter;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.DispatcherServlet;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 
 @Controller
 public class TaskController {
     
+    /**
+     * Sent by app.js; such requests get only the fragments a change affects
+     * instead of a redirect and a full page render.
+     */
+    static final String FRAGMENT_HEADER = "X-Requested-With";
+    
     @Autowired
     private TaskService taskService;
     
     @GetMapping("/")
-    public String index(Model model) {
-        List<Task> allTasks = taskService.getAllTasks();
+    public String index(@RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int size,
+                        ServletWebRequest webRequest,
+                        Model model) {
+        if (isNotModified(webRequest, "index", cursor, size)) {
+            return null;
+        }
+        TaskPage page;
+        try {
+            page = taskService.getTaskPage(cursor, size);
+        } catch (IllegalArgumentException e) {
+            page = taskService.getTaskPage(null, size);
+            model.addAttribute("error", "Invalid page cursor, showing the first page.");
+        }
         List<Task> overdueTasks = taskService.getOverdueTasks();
         
-        model.addAttribute("tasks", allTasks);
+        model.addAttribute("tasks", page.getTasks());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("pageSize", page.getSize());
+        model.addAttribute("pageCursor", cursor);
         model.addAttribute("overdueTasks", overdueTasks);
+        model.addAttribute("taskStats", taskService.getTaskStats());
         model.addAttribute("taskStatuses", TaskStatus.values());
         model.addAttribute("taskPriorities", TaskPriority.values());
+        model.addAttribute("sortKeys", TaskSortKey.values());
         model.addAttribute("newTask", new Task());
         
         return "index";
@@ -38,13 +76,21 @@ public class TaskController {
     @PostMapping("/tasks")
     public String createTask(@Valid @ModelAttribute("newTask") Task task, 
                            BindingResult result, 
+                           @RequestHeader(value = FRAGMENT_HEADER, required = false) String requestedWith,
+                           Model model,
                            RedirectAttributes redirectAttributes) {
         if (result.hasErrors()) {
+            if (requestedWith != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Please fix the errors below.");
+            }
             redirectAttributes.addFlashAttribute("error", "Please fix the errors below.");
             return "redirect:/";
         }
         
-        taskService.createTask(task);
+        Task createdTask = taskService.createTask(task);
+        if (requestedWith != null) {
+            return taskFragments(createdTask, model);
+        }
         redirectAttributes.addFlashAttribute("success", "Task created successfully!");
         return "redirect:/";
     }
@@ -53,7 +99,17 @@ public class TaskController {
     public String updateTask(@PathVariable Long id, 
                            @ModelAttribute Task task, 
                            RedirectAttributes redirectAttributes) {
-        Task updatedTask = taskService.updateTask(id, task);
+        Task updatedTask;
+        try {
+            updatedTask = taskService.updateTask(id, task);
+        } catch (OptimisticLockingFailureException e) {
+            redirectAttributes.addFlashAttribute("error",
+                    "Task was changed by someone else. Review the latest version and try again.");
+            return "redirect:/";
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("error", "Task could not be updated. Reload the page and try again.");
+            return "redirect:/";
+        }
         if (updatedTask != null) {
             redirectAttributes.addFlashAttribute("success", "Task updated successfully!");
         } else {
@@ -63,8 +119,17 @@ public class TaskController {
     }
     
     @PostMapping("/tasks/{id}/delete")
-    public String deleteTask(@PathVariable Long id, RedirectAttributes redirectAttributes) {
+    public String deleteTask(@PathVariable Long id,
+                             @RequestHeader(value = FRAGMENT_HEADER, required = false) String requestedWith,
+                             Model model,
+                             RedirectAttributes redirectAttributes) {
         boolean deleted = taskService.deleteTask(id);
+        if (requestedWith != null) {
+            if (!deleted) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found!");
+            }
+            return taskFragments(null, model);
+        }
         if (deleted) {
             redirectAttributes.addFlashAttribute("success", "Task deleted successfully!");
         } else {
@@ -76,8 +141,16 @@ public class TaskController {
     @PostMapping("/tasks/{id}/status")
     public String updateTaskStatus(@PathVariable Long id, 
                                  @RequestParam TaskStatus status, 
+                                 @RequestHeader(value = FRAGMENT_HEADER, required = false) String requestedWith,
+                                 Model model,
                                  RedirectAttributes redirectAttributes) {
         Task updatedTask = taskService.updateTaskStatus(id, status);
+        if (requestedWith != null) {
+            if (updatedTask == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found!");
+            }
+            return taskFragments(updatedTask, model);
+        }
         if (updatedTask != null) {
             redirectAttributes.addFlashAttribute("success", "Task status updated!");
         } else {
@@ -89,8 +162,16 @@ public class TaskController {
     @PostMapping("/tasks/{id}/priority")
     public String updateTaskPriority(@PathVariable Long id, 
                                    @RequestParam TaskPriority priority, 
+                                   @RequestHeader(value = FRAGMENT_HEADER, required = false) String requestedWith,
+                                   Model model,
                                    RedirectAttributes redirectAttributes) {
         Task updatedTask = taskService.updateTaskPriority(id, priority);
+        if (requestedWith != null) {
+            if (updatedTask == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found!");
+            }
+            return taskFragments(updatedTask, model);
+        }
         if (updatedTask != null) {
             redirectAttributes.addFlashAttribute("success", "Task priority updated!");
         } else {
@@ -102,24 +183,57 @@ public class TaskController {
     @GetMapping("/tasks/filter")
     public String filterTasks(@RequestParam(required = false) TaskStatus status,
                             @RequestParam(required = false) TaskPriority priority,
+                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+                            @RequestParam(required = false) TaskSortKey sort,
+                            ServletWebRequest webRequest,
                             Model model) {
-        List<Task> tasks;
-        
-        if (status != null) {
-            tasks = taskService.getTasksByStatus(status);
-        } else if (priority != null) {
-            tasks = taskService.getTasksByPriority(priority);
-        } else {
-            tasks = taskService.getAllTasks();
+        if (isNotModified(webRequest, "filter", status, priority, dueFrom, dueTo, sort)) {
+            return null;
         }
+        TaskFilter filter = TaskFilter.of(status, priority, dueFrom, dueTo, sort);
+        List<TaskSummary> tasks = taskService.filterTasks(filter);
         
         model.addAttribute("tasks", tasks);
+        model.addAttribute("taskStats", taskService.getTaskStats());
         model.addAttribute("taskStatuses", TaskStatus.values());
         model.addAttribute("taskPriorities", TaskPriority.values());
+        model.addAttribute("sortKeys", TaskSortKey.values());
         model.addAttribute("newTask", new Task());
         model.addAttribute("selectedStatus", status);
         model.addAttribute("selectedPriority", priority);
+        model.addAttribute("selectedDueFrom", dueFrom);
+        model.addAttribute("selectedDueTo", dueTo);
+        model.addAttribute("selectedSort", filter.getSort());
         
         return "index";
     }
+    
+    /**
+     * Validates the request against the workspace's change version combined with
+     * the view's parameters; answers 304 without reading tasks or rendering when the
+     * client's copy is current. Pages carrying a flash message are never cached.
+     */
+    private boolean isNotModified(ServletWebRequest webRequest, Object... viewKey) {
+        if (webRequest.getAttribute(DispatcherServlet.INPUT_FLASH_MAP_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return false;
+        }
+        // The same URL shows another workspace's tasks under another header
+        webRequest.getResponse().setHeader(HttpHeaders.VARY, WorkspaceFilter.HEADER);
+        String eTag = "\"" + WorkspaceContext.current() + "-" + taskService.getChangeVersion() + "-"
+                + Integer.toHexString(Arrays.toString(viewKey).hashCode()) + "\"";
+        if (webRequest.checkNotModified(eTag, taskService.getLastModified())) {
+            return true;
+        }
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        return false;
+    }
+    
+    private String taskFragments(Task task, Model model) {
+        model.addAttribute("task", task == null ? null : TaskSummary.of(task));
+        model.addAttribute("overdueTasks", taskService.getOverdueTasks());
+        model.addAttribute("taskStatuses", TaskStatus.values());
+        model.addAttribute("taskPriorities", TaskPriority.values());
+        return "task-fragments";
+    }
 }
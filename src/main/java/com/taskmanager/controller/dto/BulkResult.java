@@ -0,0 +1,36 @@
+package com.taskmanager.controller.dto;
+
+import java.util.List;
+
+public class BulkResult {
+
+    private final int requested;
+    private final int affected;
+    private final List<String> errors;
+
+    public BulkResult(int requested, int affected, List<String> errors) {
+        this.requested = requested;
+        this.affected = affected;
+        this.errors = errors;
+    }
+
+    public static BulkResult of(int requested, int affected) {
+        return new BulkResult(requested, affected, List.of());
+    }
+
+    public static BulkResult rejected(int requested, List<String> errors) {
+        return new BulkResult(requested, 0, errors);
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,41 @@
+package com.taskmanager.controller.dto;
+
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class BulkUpdateRequest {
+
+    @NotEmpty(message = "At least one task id is required")
+    private List<Long> ids;
+
+    private TaskStatus status;
+
+    private TaskPriority priority;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+    }
+}
@@ -0,0 +1,64 @@
+package com.taskmanager.datasource;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Measures how far each replica trails the primary with a heartbeat row: every
+ * check stamps the primary's row with the current time and reads the replicas'
+ * copies back. The measured lag is therefore rounded up to the check interval.
+ * A replica more than {@code maxLagMs} behind, or one that cannot be queried,
+ * gets no reads until a later check finds it caught up.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String CREATE_HEARTBEAT_TABLE =
+            "CREATE TABLE IF NOT EXISTS replication_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)";
+    static final String WRITE_HEARTBEAT = "MERGE INTO replication_heartbeat KEY (id) VALUES (1, ?)";
+    static final String READ_HEARTBEAT = "SELECT beat_at FROM replication_heartbeat WHERE id = 1";
+
+    private final JdbcTemplate primary;
+    private final ReplicaRoutingDataSource routing;
+    private final long maxLagMs;
+
+    public ReplicaLagMonitor(DataSource primary, ReplicaRoutingDataSource routing, long maxLagMs) {
+        this.primary = new JdbcTemplate(primary);
+        this.routing = routing;
+        this.maxLagMs = maxLagMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        primary.execute(CREATE_HEARTBEAT_TABLE);
+        check();
+    }
+
+    @Scheduled(initialDelayString = "${taskmanager.datasource.replicas.lag-check-interval-ms:1000}",
+            fixedDelayString = "${taskmanager.datasource.replicas.lag-check-interval-ms:1000}")
+    public void check() {
+        long beat = System.currentTimeMillis();
+        try {
+            primary.update(WRITE_HEARTBEAT, beat);
+        } catch (DataAccessException e) {
+            // Without a fresh beat the replicas' lag is unknown; leave them as they were
+            log.warn("Could not write the replication heartbeat: {}", e.getMessage());
+            return;
+        }
+        for (ReplicaRoutingDataSource.Replica replica : routing.getReplicas()) {
+            try {
+                Long seen = new JdbcTemplate(replica.getDataSource()).queryForObject(READ_HEARTBEAT, Long.class);
+                replica.markLag(seen != null ? beat - seen : Long.MAX_VALUE, maxLagMs);
+            } catch (DataAccessException e) {
+                replica.markUnavailable(e.getMessage());
+            }
+        }
+    }
+}
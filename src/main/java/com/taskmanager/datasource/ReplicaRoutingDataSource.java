@@ -0,0 +1,142 @@
+package com.taskmanager.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out replica connections to read-only transactions, round robin over the
+ * replicas the {@link ReplicaLagMonitor} last found close enough to the primary,
+ * and primary connections to everything else. A read falls back to the primary
+ * when no replica qualifies or the chosen one refuses a connection.
+ * <p>
+ * The choice is made when the connection is requested, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * transaction manager asks for its connection before it marks the transaction
+ * read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /** Closes the replica pools; the primary belongs to whoever created it. */
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Connection connect(ConnectionSource source) throws SQLException {
+        Replica replica = TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? nextAvailable() : null;
+        if (replica != null) {
+            try {
+                return source.connect(replica.getDataSource());
+            } catch (SQLException e) {
+                replica.markUnavailable(e.getMessage());
+            }
+        }
+        return source.connect(primary);
+    }
+
+    private Replica nextAvailable() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isAvailable()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private interface ConnectionSource {
+
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    /** One replica and what the last lag check found. Replicas start out unavailable. */
+    static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean available;
+        private volatile long lagMs = -1;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        DataSource getDataSource() {
+            return dataSource;
+        }
+
+        boolean isAvailable() {
+            return available;
+        }
+
+        long getLagMs() {
+            return lagMs;
+        }
+
+        void markLag(long lagMs, long maxLagMs) {
+            boolean caughtUp = lagMs <= maxLagMs;
+            if (caughtUp && !available) {
+                log.info("Replica {} is in rotation for reads, {} ms behind the primary", name, lagMs);
+            } else if (!caughtUp && available) {
+                log.warn("Replica {} is out of rotation for reads, {} ms behind the primary", name, lagMs);
+            }
+            this.lagMs = lagMs;
+            this.available = caughtUp;
+        }
+
+        void markUnavailable(String reason) {
+            if (available) {
+                log.warn("Replica {} is out of rotation for reads: {}", name, reason);
+            }
+            this.lagMs = -1;
+            this.available = false;
+        }
+    }
+}
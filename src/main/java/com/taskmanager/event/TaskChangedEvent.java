@@ -0,0 +1,88 @@
+package com.taskmanager.event;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.workspace.WorkspaceContext;
+
+public class TaskChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final String workspace;
+    private final Long taskId;
+    private final Task task;
+    private final TaskStatus previousStatus;
+    private final TaskPriority previousPriority;
+
+    private TaskChangedEvent(Type type, Long taskId, Task task,
+                             TaskStatus previousStatus, TaskPriority previousPriority) {
+        this.type = type;
+        this.workspace = WorkspaceContext.current();
+        this.taskId = taskId;
+        this.task = task;
+        this.previousStatus = previousStatus;
+        this.previousPriority = previousPriority;
+    }
+
+    public static TaskChangedEvent created(Task task) {
+        return new TaskChangedEvent(Type.CREATED, task.getId(), task, null, null);
+    }
+
+    public static TaskChangedEvent updated(Task task) {
+        return updated(task, null, null);
+    }
+
+    public static TaskChangedEvent updated(Task task, TaskStatus previousStatus, TaskPriority previousPriority) {
+        return new TaskChangedEvent(Type.UPDATED, task.getId(), task, previousStatus, previousPriority);
+    }
+
+    public static TaskChangedEvent deleted(Long taskId) {
+        return deleted(taskId, null, null);
+    }
+
+    public static TaskChangedEvent deleted(Long taskId, TaskStatus previousStatus, TaskPriority previousPriority) {
+        return new TaskChangedEvent(Type.DELETED, taskId, null, previousStatus, previousPriority);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Workspace the change was made in.
+     */
+    public String getWorkspace() {
+        return workspace;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * State after the change; {@code null} for deletions.
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * Status before the change, or {@code null} when it is not known.
+     */
+    public TaskStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    /**
+     * Priority before the change, or {@code null} when it is not known.
+     */
+    public TaskPriority getPreviousPriority() {
+        return previousPriority;
+    }
+}
@@ -0,0 +1,86 @@
+package com.taskmanager.importer;
+
+import java.util.List;
+
+public class ImportReport {
+
+    private final long rowsRead;
+    private final long rowsImported;
+    private final long rowsRejected;
+    private final long lastCommittedRow;
+    private final List<RowError> errors;
+    private final boolean completed;
+    private final String failure;
+    private final long elapsedMillis;
+
+    public ImportReport(long rowsRead, long rowsImported, long rowsRejected, long lastCommittedRow,
+                        List<RowError> errors, boolean completed, String failure, long elapsedMillis) {
+        this.rowsRead = rowsRead;
+        this.rowsImported = rowsImported;
+        this.rowsRejected = rowsRejected;
+        this.lastCommittedRow = lastCommittedRow;
+        this.errors = errors;
+        this.completed = completed;
+        this.failure = failure;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    /**
+     * Data row number up to which every row has been committed or rejected;
+     * pass it as {@code skipRows} to resume a failed import.
+     */
+    public long getLastCommittedRow() {
+        return lastCommittedRow;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? rowsImported : rowsImported * 1000.0 / elapsedMillis;
+    }
+
+    public static class RowError {
+
+        private final long row;
+        private final String message;
+
+        public RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
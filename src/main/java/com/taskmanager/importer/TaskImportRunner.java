@@ -0,0 +1,84 @@
+package com.taskmanager.importer;
+
+import com.taskmanager.export.ExportFormat;
+import com.taskmanager.workspace.WorkspaceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs a one-off import when started with {@code --taskmanager.import.file=<path>},
+ * then exits with status 0 on success or 1 on failure. Tasks go to
+ * {@code taskmanager.import.workspace}, the default workspace unless set.
+ */
+@Component
+@ConditionalOnProperty("taskmanager.import.file")
+public class TaskImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportRunner.class);
+
+    @Autowired
+    private TaskImporter taskImporter;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Value("${taskmanager.import.file}")
+    private Path file;
+
+    @Value("${taskmanager.import.format:}")
+    private String format;
+
+    @Value("${taskmanager.import.skip:0}")
+    private long skip;
+
+    @Value("${taskmanager.import.workspace:" + WorkspaceContext.DEFAULT + "}")
+    private String workspace;
+
+    @Value("${taskmanager.workspaces.enabled:false}")
+    private boolean workspacesEnabled;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        ExportFormat importFormat = ExportFormat.fromParameter(format.isEmpty() ? extensionOf(file) : format);
+        if (!WorkspaceContext.isValidName(workspace)) {
+            throw new IllegalArgumentException("Invalid workspace name: " + workspace);
+        }
+        if (!workspacesEnabled && !WorkspaceContext.DEFAULT.equals(workspace)) {
+            throw new IllegalStateException("taskmanager.import.workspace requires taskmanager.workspaces.enabled");
+        }
+        ImportReport report;
+        try (InputStream in = Files.newInputStream(file);
+             WorkspaceContext.Scope scope = WorkspaceContext.enter(workspace)) {
+            report = taskImporter.importTasks(in, importFormat, skip);
+        }
+
+        for (ImportReport.RowError error : report.getErrors()) {
+            log.warn("Row {}: {}", error.getRow(), error.getMessage());
+        }
+        if (!report.isCompleted()) {
+            log.error("Import of {} stopped: {}. Resume with --taskmanager.import.skip={}",
+                    file, report.getFailure(), report.getLastCommittedRow());
+        }
+
+        int exitCode = report.isCompleted() ? 0 : 1;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    private static String extensionOf(Path path) {
+        String name = path.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1);
+    }
+}
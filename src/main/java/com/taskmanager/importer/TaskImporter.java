@@ -0,0 +1,322 @@
+package com.taskmanager.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.export.ExportFormat;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.workspace.WorkspaceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streams a CSV or NDJSON file through parse, parallel validation and batched
+ * inserts. Chunks are validated concurrently but committed strictly in file
+ * order, so the last committed row is a safe resume point.
+ */
+@Component
+public class TaskImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImporter.class);
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${taskmanager.import.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${taskmanager.import.parallelism:0}")
+    private int parallelism;
+
+    @Value("${taskmanager.import.max-pending-chunks:4}")
+    private int maxPendingChunks = 4;
+
+    public ImportReport importTasks(InputStream in, ExportFormat format, long skipRows) throws IOException {
+        long started = System.currentTimeMillis();
+        int rowsPerChunk = Math.max(1, Math.min(chunkSize, TaskService.BULK_CHUNK_SIZE));
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+
+        BlockingQueue<Future<ParsedChunk>> pending = new ArrayBlockingQueue<>(Math.max(1, maxPendingChunks));
+        ExecutorService validationPool = Executors.newFixedThreadPool(workers);
+        ExecutorService writerThread = Executors.newSingleThreadExecutor();
+        AtomicReference<String> failure = new AtomicReference<>();
+        ImportProgress progress = new ImportProgress(skipRows);
+
+        String workspace = WorkspaceContext.current();
+        Future<?> writer = writerThread.submit(
+                () -> WorkspaceContext.run(workspace, () -> drain(pending, progress, failure)));
+        long rowsRead = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            RowSource source = format == ExportFormat.CSV ? new CsvRowSource(reader) : new NdjsonRowSource(reader);
+            List<RawRow> chunk = new ArrayList<>(rowsPerChunk);
+            RawRow row;
+            while (failure.get() == null && (row = source.next()) != null) {
+                if (row.number() <= skipRows) {
+                    continue;
+                }
+                rowsRead++;
+                chunk.add(row);
+                if (chunk.size() == rowsPerChunk) {
+                    submit(chunk, validationPool, pending, failure);
+                    chunk = new ArrayList<>(rowsPerChunk);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(chunk, validationPool, pending, failure);
+            }
+        } catch (IOException | RuntimeException e) {
+            failure.compareAndSet(null, "Failed to read input: " + e.getMessage());
+        } finally {
+            putUninterruptibly(pending, CompletableFuture.completedFuture(ParsedChunk.END), failure);
+            awaitWriter(writer, failure);
+            validationPool.shutdownNow();
+            writerThread.shutdownNow();
+        }
+
+        ImportReport report = progress.toReport(rowsRead, failure.get(), System.currentTimeMillis() - started);
+        log.info("Imported {} tasks ({} rejected) in {} ms, {} rows/s{}", report.getRowsImported(),
+                report.getRowsRejected(), report.getElapsedMillis(), Math.round(report.getRowsPerSecond()),
+                report.isCompleted() ? "" : ", stopped: " + report.getFailure());
+        return report;
+    }
+
+    private void submit(List<RawRow> chunk, ExecutorService validationPool,
+                        BlockingQueue<Future<ParsedChunk>> pending, AtomicReference<String> failure) {
+        putUninterruptibly(pending, CompletableFuture.supplyAsync(() -> parseAndValidate(chunk), validationPool),
+                failure);
+    }
+
+    private void putUninterruptibly(BlockingQueue<Future<ParsedChunk>> pending, Future<ParsedChunk> chunk,
+                                    AtomicReference<String> failure) {
+        try {
+            while (!pending.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                if (failure.get() != null) {
+                    pending.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, "Import interrupted");
+        }
+    }
+
+    private void awaitWriter(Future<?> writer, AtomicReference<String> failure) {
+        try {
+            writer.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, "Import interrupted");
+        } catch (ExecutionException e) {
+            failure.compareAndSet(null, "Writer failed: " + e.getCause().getMessage());
+        }
+    }
+
+    private void drain(BlockingQueue<Future<ParsedChunk>> pending, ImportProgress progress,
+                       AtomicReference<String> failure) {
+        while (true) {
+            ParsedChunk chunk;
+            try {
+                chunk = pending.take().get();
+            } catch (ExecutionException e) {
+                failure.compareAndSet(null, "Validation failed: " + e.getCause().getMessage());
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, "Import interrupted");
+                return;
+            }
+            if (chunk == ParsedChunk.END || failure.get() != null) {
+                return;
+            }
+            try {
+                if (!chunk.tasks().isEmpty()) {
+                    taskService.createTasks(chunk.tasks());
+                }
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, "Insert failed after row " + progress.lastCommittedRow
+                        + ": " + e.getMessage());
+                return;
+            }
+            progress.committed(chunk);
+        }
+    }
+
+    private ParsedChunk parseAndValidate(List<RawRow> rows) {
+        List<Task> tasks = new ArrayList<>(rows.size());
+        List<ImportReport.RowError> errors = new ArrayList<>();
+        for (RawRow row : rows) {
+            try {
+                Task task = row.json() != null ? objectMapper.readValue(row.json(), Task.class) : row.task();
+                List<String> violations = new ArrayList<>();
+                for (ConstraintViolation<Task> violation : validator.validate(task)) {
+                    violations.add(violation.getPropertyPath() + ": " + violation.getMessage());
+                }
+                if (violations.isEmpty()) {
+                    tasks.add(task);
+                } else {
+                    Collections.sort(violations);
+                    errors.add(new ImportReport.RowError(row.number(), String.join("; ", violations)));
+                }
+            } catch (IOException | RuntimeException e) {
+                errors.add(new ImportReport.RowError(row.number(), e.getMessage()));
+            }
+        }
+        return new ParsedChunk(tasks, errors, rows.get(rows.size() - 1).number());
+    }
+
+    private record RawRow(long number, String json, Map<String, String> fields) {
+
+        Task task() {
+            Task task = new Task(fields.get("title"), emptyToNull(fields.get("description")));
+            String status = emptyToNull(fields.get("status"));
+            if (status != null) {
+                task.setStatus(TaskStatus.valueOf(status.trim().toUpperCase(Locale.ROOT)));
+            }
+            String priority = emptyToNull(fields.get("priority"));
+            if (priority != null) {
+                task.setPriority(TaskPriority.valueOf(priority.trim().toUpperCase(Locale.ROOT)));
+            }
+            String dueDate = emptyToNull(fields.get("dueDate"));
+            if (dueDate != null) {
+                task.setDueDate(LocalDateTime.parse(dueDate.trim()));
+            }
+            String createdAt = emptyToNull(fields.get("createdAt"));
+            if (createdAt != null) {
+                task.setCreatedAt(LocalDateTime.parse(createdAt.trim()));
+            }
+            return task;
+        }
+
+        private static String emptyToNull(String value) {
+            return value == null || value.isEmpty() ? null : value;
+        }
+    }
+
+    private record ParsedChunk(List<Task> tasks, List<ImportReport.RowError> errors, long lastRow) {
+
+        static final ParsedChunk END = new ParsedChunk(List.of(), List.of(), -1);
+    }
+
+    private interface RowSource {
+
+        RawRow next() throws IOException;
+    }
+
+    private static final class NdjsonRowSource implements RowSource {
+
+        private final BufferedReader reader;
+        private long row;
+
+        NdjsonRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    return new RawRow(++row, line, null);
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class CsvRowSource implements RowSource {
+
+        private final CsvRecordReader reader;
+        private List<String> header;
+        private long row;
+
+        CsvRowSource(BufferedReader reader) {
+            this.reader = new CsvRecordReader(reader);
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            if (header == null) {
+                header = reader.next();
+                if (header == null) {
+                    return null;
+                }
+            }
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                if (record.size() == 1 && record.get(0).isEmpty()) {
+                    continue;
+                }
+                Map<String, String> fields = new HashMap<>();
+                for (int i = 0; i < header.size() && i < record.size(); i++) {
+                    fields.put(header.get(i).trim(), record.get(i));
+                }
+                return new RawRow(++row, null, fields);
+            }
+            return null;
+        }
+    }
+
+    private static final class ImportProgress {
+
+        private volatile long lastCommittedRow;
+        private long imported;
+        private long rejected;
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+
+        ImportProgress(long skipRows) {
+            this.lastCommittedRow = skipRows;
+        }
+
+        synchronized void committed(ParsedChunk chunk) {
+            imported += chunk.tasks().size();
+            rejected += chunk.errors().size();
+            for (ImportReport.RowError error : chunk.errors()) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(error);
+                }
+            }
+            lastCommittedRow = chunk.lastRow();
+        }
+
+        synchronized ImportReport toReport(long rowsRead, String failure, long elapsedMillis) {
+            return new ImportReport(rowsRead, imported, rejected, lastCommittedRow, List.copyOf(errors),
+                    failure == null, failure, elapsedMillis);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.taskmanager.live;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.model.Task;
+
+import java.time.LocalDateTime;
+
+/**
+ * What live clients receive for one change: just enough to patch a rendered task
+ * in place. Copied when the event fires, so later changes to the entity do not
+ * leak into a delta that is still queued.
+ */
+public class TaskDelta {
+
+    private final TaskChangedEvent.Type type;
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final String status;
+    private final String statusLabel;
+    private final String priority;
+    private final String priorityLabel;
+    private final LocalDateTime dueDate;
+    private final LocalDateTime createdAt;
+    private final Long version;
+
+    private TaskDelta(TaskChangedEvent.Type type, Long id, Task task) {
+        this.type = type;
+        this.id = id;
+        this.title = task == null ? null : task.getTitle();
+        this.description = task == null ? null : task.getDescription();
+        this.status = task == null || task.getStatus() == null ? null : task.getStatus().name();
+        this.statusLabel = task == null || task.getStatus() == null ? null : task.getStatus().getDisplayName();
+        this.priority = task == null || task.getPriority() == null ? null : task.getPriority().name();
+        this.priorityLabel = task == null || task.getPriority() == null ? null : task.getPriority().getDisplayName();
+        this.dueDate = task == null ? null : task.getDueDate();
+        this.createdAt = task == null ? null : task.getCreatedAt();
+        this.version = task == null ? null : task.getVersion();
+    }
+
+    public static TaskDelta of(TaskChangedEvent event) {
+        return new TaskDelta(event.getType(), event.getTaskId(), event.getTask());
+    }
+
+    public TaskChangedEvent.Type getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getStatusLabel() {
+        return statusLabel;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public String getPriorityLabel() {
+        return priorityLabel;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
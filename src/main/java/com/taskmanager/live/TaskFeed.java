@@ -0,0 +1,110 @@
+package com.taskmanager.live;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.workspace.WorkspaceContext;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pushes every task change to the browsers connected in the same workspace as a
+ * Server-Sent Event. Sending happens on one dispatcher thread so a slow client
+ * delays other clients, never the request that made the change.
+ */
+@Component
+public class TaskFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskFeed.class);
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long timeoutMs;
+
+    public TaskFeed(@Value("${taskmanager.live.timeout-ms:1800000}") long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(WorkspaceContext.current(), emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        TaskDelta delta = TaskDelta.of(event);
+        dispatcher.execute(() -> broadcast(event.getWorkspace(), SseEmitter.event()
+                .name(delta.getType().name().toLowerCase(Locale.ROOT))
+                .data(delta, MediaType.APPLICATION_JSON)));
+    }
+
+    /**
+     * Keeps idle connections open through proxies and drops clients that have gone away.
+     */
+    @Scheduled(fixedDelayString = "${taskmanager.live.heartbeat-ms:25000}")
+    public void heartbeat() {
+        if (!subscribers.isEmpty()) {
+            dispatcher.execute(() -> broadcast(null, SseEmitter.event().comment("heartbeat")));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+        subscribers.clear();
+    }
+
+    /**
+     * Sends {@code event} to the subscribers of {@code workspace}, or to everyone
+     * when it is {@code null}.
+     */
+    private void broadcast(String workspace, SseEmitter.SseEventBuilder event) {
+        Set<ResponseBodyEmitter.DataWithMediaType> data = event.build();
+        for (Subscriber subscriber : subscribers) {
+            if (workspace != null && !workspace.equals(subscriber.workspace())) {
+                continue;
+            }
+            try {
+                subscriber.emitter().send(data);
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping live subscriber: {}", e.getMessage());
+                subscribers.remove(subscriber);
+                subscriber.emitter().completeWithError(e);
+            }
+        }
+    }
+
+    private record Subscriber(String workspace, SseEmitter emitter) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.taskmanager.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Times view rendering on its own. {@code http.server.requests} covers the whole
+ * request, so the difference between the two is the time spent in the handler
+ * and the repository calls it makes.
+ */
+public class ViewRenderTimingInterceptor implements HandlerInterceptor {
+
+    public static final String METRIC_NAME = "taskmanager.view.render";
+
+    private static final String SAMPLE_ATTRIBUTE = ViewRenderTimingInterceptor.class.getName() + ".sample";
+    private static final String VIEW_ATTRIBUTE = ViewRenderTimingInterceptor.class.getName() + ".view";
+
+    private final MeterRegistry registry;
+
+    public ViewRenderTimingInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView == null || modelAndView.getViewName() == null) {
+            return;
+        }
+        request.setAttribute(VIEW_ATTRIBUTE, modelAndView.getViewName());
+        request.setAttribute(SAMPLE_ATTRIBUTE, Timer.start(registry));
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Timer.Sample sample = (Timer.Sample) request.getAttribute(SAMPLE_ATTRIBUTE);
+        if (sample == null) {
+            return;
+        }
+        sample.stop(Timer.builder(METRIC_NAME)
+                .description("Time spent rendering the view after the handler returned")
+                .tag("view", (String) request.getAttribute(VIEW_ATTRIBUTE))
+                .tag("outcome", ex == null ? "SUCCESS" : "ERROR")
+                .register(registry));
+    }
+}
@@ -0,0 +1,117 @@
+package com.taskmanager.model;
+
+import com.taskmanager.workspace.WorkspaceContext;
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * A finished task moved out of {@code tasks} by the archiver. Keeps the task's id
+ * so a restore puts it back unchanged; archive rows are never edited in place.
+ */
+@Entity
+@Table(name = "archived_tasks", indexes = {
+        @Index(name = "idx_archived_tasks_workspace_archived_at", columnList = "workspace, archived_at")
+})
+public class ArchivedTask {
+    
+    @Id
+    private Long id;
+    
+    @ColumnDefault("'" + WorkspaceContext.DEFAULT + "'")
+    @Column(nullable = false, length = WorkspaceContext.MAX_NAME_LENGTH)
+    private String workspace;
+    
+    @Column(nullable = false)
+    private String title;
+    
+    @Column(length = 1000)
+    private String description;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskPriority priority;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "due_date")
+    private LocalDateTime dueDate;
+    
+    @Column(nullable = false)
+    private Long version;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+    
+    protected ArchivedTask() {
+    }
+    
+    public static ArchivedTask of(Task task, LocalDateTime archivedAt) {
+        ArchivedTask archived = new ArchivedTask();
+        archived.id = task.getId();
+        archived.workspace = task.getWorkspace();
+        archived.title = task.getTitle();
+        archived.description = task.getDescription();
+        archived.status = task.getStatus();
+        archived.priority = task.getPriority();
+        archived.createdAt = task.getCreatedAt();
+        archived.updatedAt = task.getUpdatedAt();
+        archived.dueDate = task.getDueDate();
+        archived.version = task.getVersion();
+        archived.archivedAt = archivedAt;
+        return archived;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getWorkspace() {
+        return workspace;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public TaskStatus getStatus() {
+        return status;
+    }
+    
+    public TaskPriority getPriority() {
+        return priority;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -1,18 +1,33 @@
 package com.taskmanager.model;
 
+import com.taskmanager.workspace.WorkspaceContext;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_workspace_created_at_id", columnList = "workspace, created_at, id"),
+        @Index(name = "idx_tasks_workspace_status_priority_created_at",
+                columnList = "workspace, status, priority, created_at"),
+        @Index(name = "idx_tasks_workspace_due_date_status", columnList = "workspace, due_date, status"),
+        @Index(name = "idx_tasks_workspace_status_updated_at", columnList = "workspace, status, updated_at")
+})
 public class Task {
     
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = Task.ID_ALLOCATION_SIZE)
     private Long id;
     
+    @ColumnDefault("'" + WorkspaceContext.DEFAULT + "'")
+    @Column(nullable = false, length = WorkspaceContext.MAX_NAME_LENGTH)
+    private String workspace = WorkspaceContext.DEFAULT;
+    
     @NotBlank(message = "Title is required")
     @Size(max = 255, message = "Title must be less than 255 characters")
     @Column(nullable = false)
@@ -39,6 +54,11 @@ public class Task {
     @Column(name = "due_date")
     private LocalDateTime dueDate;
     
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     public Task() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
@@ -50,6 +70,20 @@ public class Task {
         this.description = description;
     }
     
+    /** A detached copy of every field, for handing out a task that is shared. */
+    public Task copy() {
+        Task copy = new Task(title, description);
+        copy.setId(id);
+        copy.setWorkspace(workspace);
+        copy.setStatus(status);
+        copy.setPriority(priority);
+        copy.setDueDate(dueDate);
+        copy.setCreatedAt(createdAt);
+        copy.setUpdatedAt(updatedAt);
+        copy.setVersion(version);
+        return copy;
+    }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -64,6 +98,14 @@ public class Task {
         this.id = id;
     }
     
+    public String getWorkspace() {
+        return workspace;
+    }
+    
+    public void setWorkspace(String workspace) {
+        this.workspace = workspace;
+    }
+    
     public String getTitle() {
         return title;
     }
@@ -119,4 +161,12 @@ public class Task {
     public void setDueDate(LocalDateTime dueDate) {
         this.dueDate = dueDate;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
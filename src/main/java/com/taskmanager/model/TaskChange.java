@@ -0,0 +1,73 @@
+package com.taskmanager.model;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.workspace.WorkspaceContext;
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry in the task change log. {@code seq} orders all changes on a shard;
+ * the entry records only which task changed and how, clients read the current
+ * state. Positions come from a sequence one at a time, never from a cached block,
+ * so appends that lock the {@link TaskChangeHead} take them in commit order, and
+ * inserts can still be batched.
+ */
+@Entity
+@Table(name = "task_changes", indexes = {
+        @Index(name = "idx_task_changes_workspace_seq", columnList = "workspace, seq"),
+        @Index(name = "idx_task_changes_task_id_seq", columnList = "task_id, seq"),
+        @Index(name = "idx_task_changes_workspace_changed_at", columnList = "workspace, changed_at")
+})
+public class TaskChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_change_seq")
+    @SequenceGenerator(name = "task_change_seq", sequenceName = "task_change_seq", allocationSize = 1)
+    private Long seq;
+
+    @ColumnDefault("'" + WorkspaceContext.DEFAULT + "'")
+    @Column(nullable = false, length = WorkspaceContext.MAX_NAME_LENGTH)
+    private String workspace;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskChangedEvent.Type type;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    protected TaskChange() {
+    }
+
+    public TaskChange(String workspace, Long taskId, TaskChangedEvent.Type type, LocalDateTime changedAt) {
+        this.workspace = workspace;
+        this.taskId = taskId;
+        this.type = type;
+        this.changedAt = changedAt;
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public String getWorkspace() {
+        return workspace;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public TaskChangedEvent.Type getType() {
+        return type;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
@@ -0,0 +1,34 @@
+package com.taskmanager.model;
+
+import com.taskmanager.workspace.WorkspaceContext;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Head of one workspace's change log. Appends lock it until they commit, so a
+ * workspace's entries commit in sequence order and a reader never skips an entry
+ * that commits late with a lower sequence.
+ */
+@Entity
+@Table(name = "task_change_heads")
+public class TaskChangeHead {
+
+    @Id
+    @Column(length = WorkspaceContext.MAX_NAME_LENGTH)
+    private String workspace;
+
+    @Column(name = "appended_at", nullable = false)
+    private LocalDateTime appendedAt;
+
+    protected TaskChangeHead() {
+    }
+
+    public String getWorkspace() {
+        return workspace;
+    }
+
+    public LocalDateTime getAppendedAt() {
+        return appendedAt;
+    }
+}
@@ -0,0 +1,50 @@
+package com.taskmanager.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class TaskFilter {
+
+    private final TaskStatus status;
+    private final TaskPriority priority;
+    private final LocalDateTime dueFrom;
+    private final LocalDateTime dueBefore;
+    private final TaskSortKey sort;
+
+    public TaskFilter(TaskStatus status, TaskPriority priority,
+                      LocalDateTime dueFrom, LocalDateTime dueBefore, TaskSortKey sort) {
+        this.status = status;
+        this.priority = priority;
+        this.dueFrom = dueFrom;
+        this.dueBefore = dueBefore;
+        this.sort = sort != null ? sort : TaskSortKey.NEWEST;
+    }
+
+    public static TaskFilter of(TaskStatus status, TaskPriority priority,
+                                LocalDate dueFrom, LocalDate dueTo, TaskSortKey sort) {
+        return new TaskFilter(status, priority,
+                dueFrom != null ? dueFrom.atStartOfDay() : null,
+                dueTo != null ? dueTo.plusDays(1).atStartOfDay() : null,
+                sort);
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public LocalDateTime getDueFrom() {
+        return dueFrom;
+    }
+
+    public LocalDateTime getDueBefore() {
+        return dueBefore;
+    }
+
+    public TaskSortKey getSort() {
+        return sort;
+    }
+}
@@ -0,0 +1,32 @@
+package com.taskmanager.model;
+
+import java.util.List;
+
+public class TaskPage {
+
+    private final List<TaskSummary> tasks;
+    private final String nextCursor;
+    private final int size;
+
+    public TaskPage(List<TaskSummary> tasks, String nextCursor, int size) {
+        this.tasks = tasks;
+        this.nextCursor = nextCursor;
+        this.size = size;
+    }
+
+    public List<TaskSummary> getTasks() {
+        return tasks;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.taskmanager.model;
+
+import org.springframework.data.domain.Sort;
+
+public enum TaskSortKey {
+    NEWEST("Newest first", Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"))),
+    OLDEST("Oldest first", Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id"))),
+    DUE_DATE("Due soonest", Sort.by(Sort.Order.asc("dueDate").nullsLast(), Sort.Order.asc("id"))),
+    TITLE("Title", Sort.by(Sort.Order.asc("title"), Sort.Order.asc("id")));
+    
+    private final String displayName;
+    private final Sort sort;
+    
+    TaskSortKey(String displayName, Sort sort) {
+        this.displayName = displayName;
+        this.sort = sort;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    public Sort getSort() {
+        return sort;
+    }
+}
@@ -0,0 +1,99 @@
+package com.taskmanager.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Read-only row for task lists: the columns a list shows, with the description cut
+ * to a preview by the database. Not an entity, so it is never tracked or
+ * dirty-checked; the full description is loaded on demand.
+ */
+public class TaskSummary {
+
+    public static final int DESCRIPTION_PREVIEW_LENGTH = 200;
+
+    private final Long id;
+    private final String title;
+    private final String descriptionPreview;
+    private final boolean descriptionTruncated;
+    private final TaskStatus status;
+    private final TaskPriority priority;
+    private final LocalDateTime dueDate;
+    private final LocalDateTime createdAt;
+    private final Long version;
+
+    public TaskSummary(Long id, String title, String descriptionPreview, Integer descriptionLength,
+                       TaskStatus status, TaskPriority priority, LocalDateTime dueDate,
+                       LocalDateTime createdAt, Long version) {
+        this.id = id;
+        this.title = title;
+        this.descriptionPreview = descriptionPreview;
+        this.descriptionTruncated = descriptionLength != null && descriptionLength > DESCRIPTION_PREVIEW_LENGTH;
+        this.status = status;
+        this.priority = priority;
+        this.dueDate = dueDate;
+        this.createdAt = createdAt;
+        this.version = version;
+    }
+
+    public static TaskSummary of(Task task) {
+        String description = task.getDescription();
+        return new TaskSummary(task.getId(), task.getTitle(),
+                description == null || description.length() <= DESCRIPTION_PREVIEW_LENGTH
+                        ? description
+                        : description.substring(0, DESCRIPTION_PREVIEW_LENGTH),
+                description == null ? null : description.length(),
+                task.getStatus(), task.getPriority(), task.getDueDate(), task.getCreatedAt(), task.getVersion());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescriptionPreview() {
+        return descriptionPreview;
+    }
+
+    public boolean isDescriptionTruncated() {
+        return descriptionTruncated;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof TaskSummary other
+                && Objects.equals(id, other.id)
+                && Objects.equals(version, other.version);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, version);
+    }
+}
@@ -0,0 +1,74 @@
+package com.taskmanager.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.service.TaskWriteBehindQueue;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+@Configuration
+// Reads the tasks table directly, so it only makes sense with the JPA task store
+// on a single, unsharded database
+@ConditionalOnExpression("${taskmanager.reactive.enabled:true} and '${taskmanager.store.type:jpa}' == 'jpa'"
+        + " and '${taskmanager.workspaces.shard-urls:}' == ''")
+public class ReactiveApiConfig {
+
+    private static final String H2_JDBC_PREFIX = "jdbc:h2:";
+
+    /**
+     * Opens the same H2 database as the JDBC DataSource through a connection pool.
+     * The pool is deliberately not a bean: Boot backs off its DataSource when a
+     * connection factory bean exists. The reader closes it with the context.
+     */
+    @Bean
+    public ReactiveTaskReader reactiveTaskReader(@Value("${spring.datasource.url}") String url,
+                                                 @Value("${spring.datasource.username:sa}") String username,
+                                                 @Value("${spring.datasource.password:}") String password,
+                                                 @Value("${taskmanager.reactive.pool-size:10}") int poolSize) {
+        if (!url.startsWith(H2_JDBC_PREFIX)) {
+            throw new IllegalStateException("The reactive API only supports H2, not " + url);
+        }
+        H2ConnectionConfiguration configuration = H2ConnectionConfiguration.builder()
+                .url(url.substring(H2_JDBC_PREFIX.length()))
+                .username(username)
+                .password(password)
+                .build();
+        ConnectionPool pool = new ConnectionPool(
+                ConnectionPoolConfiguration.builder(new H2ConnectionFactory(configuration))
+                        .name("reactive")
+                        .maxSize(poolSize)
+                        .build());
+        return new ReactiveTaskReader(DatabaseClient.create(pool));
+    }
+
+    @Bean
+    public ReactiveTaskHandler reactiveTaskHandler(ReactiveTaskReader reader, TaskService taskService,
+                                                   Validator validator, TaskWriteBehindQueue writeBehindQueue) {
+        return new ReactiveTaskHandler(reader, taskService, validator, writeBehindQueue);
+    }
+
+    @Bean
+    public ReactiveApiServer reactiveApiServer(ReactiveTaskHandler handler, ObjectMapper objectMapper,
+                                               @Value("${taskmanager.reactive.port:8081}") int port) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return new ReactiveApiServer(
+                RouterFunctions.toHttpHandler(ReactiveTaskRoutes.routes(handler), strategies), port);
+    }
+}
@@ -0,0 +1,170 @@
+package com.taskmanager.reactive;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.service.TaskWriteBehindQueue;
+import jakarta.validation.Validator;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * Handlers for /api/v2/tasks. Reads stream from R2DBC on the event loop, after
+ * queued write-behind updates are flushed so they see what v1 reads see. Writes
+ * go through {@link TaskService} on the bounded elastic scheduler so the cache,
+ * search index and other listeners see every change, as they do for v1.
+ */
+public class ReactiveTaskHandler {
+
+    private final ReactiveTaskReader reader;
+    private final TaskService taskService;
+    private final Validator validator;
+    private final TaskWriteBehindQueue writeBehindQueue;
+
+    public ReactiveTaskHandler(ReactiveTaskReader reader, TaskService taskService, Validator validator,
+                               TaskWriteBehindQueue writeBehindQueue) {
+        this.reader = reader;
+        this.taskService = taskService;
+        this.validator = validator;
+        this.writeBehindQueue = writeBehindQueue;
+    }
+
+    public Mono<ServerResponse> list(ServerRequest request) {
+        TaskStatus status;
+        TaskPriority priority;
+        try {
+            status = request.queryParam("status").map(TaskStatus::valueOf).orElse(null);
+            priority = request.queryParam("priority").map(TaskPriority::valueOf).orElse(null);
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest().build();
+        }
+        Flux<Task> tasks = Flux.defer(() -> status == null && priority == null
+                ? reader.findAll()
+                : reader.findMatching(status, priority));
+        return stream(request, flushPendingWrites().thenMany(tasks));
+    }
+
+    public Mono<ServerResponse> overdue(ServerRequest request) {
+        return stream(request, blocking(taskService::getOverdueTasks).flatMapMany(Flux::fromIterable));
+    }
+
+    public Mono<ServerResponse> get(ServerRequest request) {
+        return withId(request, id -> flushPendingWrites().then(Mono.defer(() -> reader.findById(id)))
+                .flatMap(task -> ServerResponse.ok().bodyValue(task))
+                .switchIfEmpty(ServerResponse.notFound().build()));
+    }
+
+    public Mono<ServerResponse> create(ServerRequest request) {
+        return request.bodyToMono(Task.class)
+                .flatMap(task -> {
+                    List<String> errors = validate(task);
+                    if (!errors.isEmpty()) {
+                        return ServerResponse.badRequest().bodyValue(Map.of("errors", errors));
+                    }
+                    return blocking(() -> taskService.createTask(task))
+                            .flatMap(created -> ServerResponse
+                                    .created(URI.create("/api/v2/tasks/" + created.getId()))
+                                    .bodyValue(created));
+                });
+    }
+
+    public Mono<ServerResponse> update(ServerRequest request) {
+        return withId(request, id -> request.bodyToMono(Task.class)
+                .flatMap(task -> {
+                    List<String> errors = validate(task);
+                    if (!errors.isEmpty()) {
+                        return ServerResponse.badRequest().bodyValue(Map.of("errors", errors));
+                    }
+                    if (task.getVersion() == null) {
+                        return ServerResponse.status(HttpStatus.PRECONDITION_REQUIRED).build();
+                    }
+                    return respond(blocking(() -> taskService.updateTask(id, task)));
+                }));
+    }
+
+    public Mono<ServerResponse> updateStatus(ServerRequest request) {
+        return withId(request, id -> {
+            TaskStatus status;
+            try {
+                status = TaskStatus.valueOf(request.queryParam("status").orElse(""));
+            } catch (IllegalArgumentException e) {
+                return ServerResponse.badRequest().build();
+            }
+            return respond(blocking(() -> taskService.updateTaskStatus(id, status)));
+        });
+    }
+
+    public Mono<ServerResponse> updatePriority(ServerRequest request) {
+        return withId(request, id -> {
+            TaskPriority priority;
+            try {
+                priority = TaskPriority.valueOf(request.queryParam("priority").orElse(""));
+            } catch (IllegalArgumentException e) {
+                return ServerResponse.badRequest().build();
+            }
+            return respond(blocking(() -> taskService.updateTaskPriority(id, priority)));
+        });
+    }
+
+    public Mono<ServerResponse> delete(ServerRequest request) {
+        return withId(request, id -> blocking(() -> taskService.deleteTask(id))
+                .flatMap(deleted -> deleted
+                        ? ServerResponse.noContent().build()
+                        : ServerResponse.notFound().build()));
+    }
+
+    private Mono<ServerResponse> stream(ServerRequest request, Flux<Task> tasks) {
+        MediaType type = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(type).body(tasks, Task.class);
+    }
+
+    private Mono<ServerResponse> respond(Mono<Task> result) {
+        return result
+                .flatMap(task -> ServerResponse.ok().bodyValue(task))
+                .switchIfEmpty(ServerResponse.notFound().build())
+                .onErrorResume(OptimisticLockingFailureException.class,
+                        e -> ServerResponse.status(HttpStatus.CONFLICT).build());
+    }
+
+    private List<String> validate(Task task) {
+        return validator.validate(task).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    private Mono<Void> flushPendingWrites() {
+        return Mono.defer(() -> writeBehindQueue.hasPending()
+                ? blocking(writeBehindQueue::flush).then()
+                : Mono.empty());
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static Mono<ServerResponse> withId(ServerRequest request, Function<Long, Mono<ServerResponse>> handler) {
+        Long id;
+        try {
+            id = Long.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().build();
+        }
+        return handler.apply(id);
+    }
+}
@@ -0,0 +1,85 @@
+package com.taskmanager.reactive;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.workspace.WorkspaceContext;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read side of the v2 API. Rows are pulled through R2DBC as subscribers request
+ * them, so a slow client holds back the query instead of buffering the table.
+ * It only serves the default workspace: requests here carry no workspace, and its
+ * connection factory sees a single database.
+ */
+public class ReactiveTaskReader {
+
+    private static final String SELECT = "SELECT id, title, description, status, priority, created_at, "
+            + "updated_at, due_date, version FROM tasks WHERE workspace = :workspace";
+    private static final String NEWEST_FIRST = " ORDER BY created_at DESC, id DESC";
+
+    private final DatabaseClient client;
+
+    public ReactiveTaskReader(DatabaseClient client) {
+        this.client = client;
+    }
+
+    /** Releases pooled connections; Spring calls it when the context closes. */
+    public void close() {
+        if (client.getConnectionFactory() instanceof Disposable pool) {
+            pool.dispose();
+        }
+    }
+
+    public Flux<Task> findAll() {
+        return client.sql(SELECT + NEWEST_FIRST)
+                .bind("workspace", WorkspaceContext.DEFAULT)
+                .map(ReactiveTaskReader::toTask)
+                .all();
+    }
+
+    public Flux<Task> findMatching(TaskStatus status, TaskPriority priority) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        if (status != null) {
+            sql.append(" AND status = :status");
+        }
+        if (priority != null) {
+            sql.append(" AND priority = :priority");
+        }
+        DatabaseClient.GenericExecuteSpec spec = client.sql(sql.append(NEWEST_FIRST).toString())
+                .bind("workspace", WorkspaceContext.DEFAULT);
+        if (status != null) {
+            spec = spec.bind("status", status.name());
+        }
+        if (priority != null) {
+            spec = spec.bind("priority", priority.name());
+        }
+        return spec.map(ReactiveTaskReader::toTask).all();
+    }
+
+    public Mono<Task> findById(Long id) {
+        return client.sql(SELECT + " AND id = :id")
+                .bind("workspace", WorkspaceContext.DEFAULT)
+                .bind("id", id)
+                .map(ReactiveTaskReader::toTask)
+                .one();
+    }
+
+    static Task toTask(Readable row) {
+        Task task = new Task(row.get("title", String.class), row.get("description", String.class));
+        task.setId(row.get("id", Long.class));
+        task.setStatus(TaskStatus.valueOf(row.get("status", String.class)));
+        task.setPriority(TaskPriority.valueOf(row.get("priority", String.class)));
+        task.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        task.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        task.setDueDate(row.get("due_date", LocalDateTime.class));
+        task.setVersion(row.get("version", Long.class));
+        return task;
+    }
+}
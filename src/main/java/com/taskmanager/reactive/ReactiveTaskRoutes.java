@@ -0,0 +1,27 @@
+package com.taskmanager.reactive;
+
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+public final class ReactiveTaskRoutes {
+
+    public static final String BASE_PATH = "/api/v2/tasks";
+
+    private ReactiveTaskRoutes() {
+    }
+
+    public static RouterFunction<ServerResponse> routes(ReactiveTaskHandler handler) {
+        return RouterFunctions.route()
+                .path(BASE_PATH, builder -> builder
+                        .GET("/overdue", handler::overdue)
+                        .GET("/{id}", handler::get)
+                        .PUT("/{id}/status", handler::updateStatus)
+                        .PUT("/{id}/priority", handler::updatePriority)
+                        .PUT("/{id}", handler::update)
+                        .DELETE("/{id}", handler::delete)
+                        .GET("", handler::list)
+                        .POST("", handler::create))
+                .build();
+    }
+}
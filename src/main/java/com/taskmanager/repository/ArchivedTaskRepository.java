@@ -0,0 +1,46 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.ArchivedTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+    
+    /**
+     * Case-insensitive substring match on title or description, most recently
+     * archived first. Scans the archive, which is fine for an explicit lookup.
+     */
+    @Query("SELECT a FROM ArchivedTask a WHERE a.workspace = :workspace "
+            + "AND (LOWER(a.title) LIKE LOWER(CONCAT('%', :query, '%')) "
+            + "OR LOWER(a.description) LIKE LOWER(CONCAT('%', :query, '%'))) ORDER BY a.archivedAt DESC, a.id DESC")
+    List<ArchivedTask> search(@Param("workspace") String workspace, @Param("query") String query, Pageable pageable);
+    
+    @Query("SELECT a FROM ArchivedTask a WHERE a.workspace = :workspace ORDER BY a.archivedAt DESC, a.id DESC")
+    List<ArchivedTask> findRecent(@Param("workspace") String workspace, Pageable pageable);
+    
+    /**
+     * Copies archived rows back into {@code tasks} under their own ids. Touching
+     * {@code updated_at} keeps the archiver from moving them straight back.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO tasks (id, workspace, title, description, status, priority, created_at, "
+            + "updated_at, due_date, version) SELECT id, workspace, title, description, status, priority, "
+            + "created_at, :now, due_date, version + 1 FROM archived_tasks WHERE id IN :ids AND workspace = :workspace",
+            nativeQuery = true)
+    int copyToTasks(@Param("workspace") String workspace,
+                    @Param("ids") Collection<Long> ids,
+                    @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM ArchivedTask a WHERE a.id IN :ids AND a.workspace = :workspace")
+    int deleteByIds(@Param("workspace") String workspace, @Param("ids") Collection<Long> ids);
+}
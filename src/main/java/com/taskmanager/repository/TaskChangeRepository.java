@@ -0,0 +1,58 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.TaskChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskChangeRepository extends JpaRepository<TaskChange, Long> {
+
+    @Query("SELECT c FROM TaskChange c WHERE c.workspace = :workspace AND c.seq > :since ORDER BY c.seq")
+    List<TaskChange> findAfter(@Param("workspace") String workspace, @Param("since") Long since, Pageable pageable);
+
+    @Query("SELECT MIN(c.seq) FROM TaskChange c WHERE c.workspace = :workspace")
+    Long findFirstSeq(@Param("workspace") String workspace);
+
+    @Query("SELECT MAX(c.seq) FROM TaskChange c WHERE c.workspace = :workspace")
+    Long findLastSeq(@Param("workspace") String workspace);
+
+    @Query("SELECT MAX(c.seq) FROM TaskChange c WHERE c.workspace = :workspace AND c.changedAt < :cutoff")
+    Long findLastSeqBefore(@Param("workspace") String workspace, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Locks the workspace's log head until the caller's transaction ends, creating
+     * it on the first append. Must run in the caller's transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query(value = "MERGE INTO task_change_heads h USING (VALUES (CAST(:workspace AS VARCHAR))) v (workspace) "
+            + "ON h.workspace = v.workspace "
+            + "WHEN MATCHED THEN UPDATE SET h.appended_at = :now "
+            + "WHEN NOT MATCHED THEN INSERT (workspace, appended_at) VALUES (v.workspace, :now)", nativeQuery = true)
+    void lockHead(@Param("workspace") String workspace, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TaskChange c WHERE c.workspace = :workspace AND c.seq <= :seq")
+    int deleteThrough(@Param("workspace") String workspace, @Param("seq") Long seq);
+
+    /**
+     * Drops entries superseded by a later entry for the same task. The workspace's
+     * oldest entry stays, as it marks how far back its log reaches.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TaskChange c WHERE c.workspace = :workspace "
+            + "AND c.seq > (SELECT MIN(f.seq) FROM TaskChange f WHERE f.workspace = :workspace) "
+            + "AND EXISTS (SELECT n.seq FROM TaskChange n WHERE n.taskId = c.taskId AND n.seq > c.seq)")
+    int deleteSuperseded(@Param("workspace") String workspace);
+}
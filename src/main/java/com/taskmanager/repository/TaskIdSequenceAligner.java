@@ -0,0 +1,93 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.workspace.ShardRoutingDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Databases created before tasks used a pooled sequence still hold rows with
+ * identity-generated ids. Moves task_seq past them, and past archived tasks that
+ * may be restored, so new ids cannot collide. Likewise moves task_change_seq past
+ * change log entries written while the log still used an identity column.
+ * <p>
+ * With sharded workspaces shard {@code n} issues ids from
+ * {@code [n * SHARD_ID_RANGE, (n + 1) * SHARD_ID_RANGE)}, so a workspace keeps its
+ * ids when it moves to another shard.
+ * <p>
+ * Runs once every singleton exists, before the web server starts and before any
+ * {@link org.springframework.boot.ApplicationRunner}, so nothing can take an id
+ * from the sequence until it is aligned.
+ */
+@Component
+public class TaskIdSequenceAligner implements SmartInitializingSingleton {
+
+    public static final long SHARD_ID_RANGE = 1L << 40;
+
+    private static final Logger log = LoggerFactory.getLogger(TaskIdSequenceAligner.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        alignSequence();
+    }
+
+    public void alignSequence() {
+        ShardRoutingDataSource shards = shardRoutingDataSource.getIfAvailable();
+        if (shards == null) {
+            align(jdbcTemplate, 0);
+            alignChangeSequence(jdbcTemplate);
+            return;
+        }
+        List<String> names = shards.getShardNames();
+        for (int i = 0; i < names.size(); i++) {
+            JdbcTemplate shard = new JdbcTemplate(shards.getShard(names.get(i)));
+            align(shard, i * SHARD_ID_RANGE);
+            alignChangeSequence(shard);
+        }
+    }
+
+    public static void align(JdbcTemplate jdbc, long base) {
+        Long maxId = jdbc.queryForObject("SELECT MAX(id) FROM (SELECT id FROM tasks UNION ALL "
+                + "SELECT id FROM archived_tasks) WHERE id >= ? AND id < ?", Long.class, base, base + SHARD_ID_RANGE);
+        if (maxId == null && base == 0) {
+            return;
+        }
+        long floor = maxId != null ? maxId : base;
+        Long nextValue = jdbc.queryForObject(
+                "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'TASK_SEQ'", Long.class);
+        if (nextValue != null && nextValue - Task.ID_ALLOCATION_SIZE > floor) {
+            return;
+        }
+        long restartWith = floor + Task.ID_ALLOCATION_SIZE + 1;
+        jdbc.execute("ALTER SEQUENCE task_seq RESTART WITH " + restartWith);
+        log.info("Moved task_seq to {} past existing task ids", restartWith);
+    }
+
+    public static void alignChangeSequence(JdbcTemplate jdbc) {
+        Long maxSeq = jdbc.queryForObject("SELECT MAX(seq) FROM task_changes", Long.class);
+        if (maxSeq == null) {
+            return;
+        }
+        Long nextValue = jdbc.queryForObject(
+                "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'TASK_CHANGE_SEQ'",
+                Long.class);
+        if (nextValue != null && nextValue > maxSeq) {
+            return;
+        }
+        jdbc.execute("ALTER SEQUENCE task_change_seq RESTART WITH " + (maxSeq + 1));
+        log.info("Moved task_change_seq to {} past existing change log entries", maxSeq + 1);
+    }
+}
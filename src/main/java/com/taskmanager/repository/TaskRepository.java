@@ -1,27 +1,158 @@
 package com.taskmanager.repository;
 
 import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskPriority;
 import com.taskmanager.model.TaskStatus;
+import com.taskmanager.model.TaskSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskSummaryRepository {
     
-    List<Task> findByStatusOrderByCreatedAtDesc(TaskStatus status);
+    String SELECT_SUMMARY = "SELECT new com.taskmanager.model.TaskSummary(t.id, t.title, "
+            + "SUBSTRING(t.description, 1, " + TaskSummary.DESCRIPTION_PREVIEW_LENGTH + "), LENGTH(t.description), "
+            + "t.status, t.priority, t.dueDate, t.createdAt, t.version) FROM Task t ";
     
-    List<Task> findByPriorityOrderByCreatedAtDesc(com.taskmanager.model.TaskPriority priority);
+    /*
+     * Every query is scoped to one workspace. Lookups by id are too: ids are unique
+     * across workspaces, but a task must not be reachable from another workspace.
+     */
+    Optional<Task> findByIdAndWorkspace(Long id, String workspace);
     
-    @Query("SELECT t FROM Task t WHERE t.dueDate IS NOT NULL AND t.dueDate < :now AND t.status != 'COMPLETED'")
-    List<Task> findOverdueTasks(@Param("now") LocalDateTime now);
+    boolean existsByIdAndWorkspace(Long id, String workspace);
     
-    @Query("SELECT t FROM Task t WHERE t.dueDate IS NOT NULL AND t.dueDate BETWEEN :start AND :end")
-    List<Task> findTasksDueBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+    List<Task> findAllByWorkspaceAndIdIn(String workspace, Collection<Long> ids);
     
-    List<Task> findAllByOrderByCreatedAtDesc();
+    List<Task> findAllByWorkspaceOrderByIdAsc(String workspace);
+    
+    List<Task> findByWorkspaceAndStatusOrderByCreatedAtDesc(String workspace, TaskStatus status);
+    
+    List<Task> findByWorkspaceAndPriorityOrderByCreatedAtDesc(String workspace, TaskPriority priority);
+    
+    @Query("SELECT t FROM Task t WHERE t.workspace = :workspace AND t.dueDate IS NOT NULL AND t.dueDate < :now "
+            + "AND t.status != 'COMPLETED'")
+    List<Task> findOverdueTasks(@Param("workspace") String workspace, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT t FROM Task t WHERE t.workspace = :workspace AND t.dueDate IS NOT NULL AND t.status != 'COMPLETED'")
+    List<Task> findOpenTasksWithDueDate(@Param("workspace") String workspace);
+    
+    List<Task> findAllByWorkspaceOrderByCreatedAtDesc(String workspace);
+    
+    @Query("SELECT t.status, t.priority, COUNT(t) FROM Task t WHERE t.workspace = :workspace "
+            + "GROUP BY t.status, t.priority")
+    List<Object[]> countByStatusAndPriority(@Param("workspace") String workspace);
+    
+    @Query("SELECT t FROM Task t WHERE t.workspace = :workspace ORDER BY t.createdAt DESC, t.id DESC")
+    List<Task> findFirstPage(@Param("workspace") String workspace, Pageable pageable);
+    
+    @Query("SELECT t FROM Task t WHERE t.workspace = :workspace AND t.createdAt <= :createdAt "
+            + "AND (t.createdAt < :createdAt OR t.id < :id) ORDER BY t.createdAt DESC, t.id DESC")
+    List<Task> findPageAfter(@Param("workspace") String workspace,
+                             @Param("createdAt") LocalDateTime createdAt,
+                             @Param("id") Long id,
+                             Pageable pageable);
+    
+    /*
+     * Summary reads are not read-only, which is Spring Data's default, so they run
+     * on the primary: the pages they fill are revalidated against the change
+     * version, and a lagging replica would put stale rows under a fresh ETag.
+     */
+    @Transactional
+    @Query(SELECT_SUMMARY + "WHERE t.workspace = :workspace ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskSummary> findFirstSummaryPage(@Param("workspace") String workspace, Pageable pageable);
+    
+    @Transactional
+    @Query(SELECT_SUMMARY + "WHERE t.workspace = :workspace AND t.createdAt <= :createdAt "
+            + "AND (t.createdAt < :createdAt OR t.id < :id) ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskSummary> findSummaryPageAfter(@Param("workspace") String workspace,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+    
+    @Query("SELECT t.id FROM Task t WHERE t.workspace = :workspace AND t.status IN :statuses "
+            + "AND t.updatedAt < :cutoff ORDER BY t.updatedAt, t.id")
+    List<Long> findArchivableIds(@Param("workspace") String workspace,
+                                 @Param("statuses") Collection<TaskStatus> statuses,
+                                 @Param("cutoff") LocalDateTime cutoff,
+                                 Pageable pageable);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Task> streamAllByWorkspaceOrderByIdAsc(String workspace);
+    
+    /**
+     * The mutations below run as a single statement and select the affected rows
+     * from H2's {@code OLD TABLE} delta table, so callers get both the affected-row
+     * count and the state before the change without a separate read. Enums are
+     * bound by name because native parameters carry no {@code @Enumerated} mapping.
+     * Every update bumps {@code version} itself, as Hibernate only does that for
+     * entities it flushes.
+     */
+    @Transactional
+    @Query(value = "SELECT * FROM OLD TABLE (UPDATE tasks SET status = :status, updated_at = :now, "
+            + "version = version + 1 WHERE id IN :ids AND workspace = :workspace)", nativeQuery = true)
+    List<Task> updateStatusReturningPrevious(@Param("workspace") String workspace,
+                                             @Param("ids") Collection<Long> ids,
+                                             @Param("status") String status,
+                                             @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Query(value = "SELECT * FROM OLD TABLE (UPDATE tasks SET priority = :priority, updated_at = :now, "
+            + "version = version + 1 WHERE id IN :ids AND workspace = :workspace)", nativeQuery = true)
+    List<Task> updatePriorityReturningPrevious(@Param("workspace") String workspace,
+                                               @Param("ids") Collection<Long> ids,
+                                               @Param("priority") String priority,
+                                               @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Query(value = "SELECT * FROM OLD TABLE (UPDATE tasks SET title = :title, description = :description, "
+            + "status = :status, priority = :priority, due_date = :dueDate, updated_at = :now, "
+            + "version = version + 1 "
+            + "WHERE id = :id AND workspace = :workspace "
+            + "AND version = :version)", nativeQuery = true)
+    List<Task> updateDetailsReturningPrevious(@Param("workspace") String workspace,
+                                              @Param("id") Long id,
+                                              @Param("title") String title,
+                                              @Param("description") String description,
+                                              @Param("status") String status,
+                                              @Param("priority") String priority,
+                                              @Param("dueDate") LocalDateTime dueDate,
+                                              @Param("now") LocalDateTime now,
+                                              @Param("version") Long expectedVersion);
+    
+    @Transactional
+    @Query(value = "SELECT * FROM OLD TABLE (DELETE FROM tasks WHERE id IN :ids AND workspace = :workspace)",
+            nativeQuery = true)
+    List<Task> deleteReturningPrevious(@Param("workspace") String workspace, @Param("ids") Collection<Long> ids);
+    
+    /**
+     * Deletes the given tasks only if they are still in one of {@code statuses} and
+     * unchanged since {@code cutoff}, so a task reopened after it was picked for
+     * archiving stays put.
+     */
+    @Transactional
+    @Query(value = "SELECT * FROM OLD TABLE (DELETE FROM tasks WHERE id IN :ids AND workspace = :workspace "
+            + "AND status IN :statuses AND updated_at < :cutoff)", nativeQuery = true)
+    List<Task> deleteArchivableReturningPrevious(@Param("workspace") String workspace,
+                                                 @Param("ids") Collection<Long> ids,
+                                                 @Param("statuses") Collection<String> statuses,
+                                                 @Param("cutoff") LocalDateTime cutoff);
 }
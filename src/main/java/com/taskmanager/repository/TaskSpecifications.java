@@ -0,0 +1,64 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskFilter;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskSortKey;
+import com.taskmanager.model.TaskStatus;
+import jakarta.persistence.criteria.Order;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> matching(TaskFilter filter) {
+        return Specification.where(hasStatus(filter.getStatus()))
+                .and(hasPriority(filter.getPriority()))
+                .and(dueOnOrAfter(filter.getDueFrom()))
+                .and(dueBefore(filter.getDueBefore()));
+    }
+
+    /**
+     * Orders the query by {@code sortKey}; pass it an unsorted {@code Sort} so the
+     * order is not replaced. Criteria queries drop {@code nullsLast()}, and H2 puts
+     * NULL first, so undated tasks are moved last with an explicit case expression.
+     */
+    public static Specification<Task> sortedBy(TaskSortKey sortKey) {
+        return (root, query, cb) -> {
+            List<Order> orders = new ArrayList<>();
+            if (sortKey == TaskSortKey.DUE_DATE) {
+                orders.add(cb.asc(cb.<Integer>selectCase().when(cb.isNull(root.get("dueDate")), 1).otherwise(0)));
+            }
+            orders.addAll(QueryUtils.toOrders(sortKey.getSort(), root, cb));
+            query.orderBy(orders);
+            return null;
+        };
+    }
+
+    public static Specification<Task> inWorkspace(String workspace) {
+        return (root, query, cb) -> cb.equal(root.get("workspace"), workspace);
+    }
+
+    public static Specification<Task> hasStatus(TaskStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> hasPriority(TaskPriority priority) {
+        return priority == null ? null : (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    public static Specification<Task> dueOnOrAfter(LocalDateTime from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dueDate"), from);
+    }
+
+    public static Specification<Task> dueBefore(LocalDateTime before) {
+        return before == null ? null : (root, query, cb) -> cb.lessThan(root.get("dueDate"), before);
+    }
+}
@@ -0,0 +1,16 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskSummary;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Specification queries that select {@link TaskSummary} rows instead of entities.
+ */
+public interface TaskSummaryRepository {
+
+    List<TaskSummary> findSummaries(Specification<Task> specification, Sort sort);
+}
@@ -0,0 +1,54 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+class TaskSummaryRepositoryImpl implements TaskSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /** On the primary, like the summary pages in {@link TaskRepository}. */
+    @Override
+    @Transactional
+    public List<TaskSummary> findSummaries(Specification<Task> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskSummary> query = cb.createQuery(TaskSummary.class);
+        Root<Task> root = query.from(Task.class);
+        Expression<String> description = root.get("description");
+
+        query.select(cb.construct(TaskSummary.class,
+                root.get("id"),
+                root.get("title"),
+                cb.substring(description, 1, TaskSummary.DESCRIPTION_PREVIEW_LENGTH),
+                cb.length(description),
+                root.get("status"),
+                root.get("priority"),
+                root.get("dueDate"),
+                root.get("createdAt"),
+                root.get("version")));
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -0,0 +1,215 @@
+package com.taskmanager.search;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskCursor;
+import com.taskmanager.store.TaskStore;
+import com.taskmanager.workspace.WorkspaceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index over task titles and descriptions, one partition per
+ * workspace. The default workspace is indexed at startup, any other the first
+ * time it is searched; changes to a workspace that has not been searched yet are
+ * skipped, as its partition will be read from the store when it is.
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_MATCH_BONUS = 1;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final Map<String, Partition> partitions =
+            new ConcurrentHashMap<>(Map.of(WorkspaceContext.DEFAULT, new Partition()));
+
+    @Autowired
+    private TaskStore taskStore;
+
+    /**
+     * Drops every partition and indexes the current workspace afresh.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        partitions.clear();
+        Partition partition = load(WorkspaceContext.current());
+        log.info("Search index rebuilt with {} tasks and {} terms", partition.documentTerms.size(),
+                partition.postings.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTaskChanged(TaskChangedEvent event) {
+        Partition partition = partitions.get(event.getWorkspace());
+        if (partition == null) {
+            return;
+        }
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            partition.remove(event.getTaskId());
+        } else if (event.getTask() != null) {
+            partition.index(event.getTask());
+        }
+    }
+
+    public synchronized void index(Task task) {
+        partitions.computeIfAbsent(task.getWorkspace(), workspace -> new Partition()).index(task);
+    }
+
+    public synchronized void remove(Long taskId) {
+        Partition partition = partitions.get(WorkspaceContext.current());
+        if (partition != null) {
+            partition.remove(taskId);
+        }
+    }
+
+    public synchronized void clear() {
+        partitions.values().forEach(Partition::clear);
+    }
+
+    public List<Long> search(String query, int limit) {
+        Set<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        Partition partition = partitions.get(WorkspaceContext.current());
+        if (partition == null) {
+            partition = load(WorkspaceContext.current());
+        }
+        Map<Long, Integer> scores = null;
+        for (String queryTerm : queryTerms) {
+            Map<Long, Integer> termScores = partition.scorePrefix(queryTerm);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.<Long, Integer>comparingByKey().reversed()));
+
+        List<Long> ids = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return ids;
+    }
+
+    public int size() {
+        return partitions.values().stream().mapToInt(partition -> partition.documentTerms.size()).sum();
+    }
+
+    /**
+     * Indexes {@code workspace} from the store. Changes wait for the lock and so
+     * land on top of what was read.
+     */
+    private synchronized Partition load(String workspace) {
+        Partition partition = partitions.get(workspace);
+        if (partition != null) {
+            return partition;
+        }
+        Partition loaded = new Partition();
+        WorkspaceContext.run(workspace, () -> {
+            List<Task> tasks = taskStore.findFirstPage(REBUILD_BATCH_SIZE);
+            while (!tasks.isEmpty()) {
+                tasks.forEach(loaded::index);
+                TaskCursor last = TaskCursor.of(tasks.get(tasks.size() - 1));
+                tasks = taskStore.findPageAfter(last.getCreatedAt(), last.getId(), REBUILD_BATCH_SIZE);
+            }
+        });
+        partitions.put(workspace, loaded);
+        return loaded;
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static final class Partition {
+
+        private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+        private final Map<Long, Set<String>> documentTerms = new ConcurrentHashMap<>();
+
+        void index(Task task) {
+            remove(task.getId());
+
+            Map<String, Integer> weights = new HashMap<>();
+            for (String term : tokenize(task.getTitle())) {
+                weights.merge(term, TITLE_WEIGHT, Math::max);
+            }
+            for (String term : tokenize(task.getDescription())) {
+                weights.merge(term, DESCRIPTION_WEIGHT, Math::max);
+            }
+
+            weights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(task.getId(), weight));
+            documentTerms.put(task.getId(), weights.keySet());
+        }
+
+        void remove(Long taskId) {
+            Set<String> terms = documentTerms.remove(taskId);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                postings.computeIfPresent(term, (t, docs) -> {
+                    docs.remove(taskId);
+                    return docs.isEmpty() ? null : docs;
+                });
+            }
+        }
+
+        void clear() {
+            postings.clear();
+            documentTerms.clear();
+        }
+
+        Map<Long, Integer> scorePrefix(String prefix) {
+            Map<Long, Integer> scores = new HashMap<>();
+            NavigableMap<String, Map<Long, Integer>> matches =
+                    postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+            matches.forEach((term, docs) -> {
+                int bonus = term.equals(prefix) ? EXACT_MATCH_BONUS : 0;
+                docs.forEach((id, weight) -> scores.merge(id, weight + bonus, Math::max));
+            });
+            return scores;
+        }
+    }
+}
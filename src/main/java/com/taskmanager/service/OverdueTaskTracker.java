@@ -0,0 +1,211 @@
+package com.taskmanager.service;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.store.TaskStore;
+import com.taskmanager.workspace.WorkspaceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks open tasks with a due date, one partition per workspace, so overdue
+ * tasks are known without a query. The default workspace is loaded at startup,
+ * any other the first time its overdue tasks are asked for; until then its
+ * changes are skipped.
+ */
+@Component
+public class OverdueTaskTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueTaskTracker.class);
+
+    private final Map<String, Deadlines> workspaces =
+            new ConcurrentHashMap<>(Map.of(WorkspaceContext.DEFAULT, new Deadlines()));
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private TaskChangeVersion changeVersion;
+
+    /**
+     * Drops every partition and loads the current workspace afresh.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        workspaces.clear();
+        Deadlines deadlines = load(WorkspaceContext.current());
+        log.info("Overdue tracker loaded with {} open tasks, {} overdue", deadlines.byId.size(),
+                deadlines.overdue.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTaskChanged(TaskChangedEvent event) {
+        Deadlines deadlines = workspaces.get(event.getWorkspace());
+        if (deadlines == null) {
+            return;
+        }
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            deadlines.untrack(event.getTaskId());
+        } else if (event.getTask() != null) {
+            deadlines.track(event.getTask());
+        }
+    }
+
+    public synchronized void track(Task task) {
+        Deadlines deadlines = workspaces.get(task.getWorkspace());
+        if (deadlines != null) {
+            deadlines.track(task);
+        }
+    }
+
+    public synchronized void untrack(Long taskId) {
+        Deadlines deadlines = workspaces.get(WorkspaceContext.current());
+        if (deadlines != null) {
+            deadlines.untrack(taskId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.overdue.sweep-interval-ms:30000}")
+    public void sweep() {
+        sweep(LocalDateTime.now());
+    }
+
+    public synchronized int sweep(LocalDateTime now) {
+        int moved = 0;
+        for (Map.Entry<String, Deadlines> workspace : workspaces.entrySet()) {
+            int movedHere = workspace.getValue().sweep(now);
+            if (movedHere > 0) {
+                changeVersion.bump(workspace.getKey());
+                moved += movedHere;
+            }
+        }
+        return moved;
+    }
+
+    /** Copies, so callers cannot change the tracked tasks. */
+    public List<Task> getOverdueTasks() {
+        sweepIfDue();
+        return current().overdue.values().stream().map(Task::copy).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Moves newly overdue tasks without waiting for the scheduled sweep; a no-op
+     * unless the earliest upcoming deadline of the current workspace has passed.
+     */
+    public void sweepIfDue() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = current().nextDeadline;
+        if (next != null && next.isBefore(now)) {
+            sweep(now);
+        }
+    }
+
+    public int getTrackedCount() {
+        return current().byId.size();
+    }
+
+    private Deadlines current() {
+        String workspace = WorkspaceContext.current();
+        Deadlines deadlines = workspaces.get(workspace);
+        return deadlines != null ? deadlines : load(workspace);
+    }
+
+    /**
+     * Loads {@code workspace} from the store. Changes wait for the lock and so
+     * land on top of what was read.
+     */
+    private synchronized Deadlines load(String workspace) {
+        Deadlines deadlines = workspaces.get(workspace);
+        if (deadlines != null) {
+            return deadlines;
+        }
+        Deadlines loaded = new Deadlines();
+        WorkspaceContext.call(workspace, taskStore::findOpenTasksWithDueDate).forEach(loaded::track);
+        workspaces.put(workspace, loaded);
+        return loaded;
+    }
+
+    private record Deadline(LocalDateTime dueDate, Long id) implements Comparable<Deadline> {
+
+        private static final Comparator<Deadline> ORDER =
+                Comparator.comparing(Deadline::dueDate).thenComparing(Deadline::id);
+
+        @Override
+        public int compareTo(Deadline other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /** One workspace's deadlines; guarded by the tracker's lock. */
+    private static final class Deadlines {
+
+        private final NavigableMap<Deadline, Task> upcoming = new TreeMap<>();
+        private final ConcurrentSkipListMap<Deadline, Task> overdue = new ConcurrentSkipListMap<>();
+        private final Map<Long, Deadline> byId = new HashMap<>();
+        private volatile LocalDateTime nextDeadline;
+
+        void track(Task task) {
+            untrack(task.getId());
+            if (task.getDueDate() == null || task.getStatus() == TaskStatus.COMPLETED) {
+                return;
+            }
+
+            Deadline deadline = new Deadline(task.getDueDate(), task.getId());
+            Task snapshot = task.copy();
+            byId.put(task.getId(), deadline);
+            if (deadline.dueDate().isBefore(LocalDateTime.now())) {
+                overdue.put(deadline, snapshot);
+            } else {
+                upcoming.put(deadline, snapshot);
+                refreshNextDeadline();
+            }
+        }
+
+        void untrack(Long taskId) {
+            Deadline deadline = byId.remove(taskId);
+            if (deadline == null) {
+                return;
+            }
+            overdue.remove(deadline);
+            if (upcoming.remove(deadline) != null) {
+                refreshNextDeadline();
+            }
+        }
+
+        int sweep(LocalDateTime now) {
+            int moved = 0;
+            while (!upcoming.isEmpty() && upcoming.firstKey().dueDate().isBefore(now)) {
+                Map.Entry<Deadline, Task> entry = upcoming.pollFirstEntry();
+                overdue.put(entry.getKey(), entry.getValue());
+                moved++;
+            }
+            if (moved > 0) {
+                refreshNextDeadline();
+            }
+            return moved;
+        }
+
+        private void refreshNextDeadline() {
+            nextDeadline = upcoming.isEmpty() ? null : upcoming.firstKey().dueDate();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.taskmanager.service;
+
+import com.taskmanager.workspace.ShardMap;
+import com.taskmanager.workspace.WorkspaceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Moves completed and cancelled tasks that have not changed for
+ * {@code taskmanager.archive.min-age} out of the hot table. Works in small batches
+ * with a pause in between so archiving never holds locks or the connection pool
+ * for long, and stops after {@code max-batches} per run. Each workspace is archived
+ * in turn; one that is being moved waits for the next run. Does nothing when the
+ * task store has no archive.
+ */
+@Component
+public class TaskArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiver.class);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Value("${taskmanager.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${taskmanager.archive.min-age:30d}")
+    private Duration minAge;
+
+    @Value("${taskmanager.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${taskmanager.archive.batch-pause-ms:200}")
+    private long batchPauseMs;
+
+    @Value("${taskmanager.archive.max-batches:100}")
+    private int maxBatches;
+
+    @Scheduled(initialDelayString = "${taskmanager.archive.interval-ms:600000}",
+            fixedDelayString = "${taskmanager.archive.interval-ms:600000}")
+    public void archiveDue() {
+        if (!enabled || !taskService.supportsArchive()) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(minAge);
+        for (String workspace : shardMap.getWorkspaces()) {
+            if (shardMap.isMoving(workspace)) {
+                continue;
+            }
+            int archived = WorkspaceContext.call(workspace, () -> archiveOlderThan(cutoff));
+            if (archived > 0) {
+                log.info("Archived {} finished tasks in workspace {}", archived, workspace);
+            }
+        }
+    }
+
+    public int archiveOlderThan(LocalDateTime cutoff) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int archived = taskService.archiveTasks(cutoff, batchSize);
+            total += archived;
+            if (archived < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(batchPauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,63 @@
+package com.taskmanager.service;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.workspace.WorkspaceContext;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of everything the task pages of one workspace show, bumped on every
+ * task change in it and whenever one of its tasks becomes overdue. Seeded from
+ * the clock so validators issued before a restart never match.
+ */
+@Component
+public class TaskChangeVersion {
+
+    private final Map<String, Version> workspaces = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        bump(event.getWorkspace());
+    }
+
+    /** Bumps the current workspace. */
+    public void bump() {
+        bump(WorkspaceContext.current());
+    }
+
+    public void bump(String workspace) {
+        version(workspace).bump();
+    }
+
+    /** Version of the current workspace. */
+    public long getVersion() {
+        return version(WorkspaceContext.current()).value.get();
+    }
+
+    /**
+     * Epoch millis of the current workspace's last change, or of when it was first
+     * seen when nothing has changed since.
+     */
+    public long getLastModified() {
+        return version(WorkspaceContext.current()).lastModified;
+    }
+
+    private Version version(String workspace) {
+        return workspaces.computeIfAbsent(workspace, key -> new Version());
+    }
+
+    private static final class Version {
+
+        private final AtomicLong value = new AtomicLong(System.currentTimeMillis());
+        private volatile long lastModified = System.currentTimeMillis();
+
+        private void bump() {
+            lastModified = System.currentTimeMillis();
+            value.incrementAndGet();
+        }
+    }
+}
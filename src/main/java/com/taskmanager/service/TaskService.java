@@ -1,85 +1,479 @@
 package com.taskmanager.service;
 
+import com.taskmanager.cache.CacheStats;
+import com.taskmanager.cache.TaskCache;
+import com.taskmanager.changes.TaskChangeLog;
+import com.taskmanager.changes.TaskChangeSet;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.export.ExportFormat;
+import com.taskmanager.export.TaskExporter;
+import com.taskmanager.model.ArchivedTask;
 import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskCursor;
+import com.taskmanager.model.TaskFilter;
+import com.taskmanager.model.TaskPage;
 import com.taskmanager.model.TaskStatus;
 import com.taskmanager.model.TaskPriority;
-import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.model.TaskSummary;
+import com.taskmanager.search.TaskSearchIndex;
+import com.taskmanager.stats.TaskCounters;
+import com.taskmanager.stats.TaskStats;
+import com.taskmanager.store.TaskStore;
+import com.taskmanager.workspace.WorkspaceContext;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 public class TaskService {
     
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int BULK_CHUNK_SIZE = 1000;
+    public static final Set<TaskStatus> ARCHIVABLE_STATUSES = EnumSet.of(TaskStatus.COMPLETED, TaskStatus.CANCELLED);
+    
+    @Autowired
+    private TaskStore taskStore;
+    
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+    
+    @Autowired
+    private OverdueTaskTracker overdueTaskTracker;
+    
+    @Autowired
+    private TaskCache taskCache;
+    
+    @Autowired
+    private TaskChangeVersion taskChangeVersion;
+    
+    @Autowired
+    private TaskCounters taskCounters;
+    
     @Autowired
-    private TaskRepository taskRepository;
+    private TaskWriteBehindQueue writeBehindQueue;
     
+    @Autowired
+    private TaskChangeLog taskChangeLog;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TaskExporter taskExporter;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    /**
+     * Read-only methods start by flushing the write-behind queue while their
+     * transaction may already be bound to a read replica, so flushes run in a
+     * transaction of their own on the primary. A batch can hold updates from
+     * several workspaces; each workspace's share is written in its own context.
+     */
+    @PostConstruct
+    void registerWriteBehind() {
+        TransactionTemplate flushTransaction = new TransactionTemplate(transactionManager);
+        flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        writeBehindQueue.setWriter(batch -> byWorkspace(batch).forEach((workspace, updates) ->
+                WorkspaceContext.run(workspace,
+                        () -> flushTransaction.executeWithoutResult(status -> writePending(updates)))));
+    }
+    
+    @Transactional(readOnly = true)
     public List<Task> getAllTasks() {
-        return taskRepository.findAllByOrderByCreatedAtDesc();
+        flushPendingWrites();
+        return taskStore.findAllByOrderByCreatedAtDesc();
+    }
+    
+    /**
+     * Stays on the primary: the page is revalidated against the change version,
+     * and one read from a lagging replica would be cached under the new ETag.
+     */
+    public TaskPage getTaskPage(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        TaskCursor after = TaskCursor.decode(cursor);
+        flushPendingWrites();
+        int limit = pageSize + 1;
+        
+        List<TaskSummary> tasks = after == null
+                ? taskStore.findFirstSummaryPage(limit)
+                : taskStore.findSummaryPageAfter(after.getCreatedAt(), after.getId(), limit);
+        
+        if (tasks.size() <= pageSize) {
+            return new TaskPage(tasks, null, pageSize);
+        }
+        List<TaskSummary> page = tasks.subList(0, pageSize);
+        return new TaskPage(page, TaskCursor.of(page.get(pageSize - 1)).encode(), pageSize);
     }
     
     public Optional<Task> getTaskById(Long id) {
-        return taskRepository.findById(id);
+        Optional<Task> task = taskCache.getTask(id, taskStore::findById);
+        return writeBehindQueue.hasPending() ? task.map(writeBehindQueue::applyPending) : task;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<Task> searchTasks(String query, int limit) {
+        flushPendingWrites();
+        List<Long> rankedIds = taskSearchIndex.search(query, Math.min(limit, MAX_PAGE_SIZE));
+        if (rankedIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Task> tasks = new ArrayList<>(taskStore.findAllById(rankedIds));
+        tasks.sort(Comparator.comparingInt(task -> rankedIds.indexOf(task.getId())));
+        return tasks;
     }
     
+    /** Always creates a new task, whatever id or version the caller sent. */
     public Task createTask(Task task) {
-        return taskRepository.save(task);
+        task.setId(null);
+        task.setVersion(null);
+        return inTransaction(() -> {
+            Task savedTask = taskStore.save(task);
+            eventPublisher.publishEvent(TaskChangedEvent.created(savedTask));
+            return savedTask;
+        });
     }
     
     public Task updateTask(Long id, Task taskDetails) {
-        Optional<Task> optionalTask = taskRepository.findById(id);
-        if (optionalTask.isPresent()) {
-            Task task = optionalTask.get();
+        return updateTask(id, taskDetails, taskDetails.getVersion());
+    }
+    
+    /**
+     * Applies the edit only if the task is still at {@code expectedVersion}, which
+     * is required. Returns {@code null} when the task does not exist and throws
+     * {@link OptimisticLockingFailureException} when it has moved on.
+     */
+    public Task updateTask(Long id, Task taskDetails, Long expectedVersion) {
+        if (expectedVersion == null) {
+            throw new IllegalArgumentException("Updating task " + id + " requires its current version");
+        }
+        flushPendingWrites();
+        LocalDateTime now = LocalDateTime.now();
+        return inTransaction(() -> {
+            Task task = single(taskStore.updateDetailsReturningPrevious(id, taskDetails, now, expectedVersion));
+            if (task == null) {
+                if (taskStore.existsById(id)) {
+                    throw new OptimisticLockingFailureException(
+                            "Task " + id + " is no longer at version " + expectedVersion);
+                }
+                return null;
+            }
+            TaskStatus previousStatus = task.getStatus();
+            TaskPriority previousPriority = task.getPriority();
             task.setTitle(taskDetails.getTitle());
             task.setDescription(taskDetails.getDescription());
             task.setStatus(taskDetails.getStatus());
             task.setPriority(taskDetails.getPriority());
             task.setDueDate(taskDetails.getDueDate());
-            return taskRepository.save(task);
+            touch(task, now);
+            eventPublisher.publishEvent(TaskChangedEvent.updated(task, previousStatus, previousPriority));
+            return task;
+        });
+    }
+    
+    /**
+     * Applies the edit at whatever version the task is, as for {@code If-Match: *}.
+     * Returns {@code null} when the task does not exist.
+     */
+    public Task replaceTask(Long id, Task taskDetails) {
+        while (true) {
+            flushPendingWrites();
+            Optional<Task> current = taskStore.findById(id);
+            if (current.isEmpty()) {
+                return null;
+            }
+            try {
+                return updateTask(id, taskDetails, current.get().getVersion());
+            } catch (OptimisticLockingFailureException e) {
+                // Changed since it was read; apply the edit to the newer version
+            }
         }
-        return null;
     }
     
     public boolean deleteTask(Long id) {
-        if (taskRepository.existsById(id)) {
-            taskRepository.deleteById(id);
-            return true;
-        }
-        return false;
+        return deleteTasks(List.of(id)) > 0;
     }
     
     public List<Task> getTasksByStatus(TaskStatus status) {
-        return taskRepository.findByStatusOrderByCreatedAtDesc(status);
+        flushPendingWrites();
+        return taskCache.getTasksByStatus(status,
+                () -> taskStore.findByStatusOrderByCreatedAtDesc(status));
     }
     
     public List<Task> getTasksByPriority(TaskPriority priority) {
-        return taskRepository.findByPriorityOrderByCreatedAtDesc(priority);
+        flushPendingWrites();
+        return taskCache.getTasksByPriority(priority,
+                () -> taskStore.findByPriorityOrderByCreatedAtDesc(priority));
+    }
+    
+    /** Stays on the primary for the same reason as {@link #getTaskPage}. */
+    public List<TaskSummary> filterTasks(TaskFilter filter) {
+        flushPendingWrites();
+        return taskStore.findSummaries(filter);
+    }
+    
+    @Transactional(readOnly = true)
+    public long exportTasks(ExportFormat format, OutputStream out) throws IOException {
+        flushPendingWrites();
+        return taskExporter.export(format, out);
     }
     
     public List<Task> getOverdueTasks() {
-        return taskRepository.findOverdueTasks(LocalDateTime.now());
+        flushPendingWrites();
+        return overdueTaskTracker.getOverdueTasks();
     }
     
     public Task updateTaskStatus(Long id, TaskStatus status) {
-        Optional<Task> optionalTask = taskRepository.findById(id);
-        if (optionalTask.isPresent()) {
-            Task task = optionalTask.get();
-            task.setStatus(status);
-            return taskRepository.save(task);
+        if (writeBehindQueue.isEnabled()) {
+            return enqueue(id, status, null);
         }
-        return null;
+        LocalDateTime now = LocalDateTime.now();
+        return single(inTransaction(() -> published(
+                taskStore.updateStatusReturningPrevious(List.of(id), status, now),
+                task -> statusChanged(task, status, now))));
     }
     
     public Task updateTaskPriority(Long id, TaskPriority priority) {
-        Optional<Task> optionalTask = taskRepository.findById(id);
-        if (optionalTask.isPresent()) {
-            Task task = optionalTask.get();
-            task.setPriority(priority);
-            return taskRepository.save(task);
+        if (writeBehindQueue.isEnabled()) {
+            return enqueue(id, null, priority);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return single(inTransaction(() -> published(
+                taskStore.updatePriorityReturningPrevious(List.of(id), priority, now),
+                task -> priorityChanged(task, priority, now))));
+    }
+    
+    public TaskStats getTaskStats() {
+        flushPendingWrites();
+        return taskCounters.snapshot();
+    }
+    
+    /**
+     * Changes whenever anything shown on the task pages may have changed. Reads
+     * no rows and leaves the write-behind queue alone, so it is cheap enough to
+     * check on every page request; queued changes bump it when acknowledged.
+     */
+    public long getChangeVersion() {
+        overdueTaskTracker.sweepIfDue();
+        return taskChangeVersion.getVersion();
+    }
+    
+    /** Queued write-behind changes show up once they are written. */
+    public TaskChangeSet getChangesSince(Long since, int limit) {
+        return taskChangeLog.changesSince(since, limit);
+    }
+    
+    public long getLastModified() {
+        return taskChangeVersion.getLastModified();
+    }
+    
+    public Map<String, CacheStats> getCacheStats() {
+        return taskCache.stats();
+    }
+    
+    public List<Task> createTasks(List<Task> tasks) {
+        List<Task> created = new ArrayList<>(tasks.size());
+        for (List<Task> chunk : chunks(tasks)) {
+            chunk.forEach(task -> {
+                task.setId(null);
+                task.setVersion(null);
+            });
+            created.addAll(inTransaction(() -> published(taskStore.saveAll(chunk), TaskChangedEvent::created)));
+        }
+        return created;
+    }
+    
+    public int updateTaskStatuses(Collection<Long> ids, TaskStatus status) {
+        flushPendingWrites();
+        return applyStatuses(ids, status);
+    }
+    
+    public int updateTaskPriorities(Collection<Long> ids, TaskPriority priority) {
+        flushPendingWrites();
+        return applyPriorities(ids, priority);
+    }
+    
+    public int deleteTasks(Collection<Long> ids) {
+        flushPendingWrites();
+        return applyInChunks(ids,
+                taskStore::deleteReturningPrevious,
+                task -> TaskChangedEvent.deleted(task.getId(), task.getStatus(), task.getPriority()));
+    }
+    
+    public boolean supportsArchive() {
+        return taskStore.supportsArchive();
+    }
+    
+    /**
+     * Moves up to {@code limit} completed or cancelled tasks last changed before
+     * {@code cutoff} into the archive. To everything that tracks live tasks an
+     * archived task is deleted.
+     */
+    public int archiveTasks(LocalDateTime cutoff, int limit) {
+        flushPendingWrites();
+        return inTransaction(() -> published(taskStore.archive(ARCHIVABLE_STATUSES, cutoff, limit),
+                task -> TaskChangedEvent.deleted(task.getId(), task.getStatus(), task.getPriority()))).size();
+    }
+    
+    @Transactional(readOnly = true)
+    public List<ArchivedTask> searchArchivedTasks(String query, int limit) {
+        return taskStore.searchArchived(query, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+    
+    /**
+     * Puts an archived task back under its own id. Returns {@code null} when no
+     * archived task has that id.
+     */
+    public Task restoreArchivedTask(Long id) {
+        return inTransaction(() -> {
+            Task restored = taskStore.restore(id, LocalDateTime.now());
+            if (restored != null) {
+                eventPublisher.publishEvent(TaskChangedEvent.created(restored));
+            }
+            return restored;
+        });
+    }
+    
+    /**
+     * Acknowledges a status or priority change into the write-behind queue. The
+     * task must exist now; the returned copy shows it with every queued change.
+     */
+    private Task enqueue(Long id, TaskStatus status, TaskPriority priority) {
+        Optional<Task> current = getTaskById(id);
+        if (current.isEmpty()) {
+            return null;
+        }
+        writeBehindQueue.enqueue(id, status, priority);
+        // Pages revalidated from now on must be rendered again, with the queue flushed
+        taskChangeVersion.bump();
+        return writeBehindQueue.applyPending(current.get());
+    }
+    
+    private void flushPendingWrites() {
+        if (writeBehindQueue.hasPending()) {
+            writeBehindQueue.flush();
+        }
+    }
+    
+    private static Map<String, Map<Long, TaskWriteBehindQueue.PendingUpdate>> byWorkspace(
+            Map<Long, TaskWriteBehindQueue.PendingUpdate> batch) {
+        Map<String, Map<Long, TaskWriteBehindQueue.PendingUpdate>> groups = new LinkedHashMap<>();
+        batch.forEach((id, update) ->
+                groups.computeIfAbsent(update.getWorkspace(), key -> new LinkedHashMap<>()).put(id, update));
+        return groups;
+    }
+    
+    /**
+     * Writes a drained write-behind batch as one bulk update per target value,
+     * each in chunks with the usual change events.
+     */
+    private void writePending(Map<Long, TaskWriteBehindQueue.PendingUpdate> batch) {
+        Map<TaskStatus, List<Long>> byStatus = new EnumMap<>(TaskStatus.class);
+        Map<TaskPriority, List<Long>> byPriority = new EnumMap<>(TaskPriority.class);
+        batch.forEach((id, update) -> {
+            if (update.getStatus() != null) {
+                byStatus.computeIfAbsent(update.getStatus(), key -> new ArrayList<>()).add(id);
+            }
+            if (update.getPriority() != null) {
+                byPriority.computeIfAbsent(update.getPriority(), key -> new ArrayList<>()).add(id);
+            }
+        });
+        byStatus.forEach((status, ids) -> applyStatuses(ids, status));
+        byPriority.forEach((priority, ids) -> applyPriorities(ids, priority));
+    }
+    
+    private int applyStatuses(Collection<Long> ids, TaskStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        return applyInChunks(ids,
+                chunk -> taskStore.updateStatusReturningPrevious(chunk, status, now),
+                task -> statusChanged(task, status, now));
+    }
+    
+    private int applyPriorities(Collection<Long> ids, TaskPriority priority) {
+        LocalDateTime now = LocalDateTime.now();
+        return applyInChunks(ids,
+                chunk -> taskStore.updatePriorityReturningPrevious(chunk, priority, now),
+                task -> priorityChanged(task, priority, now));
+    }
+    
+    private int applyInChunks(Collection<Long> ids,
+                              Function<List<Long>, List<Task>> statement,
+                              Function<Task, TaskChangedEvent> toEvent) {
+        int affected = 0;
+        for (List<Long> chunk : chunks(new ArrayList<>(new LinkedHashSet<>(ids)))) {
+            affected += inTransaction(() -> published(statement.apply(chunk), toEvent)).size();
+        }
+        return affected;
+    }
+    
+    /**
+     * Runs a write and the publishing of its events in one transaction, so the
+     * change log entries commit with the change and the other listeners only hear
+     * of it once it has committed. Joins the write-behind flush's transaction.
+     */
+    private <T> T inTransaction(Supplier<T> write) {
+        return new TransactionTemplate(transactionManager).execute(status -> write.get());
+    }
+    
+    private List<Task> published(List<Task> tasks, Function<Task, TaskChangedEvent> toEvent) {
+        tasks.forEach(task -> eventPublisher.publishEvent(toEvent.apply(task)));
+        return tasks;
+    }
+    
+    private static Task single(List<Task> previous) {
+        return previous.isEmpty() ? null : previous.get(0);
+    }
+    
+    private static TaskChangedEvent statusChanged(Task task, TaskStatus status, LocalDateTime now) {
+        TaskStatus previousStatus = task.getStatus();
+        task.setStatus(status);
+        touch(task, now);
+        return TaskChangedEvent.updated(task, previousStatus, task.getPriority());
+    }
+    
+    private static TaskChangedEvent priorityChanged(Task task, TaskPriority priority, LocalDateTime now) {
+        TaskPriority previousPriority = task.getPriority();
+        task.setPriority(priority);
+        touch(task, now);
+        return TaskChangedEvent.updated(task, task.getStatus(), previousPriority);
+    }
+    
+    private static void touch(Task task, LocalDateTime now) {
+        task.setUpdatedAt(now);
+        task.setVersion(task.getVersion() + 1);
+    }
+    
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int start = 0; start < items.size(); start += BULK_CHUNK_SIZE) {
+            chunks.add(items.subList(start, Math.min(start + BULK_CHUNK_SIZE, items.size())));
         }
-        return null;
+        return chunks;
     }
 }
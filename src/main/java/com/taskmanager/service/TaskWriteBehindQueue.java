@@ -0,0 +1,250 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.workspace.WorkspaceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Optional write-behind buffer for status and priority changes. Updates are
+ * acknowledged once queued, and repeated updates to one task collapse into a
+ * single pending change. The queue is flushed when it reaches
+ * {@code batch-size}, every {@code flush-interval-ms}, and on shutdown.
+ * Callers flush it themselves when it is full, which keeps it bounded.
+ * <p>
+ * Queued changes live only in memory: a graceful shutdown writes them out, a
+ * crash loses them.
+ */
+@Component
+public class TaskWriteBehindQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskWriteBehindQueue.class);
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxPending;
+    private final long flushIntervalMs;
+
+    private final Object lock = new Object();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private Map<Long, PendingUpdate> pending = new LinkedHashMap<>();
+    private volatile Map<Long, PendingUpdate> inFlight = Collections.emptyMap();
+    private volatile Consumer<Map<Long, PendingUpdate>> writer;
+    private volatile ScheduledExecutorService scheduler;
+
+    public TaskWriteBehindQueue(@Value("${taskmanager.write-behind.enabled:false}") boolean enabled,
+                                @Value("${taskmanager.write-behind.batch-size:500}") int batchSize,
+                                @Value("${taskmanager.write-behind.max-pending:10000}") int maxPending,
+                                @Value("${taskmanager.write-behind.flush-interval-ms:200}") long flushIntervalMs) {
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxPending = Math.max(this.batchSize, maxPending);
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets what writes a drained batch; it must persist every entry or throw.
+     */
+    public void setWriter(Consumer<Map<Long, PendingUpdate>> writer) {
+        this.writer = writer;
+    }
+
+    public void enqueue(Long id, TaskStatus status, TaskPriority priority) {
+        int size;
+        synchronized (lock) {
+            pending.merge(id, new PendingUpdate(status, priority), PendingUpdate::then);
+            size = pending.size();
+        }
+        ScheduledExecutorService flusher = scheduler;
+        if (size >= maxPending || flusher == null) {
+            flush();
+        } else if (size >= batchSize) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    public boolean hasPending() {
+        synchronized (lock) {
+            return !pending.isEmpty() || !inFlight.isEmpty();
+        }
+    }
+
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Returns {@code task} as it will look once queued changes are written; a copy
+     * when anything is pending for it, so cached instances are never modified.
+     */
+    public Task applyPending(Task task) {
+        PendingUpdate update;
+        synchronized (lock) {
+            PendingUpdate writing = inFlight.get(task.getId());
+            PendingUpdate queued = pending.get(task.getId());
+            update = writing == null ? queued : queued == null ? writing : writing.then(queued);
+        }
+        if (update == null) {
+            return task;
+        }
+        Task copy = task.copy();
+        copy.setStatus(update.getStatus() != null ? update.getStatus() : task.getStatus());
+        copy.setPriority(update.getPriority() != null ? update.getPriority() : task.getPriority());
+        return copy;
+    }
+
+    /**
+     * Writes everything queued so far and returns how many tasks it touched. Waits
+     * for a flush already in progress, so changes always reach the database in order.
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            Map<Long, PendingUpdate> batch;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                inFlight = batch;
+            }
+            try {
+                Consumer<Map<Long, PendingUpdate>> target = writer;
+                if (target == null) {
+                    throw new IllegalStateException("No writer registered for write-behind updates");
+                }
+                target.accept(Collections.unmodifiableMap(batch));
+            } catch (RuntimeException e) {
+                requeue(batch);
+                throw e;
+            } finally {
+                synchronized (lock) {
+                    inFlight = Collections.emptyMap();
+                }
+            }
+            return batch.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        scheduler = executor;
+        log.info("Write-behind enabled for status/priority updates (batch {}, max {}, every {} ms)",
+                batchSize, maxPending, flushIntervalMs);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = scheduler;
+        scheduler = null;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int written = flush();
+        if (written > 0) {
+            log.info("Wrote {} queued task updates before shutdown", written);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Stops after the web server has stopped taking requests, and before the
+     * beans the writer needs are destroyed.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Write-behind flush failed; {} updates will be retried", getPendingCount(), e);
+        }
+    }
+
+    private void requeue(Map<Long, PendingUpdate> failed) {
+        synchronized (lock) {
+            Map<Long, PendingUpdate> merged = new LinkedHashMap<>(failed);
+            pending.forEach((id, newer) -> merged.merge(id, newer, PendingUpdate::then));
+            pending = merged;
+        }
+    }
+
+    public static final class PendingUpdate {
+
+        private final TaskStatus status;
+        private final TaskPriority priority;
+        private final String workspace;
+
+        PendingUpdate(TaskStatus status, TaskPriority priority) {
+            this(status, priority, WorkspaceContext.current());
+        }
+
+        private PendingUpdate(TaskStatus status, TaskPriority priority, String workspace) {
+            this.status = status;
+            this.priority = priority;
+            this.workspace = workspace;
+        }
+
+        public TaskStatus getStatus() {
+            return status;
+        }
+
+        public TaskPriority getPriority() {
+            return priority;
+        }
+
+        /** The workspace the update was queued in, which the writer must write it to. */
+        public String getWorkspace() {
+            return workspace;
+        }
+
+        PendingUpdate then(PendingUpdate later) {
+            return new PendingUpdate(later.status != null ? later.status : status,
+                    later.priority != null ? later.priority : priority, workspace);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.taskmanager.stats;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.store.TaskStore;
+import com.taskmanager.workspace.WorkspaceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-status and per-priority task counts for each workspace, seeded by one
+ * GROUP BY and kept current from {@link TaskChangedEvent}s. The default workspace
+ * is seeded at startup, any other when its counts are first read; until then its
+ * changes are skipped. Mutations share a workspace's read lock and contend only
+ * on the striped {@link LongAdder}s; a reseed takes the write lock.
+ * <p>
+ * A change is counted after it commits, so one committing while the GROUP BY
+ * runs may or may not be in its result. Each change is tracked from just before
+ * its commit until it has been counted or rolled back, and a seed is only kept
+ * as exact when no change was tracked at any point while it ran; otherwise it is
+ * repeated. A change whose previous state is unknown marks the counts stale, and
+ * the next read reseeds them.
+ */
+@Component
+public class TaskCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCounters.class);
+
+    private static final int MAX_SEED_ATTEMPTS = 5;
+
+    private final Map<String, Counts> workspaces =
+            new ConcurrentHashMap<>(Map.of(WorkspaceContext.DEFAULT, new Counts()));
+
+    @Autowired
+    private TaskStore taskStore;
+
+    /**
+     * Reseeds the current workspace's counts.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        String workspace = WorkspaceContext.current();
+        long total = workspaces.computeIfAbsent(workspace, key -> new Counts()).seed(taskStore);
+        log.info("Task counters for workspace {} seeded with {} tasks", workspace, total);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        Counts counts = workspaces.computeIfAbsent(event.getWorkspace(), key -> new Counts());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counts.apply(event);
+            return;
+        }
+        counts.committing();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counts.apply(event);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                counts.settled();
+            }
+        });
+    }
+
+    public TaskStats snapshot() {
+        // In the map before it is seeded, so changes made while seeding are seen
+        Counts counts = workspaces.computeIfAbsent(WorkspaceContext.current(), key -> new Counts());
+        if (!counts.isSeeded()) {
+            counts.seedIfStale(taskStore);
+        }
+        return counts.snapshot();
+    }
+
+    private static final class Counts {
+
+        private final Map<TaskStatus, LongAdder> byStatus = new EnumMap<>(TaskStatus.class);
+        private final Map<TaskPriority, LongAdder> byPriority = new EnumMap<>(TaskPriority.class);
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        // Written under the write lock, or flipped one way under the read lock
+        private volatile boolean seeded;
+        private volatile boolean seeding;
+        private volatile boolean changedWhileSeeding;
+
+        Counts() {
+            for (TaskStatus status : TaskStatus.values()) {
+                byStatus.put(status, new LongAdder());
+            }
+            for (TaskPriority priority : TaskPriority.values()) {
+                byPriority.put(priority, new LongAdder());
+            }
+        }
+
+        boolean isSeeded() {
+            return seeded;
+        }
+
+        synchronized void seedIfStale(TaskStore taskStore) {
+            if (!seeded) {
+                seed(taskStore);
+            }
+        }
+
+        /**
+         * Counts from a GROUP BY that ran with no change published meanwhile. If
+         * every attempt overlaps a change, the last result is kept but left stale,
+         * so the next read tries again.
+         */
+        synchronized long seed(TaskStore taskStore) {
+            for (int attempt = 1; ; attempt++) {
+                setSeeding(true);
+                List<Object[]> rows;
+                try {
+                    rows = taskStore.countByStatusAndPriority();
+                } catch (RuntimeException e) {
+                    setSeeding(false);
+                    throw e;
+                }
+                lock.writeLock().lock();
+                try {
+                    boolean settled = !changedWhileSeeding;
+                    if (settled || attempt == MAX_SEED_ATTEMPTS) {
+                        seeding = false;
+                        seeded = settled;
+                        return load(rows);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+
+        private void setSeeding(boolean value) {
+            lock.writeLock().lock();
+            try {
+                seeding = value;
+                // A change already committing may land before the GROUP BY but be counted after it
+                changedWhileSeeding = inFlight.get() > 0;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private long load(List<Object[]> rows) {
+            byStatus.values().forEach(LongAdder::reset);
+            byPriority.values().forEach(LongAdder::reset);
+            long total = 0;
+            for (Object[] row : rows) {
+                long count = ((Number) row[2]).longValue();
+                byStatus.get((TaskStatus) row[0]).add(count);
+                byPriority.get((TaskPriority) row[1]).add(count);
+                total += count;
+            }
+            return total;
+        }
+
+        void committing() {
+            lock.readLock().lock();
+            try {
+                inFlight.incrementAndGet();
+                if (seeding) {
+                    changedWhileSeeding = true;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void settled() {
+            inFlight.decrementAndGet();
+        }
+
+        void apply(TaskChangedEvent event) {
+            Task task = event.getTask();
+            boolean created = event.getType() == TaskChangedEvent.Type.CREATED;
+            lock.readLock().lock();
+            try {
+                if (seeding) {
+                    changedWhileSeeding = true;
+                    return;
+                }
+                if (!seeded) {
+                    return;
+                }
+                if (!created && (event.getPreviousStatus() == null || event.getPreviousPriority() == null)) {
+                    seeded = false;
+                    return;
+                }
+                if (!created) {
+                    byStatus.get(event.getPreviousStatus()).decrement();
+                    byPriority.get(event.getPreviousPriority()).decrement();
+                }
+                if (task != null) {
+                    byStatus.get(task.getStatus()).increment();
+                    byPriority.get(task.getPriority()).increment();
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        TaskStats snapshot() {
+            Map<TaskStatus, Long> statuses = new EnumMap<>(TaskStatus.class);
+            Map<TaskPriority, Long> priorities = new EnumMap<>(TaskPriority.class);
+            lock.readLock().lock();
+            try {
+                byStatus.forEach((status, count) -> statuses.put(status, count.sum()));
+                byPriority.forEach((priority, count) -> priorities.put(priority, count.sum()));
+            } finally {
+                lock.readLock().unlock();
+            }
+            long total = statuses.values().stream().mapToLong(Long::longValue).sum();
+            return new TaskStats(total, Collections.unmodifiableMap(statuses), Collections.unmodifiableMap(priorities));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.taskmanager.stats;
+
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+
+import java.util.Map;
+
+public class TaskStats {
+
+    private final long total;
+    private final Map<TaskStatus, Long> byStatus;
+    private final Map<TaskPriority, Long> byPriority;
+
+    public TaskStats(long total, Map<TaskStatus, Long> byStatus, Map<TaskPriority, Long> byPriority) {
+        this.total = total;
+        this.byStatus = byStatus;
+        this.byPriority = byPriority;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<TaskStatus, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public Map<TaskPriority, Long> getByPriority() {
+        return byPriority;
+    }
+
+    public long count(TaskStatus status) {
+        return byStatus.getOrDefault(status, 0L);
+    }
+
+    public long count(TaskPriority priority) {
+        return byPriority.getOrDefault(priority, 0L);
+    }
+}
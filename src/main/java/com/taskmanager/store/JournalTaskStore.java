@@ -0,0 +1,681 @@
+package com.taskmanager.store;
+
+import com.taskmanager.model.ArchivedTask;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskFilter;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskSortKey;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.model.TaskSummary;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Keeps every task in memory, indexed by id, creation time, status, priority and
+ * due date, and persists changes to a {@link TaskJournal}. Reads never touch the
+ * disk. A write is appended under the write lock but waits for its fsync outside
+ * it, so concurrent writers share fsyncs.
+ * <p>
+ * A snapshot starts a new journal generation, writes all tasks to
+ * {@code snapshot-<generation>.dat} and then drops older files. Startup loads the
+ * newest snapshot and replays the journals from its generation on; a record torn
+ * by a crash ends the replay. A write is visible to readers slightly before it is
+ * durable, but its caller only returns once it is.
+ * <p>
+ * Everything stays in memory and there is no cold tier, so the store has no
+ * archive: archiving, searching the archive and restoring throw.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.store.type", havingValue = "journal")
+public class JournalTaskStore implements TaskStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalTaskStore.class);
+
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".dat";
+    private static final int SNAPSHOT_MAGIC = 0x54534e50;
+
+    private static final Comparator<Task> NEWEST_FIRST =
+            Comparator.comparing(Task::getCreatedAt).thenComparing(Task::getId).reversed();
+    private static final Comparator<Task> BY_DUE_DATE =
+            Comparator.comparing(Task::getDueDate).thenComparing(Task::getId);
+
+    private final NavigableMap<Long, Task> byId = new TreeMap<>();
+    private final NavigableSet<Task> byCreatedAt = new TreeSet<>(NEWEST_FIRST);
+    private final Map<TaskStatus, NavigableSet<Task>> byStatus = new EnumMap<>(TaskStatus.class);
+    private final Map<TaskPriority, NavigableSet<Task>> byPriority = new EnumMap<>(TaskPriority.class);
+    private final NavigableSet<Task> byDueDate = new TreeSet<>(BY_DUE_DATE);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object snapshotLock = new Object();
+
+    private TaskJournal journal;
+    private long generation;
+    private long nextId = 1;
+
+    @Value("${taskmanager.store.journal.dir:./taskdb-journal}")
+    private String directoryName;
+
+    @Value("${taskmanager.store.journal.region-size-mb:64}")
+    private int regionSizeMb;
+
+    @Value("${taskmanager.store.journal.fsync:true}")
+    private boolean fsync;
+
+    private Path directory;
+
+    public JournalTaskStore() {
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, new TreeSet<>(NEWEST_FIRST));
+        }
+        for (TaskPriority priority : TaskPriority.values()) {
+            byPriority.put(priority, new TreeSet<>(NEWEST_FIRST));
+        }
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        directory = Path.of(directoryName);
+        Files.createDirectories(directory);
+        generation = loadNewestSnapshot();
+        int records = 0;
+        for (long journalGeneration : generations(JOURNAL_PREFIX, JOURNAL_SUFFIX)) {
+            if (journalGeneration >= generation) {
+                records += TaskJournal.replay(file(JOURNAL_PREFIX, journalGeneration, JOURNAL_SUFFIX),
+                        this::applyRecord);
+                generation = journalGeneration;
+            }
+        }
+        snapshot();
+        log.info("Journal store at {} loaded {} tasks, {} journal records replayed", directory, byId.size(), records);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        snapshot();
+        lock.writeLock().lock();
+        try {
+            journal.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${taskmanager.store.journal.snapshot-interval-ms:300000}",
+            fixedDelayString = "${taskmanager.store.journal.snapshot-interval-ms:300000}")
+    public void snapshotIfChanged() {
+        lock.readLock().lock();
+        try {
+            if (journal.size() == 0) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        snapshot();
+    }
+
+    /** Starts a new journal generation and writes every task to a snapshot of it. */
+    public void snapshot() {
+        synchronized (snapshotLock) {
+            long snapshotGeneration;
+            List<Task> tasks;
+            long snapshotNextId;
+            TaskJournal previous;
+            lock.writeLock().lock();
+            try {
+                snapshotGeneration = generation + 1;
+                previous = journal;
+                journal = TaskJournal.create(file(JOURNAL_PREFIX, snapshotGeneration, JOURNAL_SUFFIX),
+                        (long) regionSizeMb << 20, fsync);
+                generation = snapshotGeneration;
+                tasks = new ArrayList<>(byId.values());
+                snapshotNextId = nextId;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start task journal generation " + (generation + 1), e);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                if (previous != null) {
+                    previous.close();
+                }
+                writeSnapshot(snapshotGeneration, tasks, snapshotNextId);
+                deleteBefore(snapshotGeneration);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write task snapshot " + snapshotGeneration, e);
+            }
+        }
+    }
+
+    @Override
+    public Task save(Task task) {
+        return saveAll(List.of(task)).get(0);
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        List<Task> stored = new ArrayList<>(tasks.size());
+        LocalDateTime now = LocalDateTime.now();
+        TaskJournal target;
+        long position;
+        lock.writeLock().lock();
+        try {
+            for (Task task : tasks) {
+                Task copy = copyOf(task);
+                checkStorable(copy);
+                Task current = copy.getId() != null ? byId.get(copy.getId()) : null;
+                if (copy.getId() == null) {
+                    copy.setId(nextId);
+                }
+                nextId = Math.max(nextId, copy.getId() + 1);
+                copy.setVersion(current != null ? current.getVersion() + 1 : 0L);
+                if (copy.getCreatedAt() == null) {
+                    copy.setCreatedAt(now);
+                }
+                stored.add(copy);
+            }
+            target = journal;
+            position = target.append(TaskCodec.encodeRecord(stored, List.of()));
+            stored.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        target.sync(position);
+        return copies(stored);
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(byId.get(id)).map(JournalTaskStore::copyOf);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        lock.readLock().lock();
+        try {
+            return byId.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findAllById(Collection<Long> ids) {
+        lock.readLock().lock();
+        try {
+            return ids.stream().distinct().map(byId::get).filter(Objects::nonNull)
+                    .map(JournalTaskStore::copyOf).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findAllByOrderByIdAsc() {
+        return read(() -> byId.values().stream());
+    }
+
+    @Override
+    public List<Task> findAllByOrderByCreatedAtDesc() {
+        return read(byCreatedAt::stream);
+    }
+
+    @Override
+    public List<Task> findByStatusOrderByCreatedAtDesc(TaskStatus status) {
+        return read(() -> byStatus.get(status).stream());
+    }
+
+    @Override
+    public List<Task> findByPriorityOrderByCreatedAtDesc(TaskPriority priority) {
+        return read(() -> byPriority.get(priority).stream());
+    }
+
+    @Override
+    public List<Task> findOpenTasksWithDueDate() {
+        return read(() -> byDueDate.stream().filter(task -> task.getStatus() != TaskStatus.COMPLETED));
+    }
+
+    @Override
+    public List<Task> findFirstPage(int limit) {
+        return read(() -> byCreatedAt.stream().limit(limit));
+    }
+
+    @Override
+    public List<Task> findPageAfter(LocalDateTime createdAt, Long id, int limit) {
+        return read(() -> byCreatedAt.tailSet(probe(createdAt, null, id), false).stream().limit(limit));
+    }
+
+    @Override
+    public List<TaskSummary> findFirstSummaryPage(int limit) {
+        return summaries(() -> byCreatedAt.stream().limit(limit));
+    }
+
+    @Override
+    public List<TaskSummary> findSummaryPageAfter(LocalDateTime createdAt, Long id, int limit) {
+        return summaries(() -> byCreatedAt.tailSet(probe(createdAt, null, id), false).stream().limit(limit));
+    }
+
+    @Override
+    public List<TaskSummary> findSummaries(TaskFilter filter) {
+        return summaries(() -> candidates(filter).stream()
+                .filter(matching(filter))
+                .sorted(order(filter.getSort())));
+    }
+
+    @Override
+    public Stream<Task> streamAllByOrderByIdAsc() {
+        List<Task> tasks;
+        lock.readLock().lock();
+        try {
+            tasks = new ArrayList<>(byId.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return tasks.stream().map(JournalTaskStore::copyOf);
+    }
+
+    @Override
+    public List<Object[]> countByStatusAndPriority() {
+        List<Object[]> rows = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            byStatus.forEach((status, tasks) -> tasks.stream()
+                    .collect(Collectors.groupingBy(Task::getPriority, () -> new EnumMap<>(TaskPriority.class),
+                            Collectors.counting()))
+                    .forEach((priority, count) -> rows.add(new Object[]{status, priority, count})));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return rows;
+    }
+
+    @Override
+    public List<Task> updateStatusReturningPrevious(Collection<Long> ids, TaskStatus status, LocalDateTime now) {
+        return update(ids, current -> true, task -> {
+            task.setStatus(status);
+            return touch(task, now);
+        });
+    }
+
+    @Override
+    public List<Task> updatePriorityReturningPrevious(Collection<Long> ids, TaskPriority priority, LocalDateTime now) {
+        return update(ids, current -> true, task -> {
+            task.setPriority(priority);
+            return touch(task, now);
+        });
+    }
+
+    @Override
+    public List<Task> updateDetailsReturningPrevious(Long id, Task details, LocalDateTime now, Long expectedVersion) {
+        return update(List.of(id), current -> expectedVersion.equals(current.getVersion()),
+                task -> {
+                    task.setTitle(details.getTitle());
+                    task.setDescription(details.getDescription());
+                    task.setStatus(details.getStatus());
+                    task.setPriority(details.getPriority());
+                    task.setDueDate(details.getDueDate());
+                    checkStorable(task);
+                    return touch(task, now);
+                });
+    }
+
+    @Override
+    public List<Task> deleteReturningPrevious(Collection<Long> ids) {
+        List<Task> previous = new ArrayList<>();
+        TaskJournal target;
+        long position;
+        lock.writeLock().lock();
+        try {
+            for (Long id : new LinkedHashSet<>(ids)) {
+                Task current = byId.get(id);
+                if (current != null) {
+                    previous.add(current);
+                }
+            }
+            if (previous.isEmpty()) {
+                return List.of();
+            }
+            target = journal;
+            position = target.append(TaskCodec.encodeRecord(List.of(), previous.stream().map(Task::getId).toList()));
+            previous.forEach(task -> remove(task.getId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        target.sync(position);
+        return copies(previous);
+    }
+
+    @Override
+    public boolean supportsArchive() {
+        return false;
+    }
+
+    @Override
+    public List<Task> archive(Collection<TaskStatus> statuses, LocalDateTime cutoff, int limit) {
+        throw noArchive();
+    }
+
+    @Override
+    public List<ArchivedTask> searchArchived(String query, int limit) {
+        throw noArchive();
+    }
+
+    @Override
+    public Task restore(Long id, LocalDateTime now) {
+        throw noArchive();
+    }
+
+    /**
+     * Applies {@code change} to copies of the tasks that exist and pass
+     * {@code condition}, journals them as one record and swaps them in.
+     */
+    private List<Task> update(Collection<Long> ids, Predicate<Task> condition, UnaryOperator<Task> change) {
+        List<Task> previous = new ArrayList<>();
+        List<Task> updated = new ArrayList<>();
+        TaskJournal target;
+        long position;
+        lock.writeLock().lock();
+        try {
+            for (Long id : new LinkedHashSet<>(ids)) {
+                Task current = byId.get(id);
+                if (current != null && condition.test(current)) {
+                    previous.add(current);
+                    updated.add(change.apply(copyOf(current)));
+                }
+            }
+            if (updated.isEmpty()) {
+                return List.of();
+            }
+            target = journal;
+            position = target.append(TaskCodec.encodeRecord(updated, List.of()));
+            updated.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        target.sync(position);
+        return copies(previous);
+    }
+
+    private List<Task> read(Supplier<Stream<Task>> query) {
+        lock.readLock().lock();
+        try {
+            return query.get().map(JournalTaskStore::copyOf).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<TaskSummary> summaries(Supplier<Stream<Task>> query) {
+        lock.readLock().lock();
+        try {
+            return query.get().map(TaskSummary::of).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** The smallest index that covers the filter; the rest is checked per task. */
+    private Collection<Task> candidates(TaskFilter filter) {
+        Collection<Task> candidates = byCreatedAt;
+        if (filter.getStatus() != null) {
+            candidates = byStatus.get(filter.getStatus());
+        }
+        if (filter.getPriority() != null && byPriority.get(filter.getPriority()).size() < candidates.size()) {
+            candidates = byPriority.get(filter.getPriority());
+        }
+        if (candidates == byCreatedAt && (filter.getDueFrom() != null || filter.getDueBefore() != null)) {
+            if (filter.getDueFrom() == null) {
+                candidates = byDueDate.headSet(probe(null, filter.getDueBefore(), Long.MIN_VALUE), false);
+            } else if (filter.getDueBefore() == null) {
+                candidates = byDueDate.tailSet(probe(null, filter.getDueFrom(), Long.MIN_VALUE), true);
+            } else if (filter.getDueFrom().isBefore(filter.getDueBefore())) {
+                candidates = byDueDate.subSet(probe(null, filter.getDueFrom(), Long.MIN_VALUE), true,
+                        probe(null, filter.getDueBefore(), Long.MIN_VALUE), false);
+            } else {
+                candidates = List.of();
+            }
+        }
+        return candidates;
+    }
+
+    private static Predicate<Task> matching(TaskFilter filter) {
+        return task -> (filter.getStatus() == null || task.getStatus() == filter.getStatus())
+                && (filter.getPriority() == null || task.getPriority() == filter.getPriority())
+                && (filter.getDueFrom() == null
+                        || (task.getDueDate() != null && !task.getDueDate().isBefore(filter.getDueFrom())))
+                && (filter.getDueBefore() == null
+                        || (task.getDueDate() != null && task.getDueDate().isBefore(filter.getDueBefore())));
+    }
+
+    private static Comparator<Task> order(TaskSortKey sort) {
+        return switch (sort) {
+            case NEWEST -> NEWEST_FIRST;
+            case OLDEST -> NEWEST_FIRST.reversed();
+            case DUE_DATE -> Comparator.comparing(Task::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(Task::getId);
+            case TITLE -> Comparator.comparing(Task::getTitle).thenComparing(Task::getId);
+        };
+    }
+
+    private void applyRecord(byte[] record) {
+        TaskCodec.decodeRecord(record, new TaskCodec.RecordReader() {
+            @Override
+            public void put(Task task) {
+                nextId = Math.max(nextId, task.getId() + 1);
+                JournalTaskStore.this.put(task);
+            }
+
+            @Override
+            public void delete(Long id) {
+                remove(id);
+            }
+        });
+    }
+
+    /** Stored tasks are never changed in place, so the indexes' ordering stays valid. */
+    private void put(Task task) {
+        Task previous = byId.put(task.getId(), task);
+        if (previous != null) {
+            unindex(previous);
+        }
+        byCreatedAt.add(task);
+        byStatus.get(task.getStatus()).add(task);
+        byPriority.get(task.getPriority()).add(task);
+        if (task.getDueDate() != null) {
+            byDueDate.add(task);
+        }
+    }
+
+    private void remove(Long id) {
+        Task previous = byId.remove(id);
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+
+    private void unindex(Task task) {
+        byCreatedAt.remove(task);
+        byStatus.get(task.getStatus()).remove(task);
+        byPriority.get(task.getPriority()).remove(task);
+        if (task.getDueDate() != null) {
+            byDueDate.remove(task);
+        }
+    }
+
+    private long loadNewestSnapshot() {
+        List<Long> snapshots = generations(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            long snapshotGeneration = snapshots.get(i);
+            try {
+                readSnapshot(file(SNAPSHOT_PREFIX, snapshotGeneration, SNAPSHOT_SUFFIX));
+                return snapshotGeneration;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Skipping unreadable task snapshot {}: {}", snapshotGeneration, e.getMessage());
+            }
+        }
+        return 0;
+    }
+
+    private void readSnapshot(Path path) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        long snapshotNextId;
+        try (InputStream file = Files.newInputStream(path)) {
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(file), new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a task snapshot");
+            }
+            snapshotNextId = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                tasks.add(TaskCodec.readTask(in));
+            }
+            int expected = (int) checked.getChecksum().getValue();
+            if (in.readInt() != expected) {
+                throw new IOException("Checksum mismatch");
+            }
+        }
+        tasks.forEach(this::put);
+        nextId = snapshotNextId;
+    }
+
+    private void writeSnapshot(long snapshotGeneration, List<Task> tasks, long snapshotNextId) throws IOException {
+        Path target = file(SNAPSHOT_PREFIX, snapshotGeneration, SNAPSHOT_SUFFIX);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(snapshotNextId);
+            out.writeInt(tasks.size());
+            for (Task task : tasks) {
+                TaskCodec.writeTask(out, task);
+            }
+            out.writeInt((int) checked.getChecksum().getValue());
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        // Make the rename itself durable before the files it replaces go away
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            log.debug("Could not sync directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void deleteBefore(long keepGeneration) throws IOException {
+        for (long old : generations(JOURNAL_PREFIX, JOURNAL_SUFFIX)) {
+            if (old < keepGeneration) {
+                Files.deleteIfExists(file(JOURNAL_PREFIX, old, JOURNAL_SUFFIX));
+            }
+        }
+        for (long old : generations(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (old < keepGeneration) {
+                Files.deleteIfExists(file(SNAPSHOT_PREFIX, old, SNAPSHOT_SUFFIX));
+            }
+        }
+    }
+
+    private List<Long> generations(String prefix, String suffix) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+                    .map(name -> name.substring(prefix.length(), name.length() - suffix.length()))
+                    .filter(number -> !number.isEmpty() && number.chars().allMatch(Character::isDigit))
+                    .map(Long::valueOf)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list " + directory, e);
+        }
+    }
+
+    private Path file(String prefix, long fileGeneration, String suffix) {
+        return directory.resolve(prefix + fileGeneration + suffix);
+    }
+
+    private static void checkStorable(Task task) {
+        if (task.getTitle() == null || task.getStatus() == null || task.getPriority() == null) {
+            throw new DataIntegrityViolationException("Task " + task.getId() + " needs a title, status and priority");
+        }
+    }
+
+    private static Task touch(Task task, LocalDateTime now) {
+        task.setUpdatedAt(now);
+        task.setVersion(task.getVersion() + 1);
+        return task;
+    }
+
+    private static Task probe(LocalDateTime createdAt, LocalDateTime dueDate, Long id) {
+        Task probe = new Task();
+        probe.setId(id);
+        probe.setCreatedAt(createdAt);
+        probe.setDueDate(dueDate);
+        return probe;
+    }
+
+    private static List<Task> copies(List<Task> tasks) {
+        return tasks.stream().map(JournalTaskStore::copyOf).toList();
+    }
+
+    private static Task copyOf(Task task) {
+        return task.copy();
+    }
+
+    private static UnsupportedOperationException noArchive() {
+        return new UnsupportedOperationException("The journal task store has no archive");
+    }
+}
@@ -0,0 +1,235 @@
+package com.taskmanager.store;
+
+import com.taskmanager.model.ArchivedTask;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskFilter;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.model.TaskSummary;
+import com.taskmanager.repository.ArchivedTaskRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskSpecifications;
+import com.taskmanager.workspace.WorkspaceContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Tasks in the H2 {@code tasks} table through {@link TaskRepository}. Outside a
+ * transaction what the repository returns is already detached; rows returned by
+ * statements run inside the caller's transaction are detached here, since callers
+ * change them and Hibernate would otherwise write them back.
+ * Everything is scoped to {@link WorkspaceContext#current()}; saved tasks are put
+ * into it whatever workspace they name.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.store.type", havingValue = "jpa", matchIfMissing = true)
+public class JpaTaskStore implements TaskStore {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Task save(Task task) {
+        if (task.getId() != null && !existsById(task.getId())) {
+            // Saved as a new task rather than over another workspace's task with that id
+            task.setId(null);
+            task.setVersion(null);
+        }
+        task.setWorkspace(WorkspaceContext.current());
+        return taskRepository.save(task);
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        String workspace = WorkspaceContext.current();
+        tasks.forEach(task -> task.setWorkspace(workspace));
+        return transactionTemplate.execute(tx -> {
+            List<Task> saved = taskRepository.saveAll(tasks);
+            entityManager.flush();
+            entityManager.clear();
+            return saved;
+        });
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return taskRepository.findByIdAndWorkspace(id, WorkspaceContext.current());
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return taskRepository.existsByIdAndWorkspace(id, WorkspaceContext.current());
+    }
+
+    @Override
+    public List<Task> findAllById(Collection<Long> ids) {
+        return taskRepository.findAllByWorkspaceAndIdIn(WorkspaceContext.current(), ids);
+    }
+
+    @Override
+    public List<Task> findAllByOrderByIdAsc() {
+        return taskRepository.findAllByWorkspaceOrderByIdAsc(WorkspaceContext.current());
+    }
+
+    @Override
+    public List<Task> findAllByOrderByCreatedAtDesc() {
+        return taskRepository.findAllByWorkspaceOrderByCreatedAtDesc(WorkspaceContext.current());
+    }
+
+    @Override
+    public List<Task> findByStatusOrderByCreatedAtDesc(TaskStatus status) {
+        return taskRepository.findByWorkspaceAndStatusOrderByCreatedAtDesc(WorkspaceContext.current(), status);
+    }
+
+    @Override
+    public List<Task> findByPriorityOrderByCreatedAtDesc(TaskPriority priority) {
+        return taskRepository.findByWorkspaceAndPriorityOrderByCreatedAtDesc(WorkspaceContext.current(), priority);
+    }
+
+    @Override
+    public List<Task> findOpenTasksWithDueDate() {
+        return taskRepository.findOpenTasksWithDueDate(WorkspaceContext.current());
+    }
+
+    @Override
+    public List<Task> findFirstPage(int limit) {
+        return taskRepository.findFirstPage(WorkspaceContext.current(), PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<Task> findPageAfter(LocalDateTime createdAt, Long id, int limit) {
+        return taskRepository.findPageAfter(WorkspaceContext.current(), createdAt, id, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<TaskSummary> findFirstSummaryPage(int limit) {
+        return taskRepository.findFirstSummaryPage(WorkspaceContext.current(), PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<TaskSummary> findSummaryPageAfter(LocalDateTime createdAt, Long id, int limit) {
+        return taskRepository.findSummaryPageAfter(WorkspaceContext.current(), createdAt, id,
+                PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<TaskSummary> findSummaries(TaskFilter filter) {
+        return taskRepository.findSummaries(
+                TaskSpecifications.inWorkspace(WorkspaceContext.current())
+                        .and(TaskSpecifications.matching(filter))
+                        .and(TaskSpecifications.sortedBy(filter.getSort())),
+                Sort.unsorted());
+    }
+
+    @Override
+    public Stream<Task> streamAllByOrderByIdAsc() {
+        return taskRepository.streamAllByWorkspaceOrderByIdAsc(WorkspaceContext.current());
+    }
+
+    @Override
+    public List<Object[]> countByStatusAndPriority() {
+        return taskRepository.countByStatusAndPriority(WorkspaceContext.current());
+    }
+
+    @Override
+    public List<Task> updateStatusReturningPrevious(Collection<Long> ids, TaskStatus status, LocalDateTime now) {
+        return detached(taskRepository.updateStatusReturningPrevious(WorkspaceContext.current(), ids, status.name(), now));
+    }
+
+    @Override
+    public List<Task> updatePriorityReturningPrevious(Collection<Long> ids, TaskPriority priority, LocalDateTime now) {
+        return detached(taskRepository.updatePriorityReturningPrevious(WorkspaceContext.current(), ids,
+                priority.name(), now));
+    }
+
+    @Override
+    public List<Task> updateDetailsReturningPrevious(Long id, Task details, LocalDateTime now, Long expectedVersion) {
+        return detached(taskRepository.updateDetailsReturningPrevious(WorkspaceContext.current(), id,
+                details.getTitle(), details.getDescription(),
+                nameOf(details.getStatus()), nameOf(details.getPriority()),
+                details.getDueDate(), now, expectedVersion));
+    }
+
+    @Override
+    public List<Task> deleteReturningPrevious(Collection<Long> ids) {
+        return detached(taskRepository.deleteReturningPrevious(WorkspaceContext.current(), ids));
+    }
+
+    /**
+     * Picks candidates first, then deletes them with the status and age check
+     * repeated and inserts what was deleted into the archive in one transaction,
+     * so a task reopened in between stays put.
+     */
+    @Override
+    public List<Task> archive(Collection<TaskStatus> statuses, LocalDateTime cutoff, int limit) {
+        String workspace = WorkspaceContext.current();
+        List<Long> ids = taskRepository.findArchivableIds(workspace, statuses, cutoff, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<String> names = statuses.stream().map(Enum::name).toList();
+        LocalDateTime now = LocalDateTime.now();
+        return transactionTemplate.execute(tx -> {
+            List<Task> rows = taskRepository.deleteArchivableReturningPrevious(workspace, ids, names, cutoff);
+            rows.forEach(task -> entityManager.persist(ArchivedTask.of(task, now)));
+            entityManager.flush();
+            entityManager.clear();
+            return rows;
+        });
+    }
+
+    @Override
+    public List<ArchivedTask> searchArchived(String query, int limit) {
+        String workspace = WorkspaceContext.current();
+        PageRequest page = PageRequest.of(0, limit);
+        if (query == null || query.isBlank()) {
+            return archivedTaskRepository.findRecent(workspace, page);
+        }
+        return archivedTaskRepository.search(workspace, query.trim(), page);
+    }
+
+    @Override
+    public Task restore(Long id, LocalDateTime now) {
+        String workspace = WorkspaceContext.current();
+        return transactionTemplate.execute(tx -> {
+            if (archivedTaskRepository.copyToTasks(workspace, List.of(id), now) == 0) {
+                return null;
+            }
+            archivedTaskRepository.deleteByIds(workspace, List.of(id));
+            return taskRepository.findByIdAndWorkspace(id, workspace).orElse(null);
+        });
+    }
+
+    private List<Task> detached(List<Task> rows) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            rows.forEach(entityManager::detach);
+        }
+        return rows;
+    }
+
+    private static String nameOf(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+}
@@ -0,0 +1,122 @@
+package com.taskmanager.store;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+
+/**
+ * Binary form of tasks for the journal and snapshots. A journal record is one
+ * store call: the tasks it wrote and the ids it deleted, applied all or nothing.
+ */
+final class TaskCodec {
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    private TaskCodec() {
+    }
+
+    interface RecordReader {
+
+        void put(Task task);
+
+        void delete(Long id);
+    }
+
+    static byte[] encodeRecord(Collection<Task> puts, Collection<Long> deletes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + puts.size() * 256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(puts.size() + deletes.size());
+            for (Task task : puts) {
+                out.writeByte(PUT);
+                writeTask(out, task);
+            }
+            for (Long id : deletes) {
+                out.writeByte(DELETE);
+                out.writeLong(id);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static void decodeRecord(byte[] record, RecordReader reader) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            int operations = in.readInt();
+            for (int i = 0; i < operations; i++) {
+                byte type = in.readByte();
+                if (type == PUT) {
+                    reader.put(readTask(in));
+                } else if (type == DELETE) {
+                    reader.delete(in.readLong());
+                } else {
+                    throw new IllegalStateException("Unknown journal operation " + type);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void writeTask(DataOutput out, Task task) throws IOException {
+        out.writeLong(task.getId());
+        out.writeLong(task.getVersion());
+        out.writeUTF(task.getTitle());
+        writeNullableString(out, task.getDescription());
+        out.writeUTF(task.getStatus().name());
+        out.writeUTF(task.getPriority().name());
+        writeNullableTime(out, task.getCreatedAt());
+        writeNullableTime(out, task.getUpdatedAt());
+        writeNullableTime(out, task.getDueDate());
+    }
+
+    static Task readTask(DataInput in) throws IOException {
+        Task task = new Task();
+        task.setId(in.readLong());
+        task.setVersion(in.readLong());
+        task.setTitle(in.readUTF());
+        task.setDescription(readNullableString(in));
+        task.setStatus(TaskStatus.valueOf(in.readUTF()));
+        task.setPriority(TaskPriority.valueOf(in.readUTF()));
+        task.setCreatedAt(readNullableTime(in));
+        task.setUpdatedAt(readNullableTime(in));
+        task.setDueDate(readNullableTime(in));
+        return task;
+    }
+
+    private static void writeNullableString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullableTime(DataOutput out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readNullableTime(DataInput in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+}
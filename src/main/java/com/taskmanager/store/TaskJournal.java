@@ -0,0 +1,166 @@
+package com.taskmanager.store;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of records, written through a memory-mapped region that moves
+ * along the file as it fills. Each record is a length, a CRC32 and the payload, so
+ * a record torn by a crash is detected on replay and everything from it on ignored.
+ * <p>
+ * {@link #append} only copies into the mapping; {@link #sync} makes a record
+ * durable. Writers that call {@code sync} while another writer's force is running
+ * wait for it and usually find their record already covered, so concurrent
+ * writers share one fsync (group commit).
+ */
+final class TaskJournal implements Closeable {
+
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+
+    private final FileChannel channel;
+    private final long regionSize;
+    private final boolean fsync;
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private volatile MappedByteBuffer region;
+    private long regionStart;
+    private volatile long written;
+    private volatile long synced;
+    private boolean closed;
+
+    private TaskJournal(FileChannel channel, long regionSize, boolean fsync) throws IOException {
+        this.channel = channel;
+        this.regionSize = regionSize;
+        this.fsync = fsync;
+        this.region = channel.map(FileChannel.MapMode.READ_WRITE, 0, regionSize);
+    }
+
+    /** Creates a new, empty journal; an existing file is replaced. */
+    static TaskJournal create(Path path, long regionSize, boolean fsync) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new TaskJournal(channel, regionSize, fsync);
+    }
+
+    /**
+     * Hands every intact record of the journal at {@code path} to {@code reader}, in
+     * order, and returns how many there were.
+     */
+    static int replay(Path path, Consumer<byte[]> reader) throws IOException {
+        long remaining = Files.size(path);
+        int records = 0;
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            while (true) {
+                int length;
+                int checksum;
+                byte[] payload;
+                try {
+                    length = in.readInt();
+                    remaining -= HEADER_SIZE;
+                    if (length <= 0 || length > remaining) {
+                        break;
+                    }
+                    checksum = in.readInt();
+                    payload = in.readNBytes(length);
+                } catch (EOFException e) {
+                    break;
+                }
+                if (payload.length < length || checksum != checksum(payload)) {
+                    break;
+                }
+                remaining -= length;
+                reader.accept(payload);
+                records++;
+            }
+        }
+        return records;
+    }
+
+    /** Returns the position just past the record, to pass to {@link #sync}. */
+    synchronized long append(byte[] payload) {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        int size = HEADER_SIZE + payload.length;
+        if (region.remaining() < size) {
+            advance(size);
+        }
+        region.putInt(payload.length);
+        region.putInt(checksum(payload));
+        region.put(payload);
+        written = regionStart + region.position();
+        return written;
+    }
+
+    void sync(long position) {
+        if (!fsync || synced >= position) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (synced >= position) {
+                return;
+            }
+            // Everything up to written is in a region forced here or on the way here
+            long target = written;
+            region.force();
+            synced = target;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    long size() {
+        return written;
+    }
+
+    /** Forces what was appended; later {@link #sync} calls return at once. */
+    @Override
+    public void close() throws IOException {
+        syncLock.lock();
+        try {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                region.force();
+                synced = written;
+                channel.close();
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /** Maps the next region at the end of the last record, forcing the current one first. */
+    private void advance(int needed) {
+        try {
+            region.force();
+            regionStart = written;
+            region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, Math.max(regionSize, needed));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not extend the task journal", e);
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,95 @@
+package com.taskmanager.store;
+
+import com.taskmanager.model.ArchivedTask;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskFilter;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.model.TaskSummary;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Where tasks live. {@code taskmanager.store.type} picks the implementation: {@code jpa}
+ * (the default, tables in H2) or {@code journal} (in memory, persisted to an
+ * append-only journal).
+ * <p>
+ * Every method is atomic on its own. Tasks handed out are copies the caller may
+ * change; mutations return the affected tasks as they were before the change.
+ */
+public interface TaskStore {
+
+    Task save(Task task);
+
+    List<Task> saveAll(List<Task> tasks);
+
+    Optional<Task> findById(Long id);
+
+    boolean existsById(Long id);
+
+    List<Task> findAllById(Collection<Long> ids);
+
+    List<Task> findAllByOrderByIdAsc();
+
+    List<Task> findAllByOrderByCreatedAtDesc();
+
+    List<Task> findByStatusOrderByCreatedAtDesc(TaskStatus status);
+
+    List<Task> findByPriorityOrderByCreatedAtDesc(TaskPriority priority);
+
+    List<Task> findOpenTasksWithDueDate();
+
+    /** Keyset pages, newest first; see {@link com.taskmanager.model.TaskCursor}. */
+    List<Task> findFirstPage(int limit);
+
+    List<Task> findPageAfter(LocalDateTime createdAt, Long id, int limit);
+
+    List<TaskSummary> findFirstSummaryPage(int limit);
+
+    List<TaskSummary> findSummaryPageAfter(LocalDateTime createdAt, Long id, int limit);
+
+    List<TaskSummary> findSummaries(TaskFilter filter);
+
+    /** Must be closed; the JPA store holds a cursor open. */
+    Stream<Task> streamAllByOrderByIdAsc();
+
+    /** Rows of status, priority and count. */
+    List<Object[]> countByStatusAndPriority();
+
+    List<Task> updateStatusReturningPrevious(Collection<Long> ids, TaskStatus status, LocalDateTime now);
+
+    List<Task> updatePriorityReturningPrevious(Collection<Long> ids, TaskPriority priority, LocalDateTime now);
+
+    /**
+     * Replaces the editable fields of one task if it is at {@code expectedVersion}.
+     * Empty when nothing was updated.
+     */
+    List<Task> updateDetailsReturningPrevious(Long id, Task details, LocalDateTime now, Long expectedVersion);
+
+    List<Task> deleteReturningPrevious(Collection<Long> ids);
+
+    /**
+     * Whether the store has an archive. Without one, {@link #archive},
+     * {@link #searchArchived} and {@link #restore} throw
+     * {@link UnsupportedOperationException}.
+     */
+    default boolean supportsArchive() {
+        return true;
+    }
+
+    /**
+     * Moves up to {@code limit} tasks in one of {@code statuses} unchanged since
+     * {@code cutoff} out of the live set.
+     */
+    List<Task> archive(Collection<TaskStatus> statuses, LocalDateTime cutoff, int limit);
+
+    /** Most recently archived first; a blank query lists them all. */
+    List<ArchivedTask> searchArchived(String query, int limit);
+
+    /** Returns the restored task, or {@code null} when no archived task has that id. */
+    Task restore(Long id, LocalDateTime now);
+}
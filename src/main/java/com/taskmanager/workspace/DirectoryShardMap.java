@@ -0,0 +1,145 @@
+package com.taskmanager.workspace;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the workspace-to-shard assignments in a {@code workspaces} table on the
+ * first shard, which every instance shares. A new workspace goes to the shard
+ * with the fewest workspaces; {@link WorkspaceContext#DEFAULT} always lives on the
+ * first shard, where tasks from before workspaces are.
+ * <p>
+ * Lookups are cached for {@code cacheMs}, so a change made by another instance,
+ * such as a move starting, is seen within that time.
+ */
+public class DirectoryShardMap implements ShardMap {
+
+    private static final Logger log = LoggerFactory.getLogger(DirectoryShardMap.class);
+
+    static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS workspaces (name VARCHAR("
+            + WorkspaceContext.MAX_NAME_LENGTH + ") PRIMARY KEY, shard VARCHAR(40) NOT NULL, "
+            + "moving BOOLEAN DEFAULT FALSE NOT NULL, created_at TIMESTAMP NOT NULL)";
+
+    private final JdbcTemplate catalog;
+    private final List<String> shards;
+    private final long cacheMs;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public DirectoryShardMap(DataSource catalog, List<String> shards, long cacheMs) {
+        this.catalog = new JdbcTemplate(catalog);
+        this.shards = List.copyOf(shards);
+        this.cacheMs = cacheMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        catalog.execute(CREATE_TABLE);
+        shardFor(WorkspaceContext.DEFAULT);
+    }
+
+    @Override
+    public List<String> getShards() {
+        return shards;
+    }
+
+    @Override
+    public String shardFor(String workspace) {
+        Entry entry = cached(workspace);
+        if (entry == null) {
+            entry = place(workspace);
+        }
+        if (!shards.contains(entry.shard())) {
+            throw new IllegalStateException("Workspace " + workspace + " is on shard " + entry.shard()
+                    + ", which is not configured");
+        }
+        return entry.shard();
+    }
+
+    @Override
+    public List<String> getWorkspaces() {
+        return catalog.queryForList("SELECT name FROM workspaces ORDER BY name", String.class);
+    }
+
+    @Override
+    public boolean isMoving(String workspace) {
+        Entry entry = cached(workspace);
+        return entry != null && entry.moving();
+    }
+
+    @Override
+    public void setMoving(String workspace, boolean moving) {
+        if (catalog.update("UPDATE workspaces SET moving = ? WHERE name = ?", moving, workspace) == 0) {
+            throw new IllegalArgumentException("Unknown workspace: " + workspace);
+        }
+        entries.remove(workspace);
+    }
+
+    @Override
+    public void assign(String workspace, String shard) {
+        if (!shards.contains(shard)) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        if (catalog.update("UPDATE workspaces SET shard = ?, moving = FALSE WHERE name = ?", shard, workspace) == 0) {
+            throw new IllegalArgumentException("Unknown workspace: " + workspace);
+        }
+        entries.remove(workspace);
+    }
+
+    private Entry cached(String workspace) {
+        Entry entry = entries.get(workspace);
+        if (entry != null && System.currentTimeMillis() - entry.loadedAt() < cacheMs) {
+            return entry;
+        }
+        entry = load(workspace);
+        if (entry == null) {
+            entries.remove(workspace);
+        } else {
+            entries.put(workspace, entry);
+        }
+        return entry;
+    }
+
+    private Entry load(String workspace) {
+        List<Entry> found = catalog.query("SELECT shard, moving FROM workspaces WHERE name = ?",
+                (row, n) -> new Entry(row.getString(1), row.getBoolean(2), System.currentTimeMillis()), workspace);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    private Entry place(String workspace) {
+        String shard = WorkspaceContext.DEFAULT.equals(workspace) ? shards.get(0) : leastUsedShard();
+        try {
+            catalog.update("INSERT INTO workspaces (name, shard, moving, created_at) VALUES (?, ?, FALSE, ?)",
+                    workspace, shard, Timestamp.valueOf(LocalDateTime.now()));
+            log.info("Placed workspace {} on {}", workspace, shard);
+        } catch (DuplicateKeyException e) {
+            // Another request or instance placed it first; use its choice
+        }
+        Entry entry = load(workspace);
+        entries.put(workspace, entry);
+        return entry;
+    }
+
+    private String leastUsedShard() {
+        Map<String, Long> counts = new HashMap<>();
+        catalog.query("SELECT shard, COUNT(*) FROM workspaces GROUP BY shard",
+                row -> { counts.put(row.getString(1), row.getLong(2)); });
+        return shards.stream()
+                .min(Comparator.comparingLong(shard -> counts.getOrDefault(shard, 0L)))
+                .orElseThrow();
+    }
+
+    private record Entry(String shard, boolean moving, long loadedAt) {
+    }
+}
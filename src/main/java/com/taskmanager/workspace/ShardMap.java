@@ -0,0 +1,28 @@
+package com.taskmanager.workspace;
+
+import java.util.List;
+
+/**
+ * Decides which shard database holds a workspace's tasks. A workspace lives on
+ * exactly one shard; {@link WorkspaceMigrator} is the only thing that moves it.
+ * Define a bean of this type to replace the default {@link DirectoryShardMap}.
+ */
+public interface ShardMap {
+
+    /** Shard names, in the order of {@code taskmanager.workspaces.shard-urls}. */
+    List<String> getShards();
+
+    /** The shard holding {@code workspace}, placing a workspace seen for the first time. */
+    String shardFor(String workspace);
+
+    /** Every workspace placed so far. */
+    List<String> getWorkspaces();
+
+    /** {@code true} while the workspace is being copied to another shard and must not be used. */
+    boolean isMoving(String workspace);
+
+    void setMoving(String workspace, boolean moving);
+
+    /** Points the workspace at {@code shard} and ends its move. */
+    void assign(String workspace, String shard);
+}
@@ -0,0 +1,55 @@
+package com.taskmanager.workspace;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Hands out connections to the shard that holds the current thread's workspace.
+ * Like the replica routing, the shard is chosen when the connection is requested,
+ * so this sits behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} and a
+ * transaction stays on the shard of the workspace it started in.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final Map<String, DataSource> shards;
+    private final Supplier<ShardMap> shardMap;
+
+    public ShardRoutingDataSource(Map<String, DataSource> shards, Supplier<ShardMap> shardMap) {
+        this.shards = new LinkedHashMap<>(shards);
+        this.shardMap = shardMap;
+        setTargetDataSources(new LinkedHashMap<>(shards));
+        setLenientFallback(false);
+    }
+
+    public List<String> getShardNames() {
+        return List.copyOf(shards.keySet());
+    }
+
+    public DataSource getShard(String name) {
+        DataSource shard = shards.get(name);
+        if (shard == null) {
+            throw new IllegalArgumentException("Unknown shard: " + name);
+        }
+        return shard;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return shardMap.get().shardFor(WorkspaceContext.current());
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource shard : shards.values()) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.taskmanager.workspace;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Workspaces partition tasks by a {@code workspace} column. They are off unless
+ * {@code taskmanager.workspaces.enabled} is set, in which case every request runs
+ * in the workspace named by its {@value WorkspaceFilter#HEADER} header. Only the
+ * JPA task store knows about workspaces.
+ */
+@Configuration
+public class WorkspaceConfig {
+
+    public WorkspaceConfig(@Value("${taskmanager.workspaces.enabled:false}") boolean enabled,
+                           @Value("${taskmanager.workspaces.shard-urls:}") String shardUrls,
+                           @Value("${taskmanager.store.type:jpa}") String storeType) {
+        if (enabled && !"jpa".equals(storeType)) {
+            throw new IllegalStateException("taskmanager.workspaces.enabled requires taskmanager.store.type=jpa");
+        }
+        if (!enabled && !shardUrls.isBlank()) {
+            throw new IllegalStateException("taskmanager.workspaces.shard-urls requires taskmanager.workspaces.enabled");
+        }
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ShardMap shardMap(ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource,
+                             DataSource dataSource,
+                             @Value("${taskmanager.workspaces.directory-cache-ms:5000}") long cacheMs) {
+        ShardRoutingDataSource shards = shardRoutingDataSource.getIfAvailable();
+        if (shards == null) {
+            return new DirectoryShardMap(dataSource, List.of(WorkspaceShardingConfig.shardName(0)), cacheMs);
+        }
+        List<String> names = shards.getShardNames();
+        return new DirectoryShardMap(shards.getShard(names.get(0)), names, cacheMs);
+    }
+
+    @Bean
+    public FilterRegistrationBean<WorkspaceFilter> workspaceFilter(
+            ShardMap shardMap,
+            @Value("${taskmanager.workspaces.enabled:false}") boolean enabled) {
+        FilterRegistrationBean<WorkspaceFilter> registration =
+                new FilterRegistrationBean<>(new WorkspaceFilter(shardMap, enabled));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,74 @@
+package com.taskmanager.workspace;
+
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * The workspace the current thread works in. Requests get theirs from
+ * {@link WorkspaceFilter}; everything else runs in {@link #DEFAULT} unless it
+ * enters a workspace explicitly. Work handed to another thread does not carry
+ * the workspace along, so whoever hands it over has to.
+ */
+public final class WorkspaceContext {
+
+    public static final String DEFAULT = "default";
+    public static final int MAX_NAME_LENGTH = 40;
+
+    private static final Pattern VALID_NAME = Pattern.compile("[a-z0-9][a-z0-9_-]{0," + (MAX_NAME_LENGTH - 1) + "}");
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private WorkspaceContext() {
+    }
+
+    public static String current() {
+        String workspace = CURRENT.get();
+        return workspace != null ? workspace : DEFAULT;
+    }
+
+    public static boolean isValidName(String name) {
+        return name != null && VALID_NAME.matcher(name).matches();
+    }
+
+    /**
+     * Switches the current thread to {@code workspace} until the returned scope is
+     * closed, which restores whatever was current before.
+     */
+    public static Scope enter(String workspace) {
+        if (!isValidName(workspace)) {
+            throw new IllegalArgumentException("Invalid workspace name: " + workspace);
+        }
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(workspace);
+        return scope;
+    }
+
+    public static void run(String workspace, Runnable action) {
+        try (Scope scope = enter(workspace)) {
+            action.run();
+        }
+    }
+
+    public static <T> T call(String workspace, Supplier<T> action) {
+        try (Scope scope = enter(workspace)) {
+            return action.get();
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final String previous;
+
+        private Scope(String previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
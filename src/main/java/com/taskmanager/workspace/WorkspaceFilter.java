@@ -0,0 +1,57 @@
+package com.taskmanager.workspace;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Runs each request in the workspace named by its {@value #HEADER} header, or in
+ * {@link WorkspaceContext#DEFAULT} without one. Rejects invalid names, any other
+ * workspace while workspaces are disabled, and workspaces that are being moved.
+ */
+public class WorkspaceFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Workspace";
+
+    private final ShardMap shardMap;
+    private final boolean enabled;
+
+    public WorkspaceFilter(ShardMap shardMap, boolean enabled) {
+        this.shardMap = shardMap;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String requested = request.getHeader(HEADER);
+        String workspace = requested == null || requested.isBlank() ? WorkspaceContext.DEFAULT : requested.trim();
+        if (!WorkspaceContext.isValidName(workspace)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid workspace name");
+            return;
+        }
+        if (!enabled) {
+            if (WorkspaceContext.DEFAULT.equals(workspace)) {
+                chain.doFilter(request, response);
+            } else {
+                response.sendError(HttpStatus.BAD_REQUEST.value(), "Workspaces are not enabled");
+            }
+            return;
+        }
+        // Places a workspace seen for the first time
+        shardMap.shardFor(workspace);
+        if (shardMap.isMoving(workspace)) {
+            response.setHeader("Retry-After", "30");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Workspace is being moved");
+            return;
+        }
+        try (WorkspaceContext.Scope scope = WorkspaceContext.enter(workspace)) {
+            chain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.taskmanager.workspace;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves workspaces between shards, then exits with status 0 on success or 1 on
+ * failure. Started with
+ * {@code --taskmanager.workspaces.migrate=<workspace> --taskmanager.workspaces.migrate-to=<shard>}
+ * it moves one workspace; with {@code --taskmanager.workspaces.rebalance=true} it
+ * evens out the shards by task count, making at most
+ * {@code taskmanager.workspaces.rebalance-max-moves} moves.
+ */
+@Component
+@ConditionalOnExpression("'${taskmanager.workspaces.migrate:}' != '' or '${taskmanager.workspaces.rebalance:false}' == 'true'")
+public class WorkspaceMigrationRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkspaceMigrationRunner.class);
+
+    @Autowired
+    private ObjectProvider<WorkspaceMigrator> workspaceMigrator;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Value("${taskmanager.workspaces.migrate:}")
+    private String workspace;
+
+    @Value("${taskmanager.workspaces.migrate-to:}")
+    private String target;
+
+    @Value("${taskmanager.workspaces.rebalance-max-moves:10}")
+    private int maxMoves;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            WorkspaceMigrator migrator = workspaceMigrator.getIfAvailable();
+            if (migrator == null) {
+                throw new IllegalStateException("Moving workspaces needs taskmanager.workspaces.shard-urls");
+            }
+            if (workspace.isEmpty()) {
+                Map<String, String> moves = migrator.rebalance(maxMoves);
+                log.info(moves.isEmpty() ? "Shards are balanced, nothing moved" : "Rebalanced shards: {}", moves);
+            } else if (target.isEmpty()) {
+                throw new IllegalArgumentException("--taskmanager.workspaces.migrate needs --taskmanager.workspaces.migrate-to");
+            } else {
+                migrator.migrate(workspace, target);
+            }
+        } catch (RuntimeException e) {
+            log.error("Workspace migration failed: {}", e.getMessage(), e);
+            exitCode = 1;
+        }
+        int status = exitCode;
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+}
@@ -0,0 +1,191 @@
+package com.taskmanager.workspace;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves workspaces between shards. A move marks the workspace as moving, which
+ * makes every instance turn its requests away once their directory cache expires,
+ * copies its tasks and archived tasks to the target shard, points the directory at
+ * the target and then deletes the source rows. Task ids survive the move.
+ * <p>
+ * The change log is not copied: the target's sequence is moved past the source's,
+ * so a client positioned on the old shard gets a snapshot and continues from there.
+ * If anything fails before the directory is updated the copies are removed and the
+ * workspace stays where it was.
+ */
+public class WorkspaceMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkspaceMigrator.class);
+
+    static final String TASK_COLUMNS =
+            "id, workspace, title, description, status, priority, created_at, updated_at, due_date, version";
+    static final String ARCHIVED_TASK_COLUMNS = TASK_COLUMNS + ", archived_at";
+
+    private final ShardMap shardMap;
+    private final ShardRoutingDataSource shards;
+    private final long directoryCacheMs;
+    private final int batchSize;
+
+    public WorkspaceMigrator(ShardMap shardMap, ShardRoutingDataSource shards, long directoryCacheMs, int batchSize) {
+        this.shardMap = shardMap;
+        this.shards = shards;
+        this.directoryCacheMs = directoryCacheMs;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Moves {@code workspace} to {@code target}. Returns the number of tasks and
+     * archived tasks moved, 0 when it is already there.
+     */
+    public int migrate(String workspace, String target) {
+        JdbcTemplate to = new JdbcTemplate(shards.getShard(target));
+        String source = shardMap.shardFor(workspace);
+        if (source.equals(target)) {
+            log.info("Workspace {} is already on {}", workspace, target);
+            return 0;
+        }
+        JdbcTemplate from = new JdbcTemplate(shards.getShard(source));
+
+        long started = System.currentTimeMillis();
+        shardMap.setMoving(workspace, true);
+        boolean assigned = false;
+        try {
+            awaitDirectoryCaches();
+            // Rows left on the target by an earlier attempt that failed
+            deleteWorkspace(to, workspace);
+            int moved = copy(from, to, "tasks", TASK_COLUMNS, workspace)
+                    + copy(from, to, "archived_tasks", ARCHIVED_TASK_COLUMNS, workspace);
+            moveChangeLogPast(from, to);
+            shardMap.assign(workspace, target);
+            assigned = true;
+            deleteWorkspace(from, workspace);
+            log.info("Moved workspace {} from {} to {}: {} rows in {} ms", workspace, source, target, moved,
+                    System.currentTimeMillis() - started);
+            return moved;
+        } finally {
+            if (!assigned) {
+                try {
+                    deleteWorkspace(to, workspace);
+                } finally {
+                    shardMap.setMoving(workspace, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves workspaces from the shard with the most tasks to the one with the
+     * fewest for as long as a move narrows the gap between them, at most
+     * {@code maxMoves} times. Returns the moves made as workspace to target shard.
+     */
+    public Map<String, String> rebalance(int maxMoves) {
+        Map<String, String> moves = new LinkedHashMap<>();
+        Map<String, Long> sizes = new HashMap<>();
+        Map<String, String> placement = new HashMap<>();
+        for (String workspace : shardMap.getWorkspaces()) {
+            String shard = shardMap.shardFor(workspace);
+            placement.put(workspace, shard);
+            sizes.put(workspace, countTasks(shard, workspace));
+        }
+
+        while (moves.size() < maxMoves) {
+            Map<String, Long> load = new LinkedHashMap<>();
+            shardMap.getShards().forEach(shard -> load.put(shard, 0L));
+            placement.forEach((workspace, shard) -> load.merge(shard, sizes.get(workspace), Long::sum));
+            String fullest = Collections.max(load.entrySet(), Map.Entry.comparingByValue()).getKey();
+            String emptiest = Collections.min(load.entrySet(), Map.Entry.comparingByValue()).getKey();
+            long gap = load.get(fullest) - load.get(emptiest);
+
+            List<String> candidates = new ArrayList<>();
+            placement.forEach((workspace, shard) -> {
+                long size = sizes.get(workspace);
+                if (shard.equals(fullest) && size > 0 && size < gap) {
+                    candidates.add(workspace);
+                }
+            });
+            if (candidates.isEmpty()) {
+                break;
+            }
+            // The workspace that leaves the two shards closest to even
+            String workspace = Collections.min(candidates,
+                    (a, b) -> Long.compare(Math.abs(gap - 2 * sizes.get(a)), Math.abs(gap - 2 * sizes.get(b))));
+            migrate(workspace, emptiest);
+            placement.put(workspace, emptiest);
+            moves.put(workspace, emptiest);
+        }
+        return moves;
+    }
+
+    private long countTasks(String shard, String workspace) {
+        Long count = new JdbcTemplate(shards.getShard(shard))
+                .queryForObject("SELECT COUNT(*) FROM tasks WHERE workspace = ?", Long.class, workspace);
+        return count == null ? 0 : count;
+    }
+
+    /** Gives every instance time to see the move and stop serving the workspace. */
+    private void awaitDirectoryCaches() {
+        try {
+            Thread.sleep(directoryCacheMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the move to be seen", e);
+        }
+    }
+
+    private int copy(JdbcTemplate from, JdbcTemplate to, String table, String columns, String workspace) {
+        int columnCount = columns.split(",").length;
+        String select = "SELECT " + columns + " FROM " + table + " WHERE workspace = ? AND id > ? ORDER BY id LIMIT ?";
+        String insert = "INSERT INTO " + table + " (" + columns + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columnCount, "?")) + ")";
+        int copied = 0;
+        long after = Long.MIN_VALUE;
+        while (true) {
+            List<Object[]> rows = from.query(select, (row, n) -> {
+                Object[] values = new Object[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    values[i] = row.getObject(i + 1);
+                }
+                return values;
+            }, workspace, after, batchSize);
+            if (rows.isEmpty()) {
+                return copied;
+            }
+            to.batchUpdate(insert, rows);
+            copied += rows.size();
+            after = ((Number) rows.get(rows.size() - 1)[0]).longValue();
+        }
+    }
+
+    /**
+     * Restarts the target's change log sequence past every position the source
+     * has handed out, so no client can mistake the target's entries for ones it
+     * has already seen.
+     */
+    private void moveChangeLogPast(JdbcTemplate from, JdbcTemplate to) {
+        long sourceNext = nextChangeSeq(from);
+        if (sourceNext > nextChangeSeq(to)) {
+            to.execute("ALTER SEQUENCE task_change_seq RESTART WITH " + sourceNext);
+        }
+    }
+
+    private static long nextChangeSeq(JdbcTemplate shard) {
+        Long next = shard.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES "
+                + "WHERE SEQUENCE_NAME = 'TASK_CHANGE_SEQ'", Long.class);
+        return next == null ? 1 : next;
+    }
+
+    private static void deleteWorkspace(JdbcTemplate shard, String workspace) {
+        shard.update("DELETE FROM tasks WHERE workspace = ?", workspace);
+        shard.update("DELETE FROM archived_tasks WHERE workspace = ?", workspace);
+        shard.update("DELETE FROM task_changes WHERE workspace = ?", workspace);
+    }
+}
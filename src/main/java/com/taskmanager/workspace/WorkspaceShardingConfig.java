@@ -0,0 +1,124 @@
+package com.taskmanager.workspace;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.repository.TaskIdSequenceAligner;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spreads workspaces over the databases in {@code taskmanager.workspaces.shard-urls}
+ * in addition to {@code spring.datasource.url}, which is the first shard and holds
+ * the workspace directory. Shards are named {@code shard-0}, {@code shard-1}, ... in
+ * that order, so new URLs may only be appended.
+ * <p>
+ * Hibernate only manages the schema of the first shard; the others are brought up
+ * to the same schema here, before anything can write to them. Each shard issues
+ * task ids from its own range so ids stay unique when a workspace moves.
+ */
+@Configuration
+@ConditionalOnExpression("'${taskmanager.workspaces.shard-urls:}' != ''")
+public class WorkspaceShardingConfig {
+
+    public WorkspaceShardingConfig(@Value("${taskmanager.datasource.replicas.enabled:false}") boolean replicasEnabled) {
+        if (replicasEnabled) {
+            throw new IllegalStateException(
+                    "taskmanager.workspaces.shard-urls cannot be combined with taskmanager.datasource.replicas.enabled");
+        }
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource catalogDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(shardName(0));
+        return dataSource;
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(
+            HikariDataSource catalogDataSource,
+            DataSourceProperties properties,
+            ObjectProvider<ShardMap> shardMap,
+            @Value("${taskmanager.workspaces.shard-urls}") List<String> urls,
+            @Value("${taskmanager.workspaces.shard-pool-size:10}") int poolSize,
+            @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        List<String> shardUrls = urls.stream().map(String::trim).filter(url -> !url.isEmpty()).toList();
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        shards.put(catalogDataSource.getPoolName(), catalogDataSource);
+        for (int i = 0; i < shardUrls.size(); i++) {
+            HikariDataSource shard = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(shardUrls.get(i))
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .build();
+            shard.setPoolName(shardName(i + 1));
+            shard.setMaximumPoolSize(poolSize);
+            updateSchema(shard, ddlAuto);
+            TaskIdSequenceAligner.align(new JdbcTemplate(shard), (i + 1) * TaskIdSequenceAligner.SHARD_ID_RANGE);
+            shards.put(shard.getPoolName(), shard);
+        }
+        return new ShardRoutingDataSource(shards, shardMap::getObject);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public WorkspaceMigrator workspaceMigrator(ShardMap shardMap,
+                                               ShardRoutingDataSource shardRoutingDataSource,
+                                               @Value("${taskmanager.workspaces.directory-cache-ms:5000}") long cacheMs,
+                                               @Value("${taskmanager.workspaces.migration-batch-size:1000}") int batchSize) {
+        return new WorkspaceMigrator(shardMap, shardRoutingDataSource, cacheMs, batchSize);
+    }
+
+    static String shardName(int index) {
+        return "shard-" + index;
+    }
+
+    /**
+     * Runs Hibernate's schema tool against one shard with the naming strategies Boot
+     * configures for the application's own entity manager, so every shard ends up
+     * with the same tables, columns and indexes. Never drops anything.
+     */
+    private static void updateSchema(DataSource shard, String ddlAuto) {
+        if ("none".equals(ddlAuto)) {
+            return;
+        }
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(shard);
+        factory.setPackagesToScan(Task.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setPersistenceUnitName("shard-schema");
+        factory.setJpaPropertyMap(Map.of(
+                AvailableSettings.HBM2DDL_AUTO, "validate".equals(ddlAuto) ? "validate" : "update",
+                AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                AvailableSettings.IMPLICIT_NAMING_STRATEGY, SpringImplicitNamingStrategy.class.getName()));
+        factory.afterPropertiesSet();
+        factory.destroy();
+    }
+}
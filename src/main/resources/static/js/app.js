@@ -57,6 +57,39 @@ document.addEventListener('DOMContentLoaded', function() {
         });
     });
     
+    // Edit modals: task lists only carry a description preview, so load the task on every open.
+    // The form is refilled from the response, version included, so a save never sends fields or
+    // a version older than what was just read. Saving stays disabled until the task arrives.
+    document.addEventListener('show.bs.modal', function(e) {
+        const modal = e.target;
+        const description = modal.querySelector('.task-full-description');
+        if (!description) {
+            return;
+        }
+        const form = description.form;
+        const submit = form.querySelector('button[type="submit"]');
+        submit.disabled = true;
+        fetch('/api/tasks/' + modal.dataset.taskId)
+            .then(response => {
+                if (!response.ok) {
+                    throw new Error(response.statusText);
+                }
+                return response.json();
+            })
+            .then(task => {
+                form.elements.version.value = task.version;
+                form.elements.title.value = task.title;
+                form.elements.status.value = task.status;
+                form.elements.priority.value = task.priority;
+                form.elements.dueDate.value = task.dueDate ? task.dueDate.substring(0, 16) : '';
+                description.value = task.description || '';
+                description.placeholder = '';
+                description.disabled = false;
+                submit.disabled = false;
+            })
+            .catch(() => showToast('Could not load the task', 'error'));
+    });
+    
     // Auto-focus on title input when modal opens
     const editModals = document.querySelectorAll('.modal');
     editModals.forEach(modal => {
@@ -91,26 +124,233 @@ document.addEventListener('DOMContentLoaded', function() {
         }
     });
     
-    // Search functionality (if needed in future)
+    // Server-side search
     const searchInput = document.querySelector('#search');
-    if (searchInput) {
+    const searchResults = document.querySelector('#search-results');
+    if (searchInput && searchResults) {
+        let searchTimer = null;
+        let searchController = null;
+        
+        const hideResults = () => {
+            searchResults.classList.add('d-none');
+            searchResults.innerHTML = '';
+        };
+        
+        const renderResults = (tasks) => {
+            searchResults.innerHTML = '';
+            if (tasks.length === 0) {
+                const empty = document.createElement('div');
+                empty.className = 'list-group-item text-muted small';
+                empty.textContent = 'No matching tasks';
+                searchResults.appendChild(empty);
+            }
+            tasks.forEach(task => {
+                const item = document.createElement('button');
+                item.type = 'button';
+                item.className = 'list-group-item list-group-item-action d-flex justify-content-between align-items-center';
+                
+                const title = document.createElement('span');
+                title.textContent = task.title;
+                const status = document.createElement('span');
+                status.className = 'badge bg-secondary';
+                status.textContent = task.status;
+                item.append(title, status);
+                
+                item.addEventListener('click', () => {
+                    const modal = document.getElementById('editModal' + task.id);
+                    if (modal) {
+                        bootstrap.Modal.getOrCreateInstance(modal).show();
+                    }
+                    hideResults();
+                });
+                searchResults.appendChild(item);
+            });
+            searchResults.classList.remove('d-none');
+        };
+        
         searchInput.addEventListener('input', function() {
-            const searchTerm = this.value.toLowerCase();
-            const taskItems = document.querySelectorAll('.task-item');
+            const searchTerm = this.value.trim();
+            clearTimeout(searchTimer);
+            if (searchTerm === '') {
+                hideResults();
+                return;
+            }
             
-            taskItems.forEach(item => {
-                const title = item.querySelector('h6').textContent.toLowerCase();
-                const description = item.querySelector('p').textContent.toLowerCase();
-                
-                if (title.includes(searchTerm) || description.includes(searchTerm)) {
-                    item.style.display = 'block';
-                } else {
-                    item.style.display = 'none';
+            searchTimer = setTimeout(() => {
+                if (searchController) {
+                    searchController.abort();
                 }
-            });
+                searchController = new AbortController();
+                fetch('/api/tasks/search?q=' + encodeURIComponent(searchTerm), { signal: searchController.signal })
+                    .then(response => response.json())
+                    .then(renderResults)
+                    .catch(error => {
+                        if (error.name !== 'AbortError') {
+                            showToast('Search failed', 'error');
+                        }
+                    });
+            }, 200);
+        });
+        
+        searchInput.addEventListener('keydown', function(e) {
+            if (e.key === 'Escape') {
+                this.value = '';
+                hideResults();
+            }
+        });
+    }
+    
+    // Live updates: apply task deltas pushed by the server instead of reloading the page
+    const taskList = document.querySelector('#task-list');
+    if (taskList && window.EventSource) {
+        const statusBadges = { COMPLETED: 'bg-success', IN_PROGRESS: 'bg-warning', CANCELLED: 'bg-secondary' };
+        const priorityBadges = { URGENT: 'bg-danger', HIGH: 'bg-warning', MEDIUM: 'bg-primary' };
+        
+        const findItem = (id) => taskList.querySelector('.task-item[data-task-id="' + id + '"]');
+        
+        const setBadge = (badge, kind, value, label, classes, fallback) => {
+            if (!badge || !value) {
+                return;
+            }
+            badge.className = 'badge task-' + kind + ' ' + (classes[value] || fallback);
+            badge.textContent = label;
+        };
+        
+        const applyTask = (item, task) => {
+            item.querySelector('.task-title').textContent = task.title;
+            const description = task.description || '';
+            item.querySelector('.task-description').textContent =
+                description.length > 200 ? description.slice(0, 200) + '…' : description;
+            setBadge(item.querySelector('.task-status'), 'status', task.status, task.statusLabel, statusBadges, 'bg-info');
+            setBadge(item.querySelector('.task-priority'), 'priority', task.priority, task.priorityLabel, priorityBadges, 'bg-secondary');
+            item.setAttribute('data-status', task.status);
+            item.setAttribute('data-priority', task.priority);
+        };
+        
+        const createItem = (task) => {
+            const item = document.createElement('div');
+            item.id = 'task-' + task.id;
+            item.className = 'task-item mb-3 p-3 border rounded';
+            item.setAttribute('data-task-id', task.id);
+            item.innerHTML = `
+                <div class="row align-items-center">
+                    <div class="col-md-9">
+                        <h6 class="mb-1 task-title"></h6>
+                        <p class="text-muted small mb-2 task-description"></p>
+                        <div class="d-flex gap-2">
+                            <span class="badge task-status"></span>
+                            <span class="badge task-priority"></span>
+                        </div>
+                    </div>
+                    <div class="col-md-3 text-end">
+                        <a class="btn btn-outline-secondary btn-sm" href="/" title="Reload to edit">
+                            <i class="fas fa-sync-alt"></i>
+                        </a>
+                    </div>
+                </div>
+            `;
+            applyTask(item, task);
+            return item;
+        };
+        
+        const source = new EventSource('/api/tasks/live');
+        source.addEventListener('created', (e) => {
+            const task = JSON.parse(e.data);
+            if (taskList.dataset.liveInsert === 'true' && !findItem(task.id)) {
+                taskList.prepend(createItem(task));
+            }
         });
+        source.addEventListener('updated', (e) => {
+            const task = JSON.parse(e.data);
+            const item = findItem(task.id);
+            if (item) {
+                applyTask(item, task);
+            }
+        });
+        source.addEventListener('deleted', (e) => {
+            const id = JSON.parse(e.data).id;
+            const item = findItem(id);
+            if (item) {
+                item.remove();
+            }
+            const modal = document.getElementById('editModal' + id);
+            if (modal && !modal.classList.contains('show')) {
+                modal.remove();
+            }
+        });
+        window.addEventListener('beforeunload', () => source.close());
     }
     
+    // Task mutations: post in the background and swap in only the fragments the server returns
+    const actionOf = (form) => form.getAttribute('action') || '';
+    const fragmentForms = (form) => form.matches('.task-quick-action')
+        || (form.closest('#task-list') && actionOf(form).endsWith('/delete'))
+        || actionOf(form) === '/tasks';
+    
+    const applyFragments = (html) => {
+        const fragments = new DOMParser().parseFromString(html, 'text/html');
+        const banner = fragments.querySelector('#overdue-banner');
+        const currentBanner = document.querySelector('#overdue-banner');
+        if (banner && currentBanner) {
+            currentBanner.replaceWith(banner);
+        }
+        fragments.querySelectorAll('.task-item').forEach(item => {
+            const current = document.getElementById(item.id);
+            if (current) {
+                current.replaceWith(item);
+            } else if (taskList && taskList.dataset.liveInsert === 'true') {
+                taskList.prepend(item);
+            }
+        });
+        fragments.querySelectorAll('.modal').forEach(modal => {
+            const current = document.getElementById(modal.id);
+            if (current) {
+                current.replaceWith(modal);
+            } else {
+                document.body.appendChild(modal);
+            }
+        });
+    };
+    
+    document.addEventListener('submit', function(e) {
+        const form = e.target;
+        if (e.defaultPrevented || !window.fetch || !fragmentForms(form)) {
+            return;
+        }
+        e.preventDefault();
+        const item = form.closest('.task-item');
+        const deleting = actionOf(form).endsWith('/delete');
+        fetch(form.action, {
+            method: 'POST',
+            headers: { 'X-Requested-With': 'fetch' },
+            body: new URLSearchParams(new FormData(form))
+        })
+            .then(response => {
+                if (!response.ok) {
+                    throw new Error(response.status === 404 ? 'Task not found!' : 'Please fix the errors below.');
+                }
+                return response.text();
+            })
+            .then(html => {
+                if (deleting && item) {
+                    const modal = document.getElementById('editModal' + item.dataset.taskId);
+                    if (modal) {
+                        modal.remove();
+                    }
+                    item.remove();
+                }
+                applyFragments(html);
+                if (actionOf(form) === '/tasks') {
+                    form.reset();
+                    localStorage.removeItem('taskDraft');
+                    showToast('Task created successfully!', 'success');
+                } else if (deleting) {
+                    showToast('Task deleted successfully!', 'success');
+                }
+            })
+            .catch(error => showToast(error.message, 'error'));
+    });
+    
     // Toast notification function
     function showToast(message, type = 'info') {
         const toastContainer = document.getElementById('toast-container') || createToastContainer();
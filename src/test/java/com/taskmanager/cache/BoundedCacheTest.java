@@ -0,0 +1,124 @@
+package com.taskmanager.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    private MutableClock clock;
+    private BoundedCache<String, String> cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        cache = new BoundedCache<>(2, Duration.ofSeconds(10), clock);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testGet_LoadsOnceThenHits() {
+        assertEquals("A", cache.get("a", this::load));
+        assertEquals("A", cache.get("a", this::load));
+
+        assertEquals(1, loads.get());
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    void testGet_EvictsLeastRecentlyUsedBeyondMaxSize() {
+        cache.get("a", this::load);
+        cache.get("b", this::load);
+        cache.get("a", this::load);
+        cache.get("c", this::load);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.stats().getEvictions());
+        cache.get("a", this::load);
+        assertEquals(3, loads.get(), "Recently used entry should survive eviction");
+        cache.get("b", this::load);
+        assertEquals(4, loads.get(), "Least recently used entry should have been evicted");
+    }
+
+    @Test
+    void testGet_ExpiresEntriesAfterTtl() {
+        cache.get("a", this::load);
+        clock.advance(Duration.ofSeconds(11));
+        cache.get("a", this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.stats().getEvictions());
+    }
+
+    @Test
+    void testGet_NullValuesAreNotCached() {
+        assertNull(cache.get("a", key -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        cache.get("a", this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testInvalidate_DuringLoadDiscardsLoadedValue() {
+        cache.get("a", key -> {
+            cache.invalidate("a");
+            return load(key);
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testInvalidateAll() {
+        cache.get("a", this::load);
+        cache.get("b", this::load);
+        cache.invalidateAll();
+
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.stats().getInvalidations());
+    }
+
+    private String load(String key) {
+        loads.incrementAndGet();
+        return key.toUpperCase();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.taskmanager.changes;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskChange;
+import com.taskmanager.repository.TaskChangeRepository;
+import com.taskmanager.store.TaskStore;
+import com.taskmanager.workspace.ShardMap;
+import com.taskmanager.workspace.WorkspaceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskChangeLogTest {
+
+    @Mock
+    private TaskChangeRepository taskChangeRepository;
+
+    @Mock
+    private TaskStore taskStore;
+
+    @Mock
+    private ShardMap shardMap;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private TaskChangeLog changeLog;
+
+    private Task task1;
+    private Task task2;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(changeLog, "retention", Duration.ofDays(7));
+        task1 = new Task("First", "One");
+        task1.setId(1L);
+        task2 = new Task("Second", "Two");
+        task2.setId(2L);
+    }
+
+    @Test
+    void taskChangeIsAppended() {
+        // When
+        changeLog.onTaskChanged(TaskChangedEvent.updated(task1));
+
+        // Then
+        ArgumentCaptor<TaskChange> captor = ArgumentCaptor.forClass(TaskChange.class);
+        InOrder inOrder = inOrder(transactionManager, taskChangeRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(taskChangeRepository).lockHead(eq(WorkspaceContext.DEFAULT), any(LocalDateTime.class));
+        inOrder.verify(taskChangeRepository).save(captor.capture());
+        inOrder.verify(transactionManager).commit(any());
+        assertEquals(1L, captor.getValue().getTaskId());
+        assertEquals(TaskChangedEvent.Type.UPDATED, captor.getValue().getType());
+        assertEquals(WorkspaceContext.DEFAULT, captor.getValue().getWorkspace());
+    }
+
+    @Test
+    void changesSinceCollapsesEntriesPerTask() {
+        // Given
+        when(taskChangeRepository.findFirstSeq(WorkspaceContext.DEFAULT)).thenReturn(1L);
+        when(taskChangeRepository.findLastSeq(WorkspaceContext.DEFAULT)).thenReturn(13L);
+        when(taskChangeRepository.findAfter(WorkspaceContext.DEFAULT, 10L, PageRequest.of(0, 101))).thenReturn(List.of(
+                change(11L, 1L, TaskChangedEvent.Type.UPDATED),
+                change(12L, 3L, TaskChangedEvent.Type.DELETED),
+                change(13L, 1L, TaskChangedEvent.Type.UPDATED)));
+        when(taskStore.findAllById(List.of(1L))).thenReturn(List.of(task1));
+
+        // When
+        TaskChangeSet changes = changeLog.changesSince(10L, 100);
+
+        // Then
+        assertFalse(changes.isSnapshot());
+        assertFalse(changes.isHasMore());
+        assertEquals(13L, changes.getNextSince());
+        assertEquals(List.of(task1), changes.getUpserts());
+        assertEquals(List.of(3L), changes.getDeletes());
+    }
+
+    @Test
+    void changesSinceStopsAtLimit() {
+        // Given
+        when(taskChangeRepository.findFirstSeq(WorkspaceContext.DEFAULT)).thenReturn(1L);
+        when(taskChangeRepository.findLastSeq(WorkspaceContext.DEFAULT)).thenReturn(13L);
+        when(taskChangeRepository.findAfter(WorkspaceContext.DEFAULT, 10L, PageRequest.of(0, 3))).thenReturn(List.of(
+                change(11L, 1L, TaskChangedEvent.Type.UPDATED),
+                change(12L, 2L, TaskChangedEvent.Type.CREATED),
+                change(13L, 3L, TaskChangedEvent.Type.CREATED)));
+        when(taskStore.findAllById(List.of(1L, 2L))).thenReturn(List.of(task1, task2));
+
+        // When
+        TaskChangeSet changes = changeLog.changesSince(10L, 2);
+
+        // Then
+        assertTrue(changes.isHasMore());
+        assertEquals(12L, changes.getNextSince());
+        assertEquals(2, changes.getUpserts().size());
+    }
+
+    @Test
+    void changedTaskThatNoLongerExistsIsReportedDeleted() {
+        // Given
+        when(taskChangeRepository.findFirstSeq(WorkspaceContext.DEFAULT)).thenReturn(1L);
+        when(taskChangeRepository.findLastSeq(WorkspaceContext.DEFAULT)).thenReturn(12L);
+        when(taskChangeRepository.findAfter(eq(WorkspaceContext.DEFAULT), eq(10L), any())).thenReturn(List.of(
+                change(11L, 1L, TaskChangedEvent.Type.UPDATED),
+                change(12L, 2L, TaskChangedEvent.Type.UPDATED)));
+        when(taskStore.findAllById(List.of(1L, 2L))).thenReturn(List.of(task1));
+
+        // When
+        TaskChangeSet changes = changeLog.changesSince(10L, 100);
+
+        // Then
+        assertEquals(List.of(task1), changes.getUpserts());
+        assertEquals(List.of(2L), changes.getDeletes());
+    }
+
+    @Test
+    void positionBeforeCompactedLogFallsBackToSnapshot() {
+        // Given
+        when(taskChangeRepository.findFirstSeq(WorkspaceContext.DEFAULT)).thenReturn(50L);
+        when(taskChangeRepository.findLastSeq(WorkspaceContext.DEFAULT)).thenReturn(60L);
+        when(taskStore.findAllByOrderByIdAsc()).thenReturn(List.of(task1, task2));
+
+        // When
+        TaskChangeSet changes = changeLog.changesSince(10L, 100);
+
+        // Then
+        assertTrue(changes.isSnapshot());
+        assertEquals(60L, changes.getNextSince());
+        assertEquals(List.of(task1, task2), changes.getUpserts());
+        verify(taskChangeRepository, never()).findAfter(any(), any(), any());
+    }
+
+    @Test
+    void missingOrUnknownPositionFallsBackToSnapshot() {
+        // Given
+        when(taskChangeRepository.findFirstSeq(WorkspaceContext.DEFAULT)).thenReturn(1L);
+        when(taskChangeRepository.findLastSeq(WorkspaceContext.DEFAULT)).thenReturn(5L);
+        when(taskStore.findAllByOrderByIdAsc()).thenReturn(List.of(task1));
+
+        // When & Then
+        assertTrue(changeLog.changesSince(null, 100).isSnapshot());
+        assertTrue(changeLog.changesSince(99L, 100).isSnapshot());
+    }
+
+    @Test
+    void compactionKeepsNewestEntry() {
+        // Given
+        when(shardMap.getWorkspaces()).thenReturn(List.of(WorkspaceContext.DEFAULT));
+        when(taskChangeRepository.findLastSeq(WorkspaceContext.DEFAULT)).thenReturn(20L);
+        when(taskChangeRepository.findLastSeqBefore(eq(WorkspaceContext.DEFAULT), any(LocalDateTime.class)))
+                .thenReturn(20L);
+
+        // When
+        changeLog.compact();
+
+        // Then
+        verify(taskChangeRepository).deleteThrough(WorkspaceContext.DEFAULT, 19L);
+        verify(taskChangeRepository).deleteSuperseded(WorkspaceContext.DEFAULT);
+    }
+
+    @Test
+    void compactionSkipsWorkspacesBeingMoved() {
+        // Given
+        when(shardMap.getWorkspaces()).thenReturn(List.of(WorkspaceContext.DEFAULT, "acme"));
+        when(shardMap.isMoving(WorkspaceContext.DEFAULT)).thenReturn(false);
+        when(shardMap.isMoving("acme")).thenReturn(true);
+        when(taskChangeRepository.findLastSeq(WorkspaceContext.DEFAULT)).thenReturn(5L);
+
+        // When
+        changeLog.compact();
+
+        // Then
+        verify(taskChangeRepository).deleteSuperseded(WorkspaceContext.DEFAULT);
+        verify(taskChangeRepository, never()).deleteSuperseded("acme");
+    }
+
+    private static TaskChange change(Long seq, Long taskId, TaskChangedEvent.Type type) {
+        TaskChange change = new TaskChange(WorkspaceContext.DEFAULT, taskId, type, LocalDateTime.now());
+        ReflectionTestUtils.setField(change, "seq", seq);
+        return change;
+    }
+}
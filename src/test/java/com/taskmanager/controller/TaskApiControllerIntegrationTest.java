@@ -0,0 +1,369 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.changes.TaskChangeLog;
+import com.taskmanager.changes.TaskChangeSet;
+import com.taskmanager.export.ExportFormat;
+import com.taskmanager.importer.ImportReport;
+import com.taskmanager.importer.TaskImporter;
+import com.taskmanager.live.TaskFeed;
+import com.taskmanager.model.ArchivedTask;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.stats.TaskStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TaskApiController.class)
+@ActiveProfiles("test")
+class TaskApiControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TaskService taskService;
+
+    @MockBean
+    private TaskImporter taskImporter;
+
+    @MockBean
+    private TaskFeed taskFeed;
+
+    private Task testTask;
+
+    @BeforeEach
+    void setUp() {
+        testTask = new Task("Test Task", "Test Description");
+        testTask.setId(1L);
+        testTask.setVersion(3L);
+    }
+
+    @Test
+    void testLiveTasks_ShouldOpenEventStream() throws Exception {
+        // Given
+        when(taskFeed.subscribe()).thenReturn(new SseEmitter());
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/live").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+        verify(taskFeed).subscribe();
+    }
+
+    @Test
+    void testChanges_ShouldReturnDeltaSinceSequence() throws Exception {
+        // Given
+        when(taskService.getChangesSince(41L, TaskChangeLog.DEFAULT_LIMIT))
+                .thenReturn(TaskChangeSet.delta(45L, false, List.of(testTask), List.of(7L)));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/changes").param("since", "41"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.snapshot").value(false))
+                .andExpect(jsonPath("$.nextSince").value(45))
+                .andExpect(jsonPath("$.upserts[0].id").value(1))
+                .andExpect(jsonPath("$.deletes[0]").value(7));
+    }
+
+    @Test
+    void testChanges_WithoutSince_ShouldReturnSnapshot() throws Exception {
+        // Given
+        when(taskService.getChangesSince(null, 50))
+                .thenReturn(TaskChangeSet.snapshot(45L, List.of(testTask)));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/changes").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.snapshot").value(true))
+                .andExpect(jsonPath("$.upserts.length()").value(1));
+    }
+
+    @Test
+    void testSearchArchive_ShouldReturnArchivedTasks() throws Exception {
+        // Given
+        when(taskService.supportsArchive()).thenReturn(true);
+        when(taskService.searchArchivedTasks("report", TaskService.DEFAULT_SEARCH_LIMIT))
+                .thenReturn(List.of(ArchivedTask.of(testTask, LocalDateTime.now())));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/archive").param("q", "report"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].archivedAt").exists());
+    }
+
+    @Test
+    void testRestoreArchived_ShouldReturnRestoredTask() throws Exception {
+        // Given
+        when(taskService.supportsArchive()).thenReturn(true);
+        when(taskService.restoreArchivedTask(1L)).thenReturn(testTask);
+
+        // When & Then
+        mockMvc.perform(post("/api/tasks/archive/1/restore"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.title").value("Test Task"));
+    }
+
+    @Test
+    void testRestoreArchived_NotArchived_ShouldReturn404() throws Exception {
+        // Given
+        when(taskService.supportsArchive()).thenReturn(true);
+        when(taskService.restoreArchivedTask(99L)).thenReturn(null);
+
+        // When & Then
+        mockMvc.perform(post("/api/tasks/archive/99/restore"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testArchive_WithoutArchiveInStore_ShouldReturn501() throws Exception {
+        // Given
+        when(taskService.supportsArchive()).thenReturn(false);
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/archive"))
+                .andExpect(status().isNotImplemented());
+        mockMvc.perform(post("/api/tasks/archive/1/restore"))
+                .andExpect(status().isNotImplemented());
+        verify(taskService, never()).searchArchivedTasks(any(), anyInt());
+        verify(taskService, never()).restoreArchivedTask(any());
+    }
+
+    @Test
+    void testSearch_ShouldReturnMatchingTasks() throws Exception {
+        // Given
+        when(taskService.searchTasks("test", TaskService.DEFAULT_SEARCH_LIMIT)).thenReturn(List.of(testTask));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/search")
+                .param("q", "test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].title").value("Test Task"));
+    }
+
+    @Test
+    void testSearch_WithoutQuery_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/tasks/search"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testStats_ShouldReturnCounters() throws Exception {
+        // Given
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        byStatus.put(TaskStatus.PENDING, 4L);
+        Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+        byPriority.put(TaskPriority.URGENT, 1L);
+        when(taskService.getTaskStats()).thenReturn(new TaskStats(4, byStatus, byPriority));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.byStatus.PENDING").value(4))
+                .andExpect(jsonPath("$.byPriority.URGENT").value(1));
+    }
+
+    @Test
+    void testGetTask_ShouldExposeVersionAsETag() throws Exception {
+        // Given
+        when(taskService.getTaskById(1L)).thenReturn(Optional.of(testTask));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    @Test
+    void testUpdateTask_WithMatchingIfMatch_ShouldReturnNewETag() throws Exception {
+        // Given
+        Task updated = new Task("Renamed", null);
+        updated.setId(1L);
+        updated.setVersion(4L);
+        when(taskService.updateTask(eq(1L), any(Task.class), eq(3L))).thenReturn(updated);
+
+        // When & Then
+        mockMvc.perform(put("/api/tasks/1")
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Renamed\",\"status\":\"PENDING\",\"priority\":\"LOW\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    void testUpdateTask_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        // Given
+        when(taskService.updateTask(eq(1L), any(Task.class), eq(2L)))
+                .thenThrow(new OptimisticLockingFailureException("stale"));
+
+        // When & Then
+        mockMvc.perform(put("/api/tasks/1")
+                .header("If-Match", "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Renamed\",\"status\":\"PENDING\",\"priority\":\"LOW\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void testUpdateTask_WithIfMatchAny_ShouldReplaceWhateverVersionExists() throws Exception {
+        // Given
+        Task updated = new Task("Renamed", null);
+        updated.setId(1L);
+        updated.setVersion(8L);
+        when(taskService.replaceTask(eq(1L), any(Task.class))).thenReturn(updated);
+
+        // When & Then
+        mockMvc.perform(put("/api/tasks/1")
+                .header("If-Match", "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Renamed\",\"status\":\"PENDING\",\"priority\":\"LOW\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"8\""));
+
+        verify(taskService, never()).updateTask(any(), any(), any());
+    }
+
+    @Test
+    void testUpdateTask_WithIfMatchAnyForMissingTask_ShouldReturnPreconditionFailed() throws Exception {
+        // Given
+        when(taskService.replaceTask(eq(999L), any(Task.class))).thenReturn(null);
+
+        // When & Then
+        mockMvc.perform(put("/api/tasks/999")
+                .header("If-Match", "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Renamed\",\"status\":\"PENDING\",\"priority\":\"LOW\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void testUpdateTask_WithoutAnyVersion_ShouldReturnPreconditionRequired() throws Exception {
+        mockMvc.perform(put("/api/tasks/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Renamed\",\"status\":\"PENDING\",\"priority\":\"LOW\"}"))
+                .andExpect(status().isPreconditionRequired());
+
+        verify(taskService, never()).updateTask(any(), any(), any());
+    }
+
+    @Test
+    void testUpdateTask_WithMalformedIfMatch_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(put("/api/tasks/1")
+                .header("If-Match", "three")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Renamed\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).updateTask(any(), any(), any());
+    }
+
+    @Test
+    void testImport_ShouldReturnReport() throws Exception {
+        // Given
+        ImportReport report = new ImportReport(2, 1, 1, 2,
+                List.of(new ImportReport.RowError(2, "title: Title is required")), true, null, 10);
+        when(taskImporter.importTasks(any(), eq(ExportFormat.CSV), eq(0L))).thenReturn(report);
+
+        // When & Then
+        mockMvc.perform(post("/api/tasks/import")
+                .param("format", "csv")
+                .contentType("text/csv")
+                .content("title\nOne\n\"\"\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsImported").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2));
+    }
+
+    @Test
+    void testImport_WithUnknownFormat_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/tasks/import")
+                .param("format", "xml")
+                .content("<tasks/>"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(taskImporter);
+    }
+
+    @Test
+    void testBulkCreate_ShouldCreateAllTasks() throws Exception {
+        // Given
+        when(taskService.createTasks(anyList())).thenReturn(List.of(testTask, testTask));
+
+        // When & Then
+        mockMvc.perform(post("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\":\"One\"},{\"title\":\"Two\",\"priority\":\"HIGH\"}]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.requested").value(2))
+                .andExpect(jsonPath("$.affected").value(2));
+    }
+
+    @Test
+    void testBulkCreate_WithInvalidTask_ShouldRejectWholeBatch() throws Exception {
+        mockMvc.perform(post("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\":\"One\"},{\"title\":\"\"}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value(startsWith("[1] title")));
+
+        verify(taskService, never()).createTasks(anyList());
+    }
+
+    @Test
+    void testBulkStatus_ShouldReportAffectedRows() throws Exception {
+        // Given
+        when(taskService.updateTaskStatuses(List.of(1L, 2L, 3L), TaskStatus.COMPLETED)).thenReturn(2);
+
+        // When & Then
+        mockMvc.perform(post("/api/tasks/bulk/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1,2,3],\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.affected").value(2));
+    }
+
+    @Test
+    void testBulkStatus_WithoutStatus_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/tasks/bulk/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testBulkDelete_WithoutIds_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/tasks/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -2,14 +2,22 @@ package com.taskmanager.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskFilter;
+import com.taskmanager.model.TaskPage;
+import com.taskmanager.model.TaskSortKey;
 import com.taskmanager.model.TaskStatus;
 import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskSummary;
 import com.taskmanager.service.TaskService;
+import com.taskmanager.workspace.WorkspaceContext;
+import com.taskmanager.workspace.WorkspaceFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -19,7 +27,12 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,7 +51,7 @@ class TaskControllerIntegrationTest {
     private ObjectMapper objectMapper;
 
     private Task testTask;
-    private List<Task> testTasks;
+    private List<TaskSummary> testTasks;
 
     @BeforeEach
     void setUp() {
@@ -53,26 +66,136 @@ class TaskControllerIntegrationTest {
         testTask2.setStatus(TaskStatus.IN_PROGRESS);
         testTask2.setPriority(TaskPriority.HIGH);
 
-        testTasks = Arrays.asList(testTask, testTask2);
+        testTasks = Arrays.asList(TaskSummary.of(testTask), TaskSummary.of(testTask2));
     }
 
     @Test
     void testIndexPage_ShouldReturnOk() throws Exception {
         // Given
-        when(taskService.getAllTasks()).thenReturn(testTasks);
+        when(taskService.getTaskPage(null, TaskService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new TaskPage(testTasks, null, TaskService.DEFAULT_PAGE_SIZE));
         when(taskService.getOverdueTasks()).thenReturn(Arrays.asList());
 
         // When & Then
         mockMvc.perform(get("/"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("index"))
-                .andExpect(model().attributeExists("tasks"))
+                .andExpect(model().attribute("tasks", testTasks))
+                .andExpect(model().attribute("pageSize", TaskService.DEFAULT_PAGE_SIZE))
                 .andExpect(model().attributeExists("overdueTasks"))
                 .andExpect(model().attributeExists("taskStatuses"))
                 .andExpect(model().attributeExists("taskPriorities"))
                 .andExpect(model().attributeExists("newTask"));
     }
 
+    @Test
+    void testIndexPage_WithCursor_ShouldExposeNextCursor() throws Exception {
+        // Given
+        when(taskService.getTaskPage("abc", 1)).thenReturn(new TaskPage(Arrays.asList(TaskSummary.of(testTask)), "def", 1));
+        when(taskService.getOverdueTasks()).thenReturn(Arrays.asList());
+
+        // When & Then
+        mockMvc.perform(get("/")
+                .param("cursor", "abc")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("nextCursor", "def"))
+                .andExpect(model().attribute("pageCursor", "abc"));
+    }
+
+    @Test
+    void testIndexPage_WithMalformedCursor_ShouldFallBackToFirstPage() throws Exception {
+        // Given
+        when(taskService.getTaskPage("bogus", TaskService.DEFAULT_PAGE_SIZE)).thenThrow(new IllegalArgumentException());
+        when(taskService.getTaskPage(null, TaskService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new TaskPage(testTasks, null, TaskService.DEFAULT_PAGE_SIZE));
+        when(taskService.getOverdueTasks()).thenReturn(Arrays.asList());
+
+        // When & Then
+        mockMvc.perform(get("/")
+                .param("cursor", "bogus"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("tasks", testTasks))
+                .andExpect(model().attributeExists("error"));
+    }
+
+    @Test
+    void testIndexPage_WhenUnchanged_ShouldReturnNotModified() throws Exception {
+        // Given
+        when(taskService.getChangeVersion()).thenReturn(42L);
+        when(taskService.getTaskPage(null, TaskService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new TaskPage(testTasks, null, TaskService.DEFAULT_PAGE_SIZE));
+        String eTag = mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then
+        mockMvc.perform(get("/").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        verify(taskService, times(1)).getTaskPage(null, TaskService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Test
+    void testIndexPage_ETagIsScopedToTheWorkspace() throws Exception {
+        // Given
+        when(taskService.getChangeVersion()).thenReturn(42L);
+        when(taskService.getTaskPage(null, TaskService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new TaskPage(testTasks, null, TaskService.DEFAULT_PAGE_SIZE));
+        String eTag = mockMvc.perform(get("/"))
+                .andExpect(header().string("Vary", containsString(WorkspaceFilter.HEADER)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then the same version in another workspace is another page
+        try (WorkspaceContext.Scope scope = WorkspaceContext.enter("acme")) {
+            mockMvc.perform(get("/").header("If-None-Match", eTag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", not(eTag)));
+        }
+    }
+
+    @Test
+    void testIndexPage_AfterChange_ShouldRenderAgain() throws Exception {
+        // Given
+        when(taskService.getChangeVersion()).thenReturn(42L, 43L);
+        when(taskService.getTaskPage(null, TaskService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new TaskPage(testTasks, null, TaskService.DEFAULT_PAGE_SIZE));
+        String eTag = mockMvc.perform(get("/")).andReturn().getResponse().getHeader("ETag");
+
+        // When & Then
+        mockMvc.perform(get("/").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)));
+    }
+
+    @Test
+    void testIndexPage_WithFlashMessage_ShouldNotBeCached() throws Exception {
+        // Given
+        when(taskService.getTaskPage(null, TaskService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new TaskPage(testTasks, null, TaskService.DEFAULT_PAGE_SIZE));
+
+        // When & Then
+        mockMvc.perform(get("/").flashAttr("success", "Task created successfully!"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+        verify(taskService, never()).getChangeVersion();
+    }
+
+    @Test
+    void testFilterTasks_ETagDependsOnParameters() throws Exception {
+        // Given
+        when(taskService.getChangeVersion()).thenReturn(42L);
+        when(taskService.filterTasks(any(TaskFilter.class))).thenReturn(testTasks);
+        String pending = mockMvc.perform(get("/tasks/filter").param("status", "PENDING"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then
+        mockMvc.perform(get("/tasks/filter").param("status", "COMPLETED").header("If-None-Match", pending))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/tasks/filter").param("status", "PENDING").header("If-None-Match", pending))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     void testCreateTask_WithValidData_ShouldRedirect() throws Exception {
         // Given
@@ -137,6 +260,37 @@ class TaskControllerIntegrationTest {
                 .andExpect(flash().attributeExists("error"));
     }
 
+    @Test
+    void testUpdateTask_WithStaleVersion_ShouldRedirectWithError() throws Exception {
+        // Given
+        when(taskService.updateTask(eq(1L), argThat(task -> Long.valueOf(2L).equals(task.getVersion()))))
+                .thenThrow(new OptimisticLockingFailureException("stale"));
+
+        // When & Then
+        mockMvc.perform(post("/tasks/1/update")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("title", "Updated Task")
+                .param("version", "2"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/"))
+                .andExpect(flash().attribute("error", startsWith("Task was changed by someone else")));
+    }
+
+    @Test
+    void testUpdateTask_WithoutVersion_ShouldRedirectWithError() throws Exception {
+        // Given
+        when(taskService.updateTask(eq(1L), argThat(task -> task.getVersion() == null)))
+                .thenThrow(new IllegalArgumentException("version required"));
+
+        // When & Then
+        mockMvc.perform(post("/tasks/1/update")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("title", "Updated Task"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/"))
+                .andExpect(flash().attribute("error", startsWith("Task could not be updated")));
+    }
+
     @Test
     void testDeleteTask_WhenTaskExists_ShouldRedirect() throws Exception {
         // Given
@@ -189,11 +343,76 @@ class TaskControllerIntegrationTest {
                 .andExpect(flash().attributeExists("success"));
     }
 
+    @Test
+    void testUpdateTaskStatus_FromScript_ShouldRenderOnlyAffectedFragments() throws Exception {
+        // Given
+        testTask.setStatus(TaskStatus.COMPLETED);
+        when(taskService.updateTaskStatus(1L, TaskStatus.COMPLETED)).thenReturn(testTask);
+        when(taskService.getOverdueTasks()).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(post("/tasks/1/status")
+                .header(TaskController.FRAGMENT_HEADER, "fetch")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("status", "COMPLETED"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("task-fragments"))
+                .andExpect(model().attribute("task", TaskSummary.of(testTask)))
+                .andExpect(content().string(containsString("id=\"task-1\"")))
+                .andExpect(content().string(containsString("id=\"overdue-banner\"")))
+                .andExpect(content().string(not(containsString("Test Task 2"))));
+        verify(taskService, never()).getTaskPage(any(), anyInt());
+    }
+
+    @Test
+    void testUpdateTaskPriority_FromScript_WhenTaskNotFound_ShouldReturnNotFound() throws Exception {
+        // Given
+        when(taskService.updateTaskPriority(999L, TaskPriority.URGENT)).thenReturn(null);
+
+        // When & Then
+        mockMvc.perform(post("/tasks/999/priority")
+                .header(TaskController.FRAGMENT_HEADER, "fetch")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("priority", "URGENT"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testCreateTask_FromScript_ShouldRenderNewTaskFragment() throws Exception {
+        // Given
+        when(taskService.createTask(any(Task.class))).thenReturn(testTask);
+        when(taskService.getOverdueTasks()).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(post("/tasks")
+                .header(TaskController.FRAGMENT_HEADER, "fetch")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("title", "Test Task"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("task-fragments"))
+                .andExpect(content().string(containsString("id=\"editModal1\"")));
+    }
+
+    @Test
+    void testDeleteTask_FromScript_ShouldRenderOnlyOverdueBanner() throws Exception {
+        // Given
+        when(taskService.deleteTask(1L)).thenReturn(true);
+        when(taskService.getOverdueTasks()).thenReturn(List.of(testTask));
+
+        // When & Then
+        mockMvc.perform(post("/tasks/1/delete").header(TaskController.FRAGMENT_HEADER, "fetch"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("task-fragments"))
+                .andExpect(content().string(containsString("Overdue Tasks")))
+                .andExpect(content().string(not(containsString("task-item"))));
+    }
+
     @Test
     void testFilterTasks_ByStatus_ShouldReturnFilteredResults() throws Exception {
         // Given
-        List<Task> filteredTasks = Arrays.asList(testTask);
-        when(taskService.getTasksByStatus(TaskStatus.PENDING)).thenReturn(filteredTasks);
+        List<TaskSummary> filteredTasks = Arrays.asList(TaskSummary.of(testTask));
+        when(taskService.filterTasks(argThat(filter -> filter.getStatus() == TaskStatus.PENDING
+                && filter.getPriority() == null))).thenReturn(filteredTasks);
 
         // When & Then
         mockMvc.perform(get("/tasks/filter")
@@ -207,8 +426,9 @@ class TaskControllerIntegrationTest {
     @Test
     void testFilterTasks_ByPriority_ShouldReturnFilteredResults() throws Exception {
         // Given
-        List<Task> filteredTasks = Arrays.asList(testTask);
-        when(taskService.getTasksByPriority(TaskPriority.HIGH)).thenReturn(filteredTasks);
+        List<TaskSummary> filteredTasks = Arrays.asList(TaskSummary.of(testTask));
+        when(taskService.filterTasks(argThat(filter -> filter.getStatus() == null
+                && filter.getPriority() == TaskPriority.HIGH))).thenReturn(filteredTasks);
 
         // When & Then
         mockMvc.perform(get("/tasks/filter")
@@ -219,15 +439,42 @@ class TaskControllerIntegrationTest {
                 .andExpect(model().attribute("selectedPriority", TaskPriority.HIGH));
     }
 
+    @Test
+    void testFilterTasks_CombinesAllCriteriaInOneQuery() throws Exception {
+        // Given
+        List<TaskSummary> filteredTasks = Arrays.asList(TaskSummary.of(testTask));
+        when(taskService.filterTasks(any(TaskFilter.class))).thenReturn(filteredTasks);
+
+        // When & Then
+        mockMvc.perform(get("/tasks/filter")
+                .param("status", "PENDING")
+                .param("priority", "HIGH")
+                .param("dueFrom", "2024-03-01")
+                .param("dueTo", "2024-03-31")
+                .param("sort", "DUE_DATE"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("tasks", filteredTasks))
+                .andExpect(model().attribute("selectedSort", TaskSortKey.DUE_DATE));
+
+        ArgumentCaptor<TaskFilter> filter = ArgumentCaptor.forClass(TaskFilter.class);
+        verify(taskService, times(1)).filterTasks(filter.capture());
+        assertEquals(TaskStatus.PENDING, filter.getValue().getStatus());
+        assertEquals(TaskPriority.HIGH, filter.getValue().getPriority());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 0, 0), filter.getValue().getDueFrom());
+        assertEquals(LocalDateTime.of(2024, 4, 1, 0, 0), filter.getValue().getDueBefore());
+        assertEquals(TaskSortKey.DUE_DATE, filter.getValue().getSort());
+    }
+
     @Test
     void testFilterTasks_WithoutParameters_ShouldReturnAllTasks() throws Exception {
         // Given
-        when(taskService.getAllTasks()).thenReturn(testTasks);
+        when(taskService.filterTasks(any(TaskFilter.class))).thenReturn(testTasks);
 
         // When & Then
         mockMvc.perform(get("/tasks/filter"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("index"))
-                .andExpect(model().attribute("tasks", testTasks));
+                .andExpect(model().attribute("tasks", testTasks))
+                .andExpect(model().attribute("selectedSort", TaskSortKey.NEWEST));
     }
 }
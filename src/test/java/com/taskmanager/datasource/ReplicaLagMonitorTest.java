@@ -0,0 +1,74 @@
+package com.taskmanager.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaLagMonitorTest {
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaRoutingDataSource routing;
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primaryDataSource = ReplicaRoutingDataSourceTest.database("primary");
+        DataSource replicaDataSource = ReplicaRoutingDataSourceTest.database("replica");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        routing = new ReplicaRoutingDataSource(primaryDataSource, Map.of("replica-1", replicaDataSource));
+        monitor = new ReplicaLagMonitor(primaryDataSource, routing, 5000);
+    }
+
+    @Test
+    void testStart_ReplicaWithoutHeartbeatStaysOut() {
+        // When
+        monitor.start();
+
+        // Then
+        assertEquals(1, primary.queryForObject("SELECT COUNT(*) FROM replication_heartbeat", Integer.class));
+        assertFalse(routing.getReplicas().get(0).isAvailable());
+    }
+
+    @Test
+    void testCheck_ReplicatedHeartbeatBringsReplicaIn() {
+        // Given
+        monitor.start();
+        replica.execute(ReplicaLagMonitor.CREATE_HEARTBEAT_TABLE);
+        replicate();
+
+        // When
+        monitor.check();
+
+        // Then
+        assertTrue(routing.getReplicas().get(0).isAvailable());
+        assertTrue(routing.getReplicas().get(0).getLagMs() < 5000);
+    }
+
+    @Test
+    void testCheck_StaleHeartbeatTakesReplicaOut() {
+        // Given
+        monitor.start();
+        replica.execute(ReplicaLagMonitor.CREATE_HEARTBEAT_TABLE);
+        replica.update(ReplicaLagMonitor.WRITE_HEARTBEAT, System.currentTimeMillis() - 60_000);
+
+        // When
+        monitor.check();
+
+        // Then
+        assertFalse(routing.getReplicas().get(0).isAvailable());
+        assertTrue(routing.getReplicas().get(0).getLagMs() >= 60_000);
+    }
+
+    /** Stands in for replication: copies the primary's heartbeat to the replica. */
+    private void replicate() {
+        Long beat = primary.queryForObject(ReplicaLagMonitor.READ_HEARTBEAT, Long.class);
+        replica.update(ReplicaLagMonitor.WRITE_HEARTBEAT, beat);
+    }
+}
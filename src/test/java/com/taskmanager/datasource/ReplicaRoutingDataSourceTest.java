@@ -0,0 +1,124 @@
+package com.taskmanager.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica1;
+    private DataSource replica2;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica1 = database("replica1");
+        replica2 = database("replica2");
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        routing = new ReplicaRoutingDataSource(primary, replicas);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void testWritesUsePrimary() throws SQLException {
+        // Given
+        routing.getReplicas().forEach(replica -> replica.markLag(0, 5000));
+
+        // When & Then
+        assertEquals("primary", nodeOf(routing));
+    }
+
+    @Test
+    void testReadOnlyTransactionsUseReplicasInTurn() throws SQLException {
+        // Given
+        routing.getReplicas().forEach(replica -> replica.markLag(0, 5000));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        String first = nodeOf(routing);
+        String second = nodeOf(routing);
+
+        // Then
+        assertNotEquals(first, second);
+        assertTrue(first.startsWith("replica"));
+        assertTrue(second.startsWith("replica"));
+    }
+
+    @Test
+    void testLaggingReplicaIsSkipped() throws SQLException {
+        // Given
+        routing.getReplicas().get(0).markLag(10_000, 5000);
+        routing.getReplicas().get(1).markLag(100, 5000);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When & Then
+        assertEquals("replica2", nodeOf(routing));
+        assertEquals("replica2", nodeOf(routing));
+    }
+
+    @Test
+    void testReadsFallBackToPrimaryWithoutReplicas() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When & Then
+        assertEquals("primary", nodeOf(routing));
+    }
+
+    @Test
+    void testRefusedReplicaConnectionFallsBackToPrimary() throws SQLException {
+        // Given
+        DataSource broken = mock(DataSource.class);
+        when(broken.getConnection()).thenThrow(new SQLException("Connection refused"));
+        ReplicaRoutingDataSource withBroken = new ReplicaRoutingDataSource(primary, Map.of("replica-1", broken));
+        withBroken.getReplicas().get(0).markLag(0, 5000);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        String node = nodeOf(withBroken);
+
+        // Then
+        assertEquals("primary", node);
+        assertFalse(withBroken.getReplicas().get(0).isAvailable());
+    }
+
+    static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static String nodeOf(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT name FROM node")) {
+            result.next();
+            return result.getString(1);
+        }
+    }
+}
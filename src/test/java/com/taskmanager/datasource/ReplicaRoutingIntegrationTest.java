@@ -0,0 +1,73 @@
+package com.taskmanager.datasource;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskFilter;
+import com.taskmanager.model.TaskSortKey;
+import com.taskmanager.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The replica is an empty database with nothing but a heartbeat that never lags,
+ * so a read sent there fails and a read served on the primary finds the task.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "taskmanager.datasource.replicas.enabled=true",
+        "taskmanager.datasource.replicas.urls=" + ReplicaRoutingIntegrationTest.REPLICA_URL
+})
+@ActiveProfiles("test")
+class ReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate replica = new JdbcTemplate(routing.getReplicas().get(0).getDataSource());
+        replica.execute(ReplicaLagMonitor.CREATE_HEARTBEAT_TABLE);
+        replica.update(ReplicaLagMonitor.WRITE_HEARTBEAT, Long.MAX_VALUE);
+        lagMonitor.check();
+        assertTrue(routing.getReplicas().get(0).isAvailable());
+        if (taskService.getTaskPage(null, 1).getTasks().isEmpty()) {
+            taskService.createTask(new Task("Routed", "Only on the primary"));
+        }
+    }
+
+    @Test
+    void readOnlyReadsGoToTheReplica() {
+        // When & Then
+        assertThrows(RuntimeException.class, () -> taskService.getAllTasks());
+    }
+
+    @Test
+    void taskPagesAreReadFromThePrimary() {
+        // When & Then
+        assertEquals(1, taskService.getTaskPage(null, 10).getTasks().size());
+    }
+
+    @Test
+    void filteredListsAreReadFromThePrimary() {
+        // Given
+        TaskFilter filter = new TaskFilter(null, null, null, null, TaskSortKey.NEWEST);
+
+        // When & Then
+        assertEquals(1, taskService.filterTasks(filter).size());
+    }
+}
@@ -0,0 +1,118 @@
+package com.taskmanager.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.store.TaskStore;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskExporterTest {
+
+    @Mock
+    private TaskStore taskStore;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @InjectMocks
+    private TaskExporter exporter;
+
+    private Task plain;
+    private Task tricky;
+
+    @BeforeEach
+    void setUp() {
+        plain = new Task("Plain", "Nothing special");
+        plain.setId(1L);
+        plain.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        plain.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+
+        tricky = new Task("Say \"hi\", please", "line one\nline two");
+        tricky.setId(2L);
+        tricky.setStatus(TaskStatus.IN_PROGRESS);
+        tricky.setPriority(TaskPriority.URGENT);
+        tricky.setCreatedAt(LocalDateTime.of(2024, 1, 2, 9, 0));
+        tricky.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 9, 0));
+    }
+
+    @Test
+    void testExportCsv_EscapesFieldsAndWritesHeader() throws Exception {
+        // Given
+        when(taskStore.streamAllByOrderByIdAsc()).thenReturn(Stream.of(plain, tricky));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long count = exporter.export(ExportFormat.CSV, out);
+
+        // Then
+        assertEquals(2, count);
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertEquals(String.join("\n",
+                "id,title,description,status,priority,dueDate,createdAt,updatedAt",
+                "1,Plain,Nothing special,PENDING,MEDIUM,,2024-01-01T09:00,2024-01-01T09:00",
+                "2,\"Say \"\"hi\"\", please\",\"line one\nline two\",IN_PROGRESS,URGENT,,2024-01-02T09:00,2024-01-02T09:00",
+                ""), csv);
+    }
+
+    @Test
+    void testExportNdjson_WritesOneObjectPerLineAndDetaches() throws Exception {
+        // Given
+        when(taskStore.streamAllByOrderByIdAsc()).thenReturn(Stream.of(plain, tricky));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exporter.export(ExportFormat.NDJSON, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Plain", objectMapper.readTree(lines[0]).get("title").asText());
+        assertEquals("line one\nline two", objectMapper.readTree(lines[1]).get("description").asText());
+        verify(entityManager).detach(plain);
+        verify(entityManager).detach(tricky);
+    }
+
+    @Test
+    void testExport_ClosesStoreStream() throws Exception {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        when(taskStore.streamAllByOrderByIdAsc()).thenReturn(Stream.of(plain).onClose(() -> closed.set(true)));
+
+        // When
+        exporter.export(ExportFormat.NDJSON, new ByteArrayOutputStream());
+
+        // Then
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testFromParameter_IsCaseInsensitive() {
+        assertEquals(ExportFormat.CSV, ExportFormat.fromParameter("csv"));
+        assertEquals(ExportFormat.NDJSON, ExportFormat.fromParameter(" NDJSON "));
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.fromParameter("xml"));
+    }
+}
@@ -0,0 +1,134 @@
+package com.taskmanager.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.export.ExportFormat;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.service.TaskService;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskImporterTest {
+
+    @Mock
+    private TaskService taskService;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private TaskImporter importer;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importTasks_ShouldParseCsvAndRejectInvalidRows() throws Exception {
+        // Given
+        String csv = "id,title,description,status,priority,dueDate\n"
+                + "1,\"Write, review\",\"multi\nline\",IN_PROGRESS,HIGH,2024-05-01T09:00\n"
+                + "2,,missing title,PENDING,LOW,\n"
+                + "3,Plain,,,,\n";
+        when(taskService.createTasks(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ImportReport report = importer.importTasks(stream(csv), ExportFormat.CSV, 0);
+
+        // Then
+        assertTrue(report.isCompleted());
+        assertEquals(3, report.getRowsRead());
+        assertEquals(2, report.getRowsImported());
+        assertEquals(1, report.getRowsRejected());
+        assertEquals(3, report.getLastCommittedRow());
+        assertEquals(2, report.getErrors().get(0).getRow());
+        assertTrue(report.getErrors().get(0).getMessage().startsWith("title:"));
+
+        ArgumentCaptor<List<Task>> captor = ArgumentCaptor.forClass(List.class);
+        verify(taskService).createTasks(captor.capture());
+        Task first = captor.getValue().get(0);
+        assertEquals("Write, review", first.getTitle());
+        assertEquals("multi\nline", first.getDescription());
+        assertEquals(TaskStatus.IN_PROGRESS, first.getStatus());
+        assertEquals(TaskPriority.HIGH, first.getPriority());
+        assertEquals(LocalDateTime.of(2024, 5, 1, 9, 0), first.getDueDate());
+        assertEquals("Plain", captor.getValue().get(1).getTitle());
+    }
+
+    @Test
+    void importTasks_ShouldReportMalformedNdjsonLines() throws Exception {
+        // Given
+        String ndjson = "{\"title\":\"One\"}\n\n{not json}\n{\"title\":\"Two\",\"priority\":\"URGENT\"}\n";
+        when(taskService.createTasks(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ImportReport report = importer.importTasks(stream(ndjson), ExportFormat.NDJSON, 0);
+
+        // Then
+        assertTrue(report.isCompleted());
+        assertEquals(3, report.getRowsRead());
+        assertEquals(2, report.getRowsImported());
+        assertEquals(1, report.getErrors().size());
+        assertEquals(2, report.getErrors().get(0).getRow());
+    }
+
+    @Test
+    void importTasks_ShouldCommitChunksInOrderAndResumeAfterFailure() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(importer, "chunkSize", 2);
+        ReflectionTestUtils.setField(importer, "parallelism", 3);
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 1; i <= 7; i++) {
+            ndjson.append("{\"title\":\"Task ").append(i).append("\"}\n");
+        }
+        List<String> committed = new ArrayList<>();
+        AtomicBoolean failNextChunk = new AtomicBoolean(true);
+        when(taskService.createTasks(anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            if (tasks.get(0).getTitle().equals("Task 5") && failNextChunk.getAndSet(false)) {
+                throw new IllegalStateException("disk full");
+            }
+            tasks.forEach(task -> committed.add(task.getTitle()));
+            return tasks;
+        });
+
+        // When
+        ImportReport failed = importer.importTasks(stream(ndjson.toString()), ExportFormat.NDJSON, 0);
+        ImportReport resumed = importer.importTasks(stream(ndjson.toString()), ExportFormat.NDJSON,
+                failed.getLastCommittedRow());
+
+        // Then
+        assertFalse(failed.isCompleted());
+        assertTrue(failed.getFailure().contains("disk full"));
+        assertEquals(4, failed.getLastCommittedRow());
+        assertTrue(resumed.isCompleted());
+        assertEquals(3, resumed.getRowsImported());
+        assertEquals(List.of("Task 1", "Task 2", "Task 3", "Task 4", "Task 5", "Task 6", "Task 7"), committed);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
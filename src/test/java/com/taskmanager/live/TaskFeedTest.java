@@ -0,0 +1,76 @@
+package com.taskmanager.live;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskFeedTest {
+
+    private final TaskFeed feed = new TaskFeed(60_000);
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void subscribeRegistersEmitter() {
+        // When
+        feed.subscribe();
+        feed.subscribe();
+
+        // Then
+        assertEquals(2, feed.getSubscriberCount());
+    }
+
+    @Test
+    void changesWithoutSubscribersAreIgnored() {
+        // Given
+        Task task = new Task("Write report", "Quarterly numbers");
+        task.setId(1L);
+
+        // When & Then
+        assertDoesNotThrow(() -> feed.onTaskChanged(TaskChangedEvent.created(task)));
+        assertEquals(0, feed.getSubscriberCount());
+    }
+
+    @Test
+    void deltaCopiesTaskState() {
+        // Given
+        Task task = new Task("Write report", "Quarterly numbers");
+        task.setId(1L);
+        task.setVersion(4L);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setPriority(TaskPriority.HIGH);
+
+        // When
+        TaskDelta delta = TaskDelta.of(TaskChangedEvent.updated(task));
+        task.setTitle("Changed later");
+
+        // Then
+        assertEquals(TaskChangedEvent.Type.UPDATED, delta.getType());
+        assertEquals(1L, delta.getId());
+        assertEquals("Write report", delta.getTitle());
+        assertEquals("IN_PROGRESS", delta.getStatus());
+        assertEquals(TaskStatus.IN_PROGRESS.getDisplayName(), delta.getStatusLabel());
+        assertEquals("HIGH", delta.getPriority());
+        assertEquals(4L, delta.getVersion());
+    }
+
+    @Test
+    void deletionDeltaCarriesOnlyId() {
+        // When
+        TaskDelta delta = TaskDelta.of(TaskChangedEvent.deleted(7L, TaskStatus.PENDING, TaskPriority.LOW));
+
+        // Then
+        assertEquals(TaskChangedEvent.Type.DELETED, delta.getType());
+        assertEquals(7L, delta.getId());
+        assertNull(delta.getTitle());
+        assertNull(delta.getStatus());
+    }
+}
@@ -0,0 +1,62 @@
+package com.taskmanager.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.ModelAndView;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViewRenderTimingInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ViewRenderTimingInterceptor interceptor = new ViewRenderTimingInterceptor(registry);
+
+    @Test
+    void recordsRenderTimePerView() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        interceptor.postHandle(request, response, new Object(), new ModelAndView("index"));
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Then
+        Timer timer = registry.get(ViewRenderTimingInterceptor.METRIC_NAME)
+                .tag("view", "index")
+                .tag("outcome", "SUCCESS")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void tagsFailedRenders() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        interceptor.postHandle(request, response, new Object(), new ModelAndView("index"));
+        interceptor.afterCompletion(request, response, new Object(), new IllegalStateException("template"));
+
+        // Then
+        assertEquals(1, registry.get(ViewRenderTimingInterceptor.METRIC_NAME).tag("outcome", "ERROR").timer().count());
+    }
+
+    @Test
+    void ignoresRequestsWithoutView() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/stats");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        interceptor.postHandle(request, response, new Object(), null);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Then
+        assertNull(registry.find(ViewRenderTimingInterceptor.METRIC_NAME).timer());
+    }
+}
@@ -0,0 +1,201 @@
+package com.taskmanager.reactive;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.service.TaskWriteBehindQueue;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReactiveTaskHandlerTest {
+
+    private ReactiveTaskReader reader;
+    private TaskService taskService;
+    private TaskWriteBehindQueue writeBehindQueue;
+    private WebTestClient client;
+    private Task testTask;
+
+    @BeforeEach
+    void setUp() {
+        reader = mock(ReactiveTaskReader.class);
+        taskService = mock(TaskService.class);
+        writeBehindQueue = mock(TaskWriteBehindQueue.class);
+        ReactiveTaskHandler handler = new ReactiveTaskHandler(reader, taskService,
+                Validation.buildDefaultValidatorFactory().getValidator(), writeBehindQueue);
+        client = WebTestClient.bindToRouterFunction(ReactiveTaskRoutes.routes(handler)).build();
+
+        testTask = new Task("Test Task", "Test Description");
+        testTask.setId(1L);
+        testTask.setVersion(0L);
+    }
+
+    @Test
+    void listStreamsTasksAsNdjsonWhenRequested() {
+        // Given
+        when(reader.findAll()).thenReturn(Flux.just(testTask));
+
+        // When & Then
+        client.get().uri("/api/v2/tasks")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Task.class).hasSize(1);
+    }
+
+    @Test
+    void listFlushesQueuedWritesBeforeReading() {
+        // Given
+        when(writeBehindQueue.hasPending()).thenReturn(true);
+        when(reader.findAll()).thenReturn(Flux.just(testTask));
+
+        // When
+        client.get().uri("/api/v2/tasks")
+                .exchange()
+                .expectStatus().isOk();
+
+        // Then
+        InOrder order = inOrder(writeBehindQueue, reader);
+        order.verify(writeBehindQueue).flush();
+        order.verify(reader).findAll();
+    }
+
+    @Test
+    void overdueIsReadOffTheEventLoop() {
+        // Given
+        AtomicReference<String> thread = new AtomicReference<>();
+        when(taskService.getOverdueTasks()).thenAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            return List.of(testTask);
+        });
+
+        // When
+        client.get().uri("/api/v2/tasks/overdue")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Task.class).hasSize(1);
+
+        // Then
+        assertTrue(thread.get().startsWith("boundedElastic"), thread.get());
+    }
+
+    @Test
+    void listFiltersByStatus() {
+        // Given
+        when(reader.findMatching(TaskStatus.COMPLETED, null)).thenReturn(Flux.just(testTask));
+
+        // When & Then
+        client.get().uri("/api/v2/tasks?status=COMPLETED")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].title").isEqualTo("Test Task");
+        verify(reader, never()).findAll();
+    }
+
+    @Test
+    void listRejectsUnknownStatus() {
+        client.get().uri("/api/v2/tasks?status=NOPE")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getReturnsNotFoundForMissingTask() {
+        // Given
+        when(reader.findById(99L)).thenReturn(Mono.empty());
+
+        // When & Then
+        client.get().uri("/api/v2/tasks/99")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void createGoesThroughTaskService() {
+        // Given
+        when(taskService.createTask(any(Task.class))).thenReturn(testTask);
+
+        // When & Then
+        client.post().uri("/api/v2/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("title", "Test Task"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().location("/api/v2/tasks/1");
+        verify(taskService).createTask(any(Task.class));
+    }
+
+    @Test
+    void createRejectsInvalidTask() {
+        client.post().uri("/api/v2/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("title", ""))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.errors").isNotEmpty();
+        verify(taskService, never()).createTask(any(Task.class));
+    }
+
+    @Test
+    void updateReturnsConflictOnStaleVersion() {
+        // Given
+        when(taskService.updateTask(eq(1L), any(Task.class)))
+                .thenThrow(new OptimisticLockingFailureException("stale"));
+
+        // When & Then
+        client.put().uri("/api/v2/tasks/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("title", "Renamed", "version", 3))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void updateWithoutVersionIsRejected() {
+        // When & Then
+        client.put().uri("/api/v2/tasks/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("title", "Renamed"))
+                .exchange()
+                .expectStatus().isEqualTo(428);
+        verify(taskService, never()).updateTask(any(), any(Task.class));
+    }
+
+    @Test
+    void updateStatusReturnsNotFoundForMissingTask() {
+        // Given
+        when(taskService.updateTaskStatus(99L, TaskStatus.COMPLETED)).thenReturn(null);
+
+        // When & Then
+        client.put().uri("/api/v2/tasks/99/status?status=COMPLETED")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void deleteReturnsNoContent() {
+        // Given
+        when(taskService.deleteTask(1L)).thenReturn(true);
+
+        // When & Then
+        client.delete().uri("/api/v2/tasks/1")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+}
@@ -0,0 +1,91 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.ArchivedTask;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.workspace.WorkspaceContext;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ArchivedTaskRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 9, 0);
+    private static final String WS = WorkspaceContext.DEFAULT;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testArchivableIds_OnlyFinishedTasksUnchangedSinceCutoff() {
+        Task done = save("Done", TaskStatus.COMPLETED, BASE);
+        Task cancelled = save("Cancelled", TaskStatus.CANCELLED, BASE.plusDays(1));
+        save("Open", TaskStatus.PENDING, BASE);
+        save("Recently done", TaskStatus.COMPLETED, BASE.plusDays(40));
+
+        List<Long> ids = taskRepository.findArchivableIds(WS, TaskService.ARCHIVABLE_STATUSES, BASE.plusDays(30),
+                PageRequest.of(0, 10));
+
+        assertEquals(List.of(done.getId(), cancelled.getId()), ids);
+    }
+
+    @Test
+    void testDeleteArchivable_SkipsTasksReopenedSincePicked() {
+        Task done = save("Done", TaskStatus.COMPLETED, BASE);
+        Task reopened = save("Reopened", TaskStatus.PENDING, BASE);
+
+        List<Task> deleted = taskRepository.deleteArchivableReturningPrevious(WS,
+                List.of(done.getId(), reopened.getId()), List.of("COMPLETED", "CANCELLED"), BASE.plusDays(30));
+
+        assertEquals(List.of(done.getId()), deleted.stream().map(Task::getId).toList());
+        assertTrue(taskRepository.existsById(reopened.getId()));
+    }
+
+    @Test
+    void testSearchAndRestore_PutsTaskBackUnderItsId() {
+        Task done = save("Quarterly report", TaskStatus.COMPLETED, BASE);
+        entityManager.persist(ArchivedTask.of(done, BASE.plusDays(31)));
+        taskRepository.deleteById(done.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ArchivedTask> found = archivedTaskRepository.search(WS, "QUARTERLY", PageRequest.of(0, 10));
+        LocalDateTime now = LocalDateTime.now();
+        int copied = archivedTaskRepository.copyToTasks(WS, List.of(done.getId()), now);
+        archivedTaskRepository.deleteByIds(WS, List.of(done.getId()));
+        entityManager.clear();
+
+        assertEquals(List.of(done.getId()), found.stream().map(ArchivedTask::getId).toList());
+        assertEquals(1, copied);
+        Task restored = taskRepository.findById(done.getId()).orElseThrow();
+        assertEquals("Quarterly report", restored.getTitle());
+        assertEquals(TaskStatus.COMPLETED, restored.getStatus());
+        assertEquals(done.getVersion() + 1, restored.getVersion());
+        assertFalse(archivedTaskRepository.existsById(done.getId()));
+    }
+
+    private Task save(String title, TaskStatus status, LocalDateTime updatedAt) {
+        Task task = new Task(title, null);
+        task.setStatus(status);
+        task.setCreatedAt(updatedAt.minusDays(1));
+        task.setUpdatedAt(updatedAt);
+        return taskRepository.saveAndFlush(task);
+    }
+}
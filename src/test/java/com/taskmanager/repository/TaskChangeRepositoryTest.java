@@ -0,0 +1,100 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.model.TaskChange;
+import com.taskmanager.workspace.WorkspaceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class TaskChangeRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 9, 0);
+    private static final String WS = WorkspaceContext.DEFAULT;
+
+    @Autowired
+    private TaskChangeRepository taskChangeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deleteSupersededKeepsLatestPerTaskAndOldestEntry() {
+        // Given
+        TaskChange first = append(1L, TaskChangedEvent.Type.CREATED, BASE);
+        append(2L, TaskChangedEvent.Type.CREATED, BASE);
+        append(1L, TaskChangedEvent.Type.UPDATED, BASE.plusHours(1));
+        TaskChange latestOfTask2 = append(2L, TaskChangedEvent.Type.DELETED, BASE.plusHours(2));
+        TaskChange latestOfTask1 = append(1L, TaskChangedEvent.Type.UPDATED, BASE.plusHours(3));
+
+        // When
+        int deleted = taskChangeRepository.deleteSuperseded(WS);
+
+        // Then
+        assertEquals(2, deleted);
+        List<Long> remaining = taskChangeRepository.findAfter(WS, 0L, PageRequest.of(0, 10)).stream()
+                .map(TaskChange::getSeq)
+                .toList();
+        assertEquals(List.of(first.getSeq(), latestOfTask2.getSeq(), latestOfTask1.getSeq()), remaining);
+    }
+
+    @Test
+    void expiredEntriesAreDeletedThroughCutoff() {
+        // Given
+        append(1L, TaskChangedEvent.Type.CREATED, BASE);
+        TaskChange old = append(2L, TaskChangedEvent.Type.CREATED, BASE.plusDays(1));
+        TaskChange recent = append(3L, TaskChangedEvent.Type.CREATED, BASE.plusDays(10));
+
+        // When
+        Long lastExpired = taskChangeRepository.findLastSeqBefore(WS, BASE.plusDays(5));
+        taskChangeRepository.deleteThrough(WS, lastExpired);
+
+        // Then
+        assertEquals(old.getSeq(), lastExpired);
+        assertEquals(recent.getSeq(), taskChangeRepository.findFirstSeq(WS));
+        assertEquals(recent.getSeq(), taskChangeRepository.findLastSeq(WS));
+    }
+
+    @Test
+    void eachWorkspaceSeesOnlyItsOwnEntries() {
+        // Given
+        TaskChange own = append(1L, TaskChangedEvent.Type.CREATED, BASE);
+        TaskChange other = taskChangeRepository.saveAndFlush(
+                new TaskChange("acme", 2L, TaskChangedEvent.Type.CREATED, BASE.plusHours(1)));
+
+        // When
+        List<TaskChange> changes = taskChangeRepository.findAfter(WS, 0L, PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(List.of(own.getSeq()), changes.stream().map(TaskChange::getSeq).toList());
+        assertEquals(own.getSeq(), taskChangeRepository.findLastSeq(WS));
+        assertEquals(other.getSeq(), taskChangeRepository.findFirstSeq("acme"));
+    }
+
+    @Test
+    void lockHeadCreatesTheHeadOnceAndMovesIt() {
+        // When
+        taskChangeRepository.lockHead(WS, BASE);
+        taskChangeRepository.lockHead(WS, BASE.plusHours(1));
+        taskChangeRepository.lockHead("acme", BASE);
+
+        // Then
+        assertEquals(BASE.plusHours(1), jdbcTemplate.queryForObject(
+                "SELECT appended_at FROM task_change_heads WHERE workspace = ?", LocalDateTime.class, WS));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_change_heads", Integer.class));
+    }
+
+    private TaskChange append(Long taskId, TaskChangedEvent.Type type, LocalDateTime changedAt) {
+        return taskChangeRepository.saveAndFlush(new TaskChange(WS, taskId, type, changedAt));
+    }
+}
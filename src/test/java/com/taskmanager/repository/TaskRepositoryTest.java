@@ -0,0 +1,219 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskFilter;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskSortKey;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.model.TaskSummary;
+import com.taskmanager.workspace.WorkspaceContext;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class TaskRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 9, 0);
+    private static final String WS = WorkspaceContext.DEFAULT;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Task alpha;
+    private Task beta;
+    private Task gamma;
+    private Task delta;
+
+    @BeforeEach
+    void setUp() {
+        alpha = save("Alpha", TaskStatus.PENDING, TaskPriority.HIGH, BASE, BASE.plusDays(2));
+        beta = save("Beta", TaskStatus.PENDING, TaskPriority.LOW, BASE.plusHours(1), BASE.plusDays(10));
+        gamma = save("Gamma", TaskStatus.COMPLETED, TaskPriority.HIGH, BASE.plusHours(1), BASE.plusDays(3));
+        delta = save("Delta", TaskStatus.PENDING, TaskPriority.HIGH, BASE.plusHours(2), null);
+    }
+
+    @Test
+    void testKeysetPages_CoverEveryTaskOnceInOrder() {
+        PageRequest two = PageRequest.of(0, 2);
+
+        List<Task> first = taskRepository.findFirstPage(WS, two);
+        Task last = first.get(1);
+        List<Task> second = taskRepository.findPageAfter(WS, last.getCreatedAt(), last.getId(), two);
+        Task secondLast = second.get(1);
+        List<Task> third = taskRepository.findPageAfter(WS, secondLast.getCreatedAt(), secondLast.getId(), two);
+
+        Task newerOfTie = gamma.getId() > beta.getId() ? gamma : beta;
+        Task olderOfTie = newerOfTie == gamma ? beta : gamma;
+        assertEquals(List.of(delta.getId(), newerOfTie.getId()), ids(first));
+        assertEquals(List.of(olderOfTie.getId(), alpha.getId()), ids(second));
+        assertTrue(third.isEmpty());
+    }
+
+    @Test
+    void testFilter_CombinesStatusAndPriority() {
+        TaskFilter filter = new TaskFilter(TaskStatus.PENDING, TaskPriority.HIGH, null, null, TaskSortKey.OLDEST);
+
+        List<Task> result = taskRepository.findAll(sorted(filter));
+
+        assertEquals(List.of(alpha.getId(), delta.getId()), ids(result));
+    }
+
+    @Test
+    void testFilter_DueWindowIsInclusiveOfBothDays() {
+        TaskFilter filter = TaskFilter.of(null, null, LocalDate.of(2024, 3, 3), LocalDate.of(2024, 3, 4),
+                TaskSortKey.DUE_DATE);
+
+        List<Task> result = taskRepository.findAll(sorted(filter));
+
+        assertEquals(List.of(alpha.getId(), gamma.getId()), ids(result));
+    }
+
+    @Test
+    void testFilter_WithoutCriteriaSortsUndatedTasksLast() {
+        TaskFilter filter = new TaskFilter(null, null, null, null, TaskSortKey.DUE_DATE);
+
+        List<Task> result = taskRepository.findAll(sorted(filter));
+
+        assertEquals(List.of(alpha.getId(), gamma.getId(), beta.getId(), delta.getId()), ids(result));
+    }
+
+    @Test
+    void testSummaryPages_MatchEntityPagesWithoutManagingEntities() {
+        entityManager.clear();
+        PageRequest two = PageRequest.of(0, 2);
+
+        List<TaskSummary> first = taskRepository.findFirstSummaryPage(WS, two);
+        TaskSummary last = first.get(1);
+        List<TaskSummary> second = taskRepository.findSummaryPageAfter(WS, last.getCreatedAt(), last.getId(), two);
+
+        assertEquals(ids(taskRepository.findFirstPage(WS, PageRequest.of(0, 4))),
+                Stream.concat(first.stream(), second.stream()).map(TaskSummary::getId).toList());
+        entityManager.clear();
+        taskRepository.findFirstSummaryPage(WS, two);
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void testSummaries_TruncateLongDescriptions() {
+        alpha.setDescription("x".repeat(TaskSummary.DESCRIPTION_PREVIEW_LENGTH + 50));
+        taskRepository.saveAndFlush(alpha);
+        TaskFilter filter = new TaskFilter(TaskStatus.PENDING, TaskPriority.HIGH, null, null, TaskSortKey.OLDEST);
+
+        List<TaskSummary> result = taskRepository.findSummaries(sorted(filter), Sort.unsorted());
+
+        assertEquals(List.of(alpha.getId(), delta.getId()), result.stream().map(TaskSummary::getId).toList());
+        assertEquals(TaskSummary.DESCRIPTION_PREVIEW_LENGTH, result.get(0).getDescriptionPreview().length());
+        assertTrue(result.get(0).isDescriptionTruncated());
+        assertNull(result.get(1).getDescriptionPreview());
+        assertFalse(result.get(1).isDescriptionTruncated());
+    }
+
+    @Test
+    void testUpdateStatus_ReturnsPreviousRowsInOneStatement() {
+        entityManager.clear();
+        LocalDateTime now = BASE.plusDays(1);
+
+        List<Task> previous = taskRepository.updateStatusReturningPrevious(WS,
+                List.of(alpha.getId(), gamma.getId(), -1L), TaskStatus.IN_PROGRESS.name(), now);
+
+        assertEquals(2, previous.size());
+        assertTrue(previous.stream().anyMatch(task -> task.getStatus() == TaskStatus.COMPLETED));
+        entityManager.clear();
+        Task reloaded = taskRepository.findById(gamma.getId()).orElseThrow();
+        assertEquals(TaskStatus.IN_PROGRESS, reloaded.getStatus());
+        assertEquals(now, reloaded.getUpdatedAt());
+    }
+
+    @Test
+    void testUpdateDetails_WhenTaskIsMissing_AffectsNoRows() {
+        List<Task> previous = taskRepository.updateDetailsReturningPrevious(WS, -1L, "Title", null,
+                TaskStatus.PENDING.name(), TaskPriority.LOW.name(), null, BASE, 0L);
+
+        assertTrue(previous.isEmpty());
+    }
+
+    @Test
+    void testUpdateDetails_WithStaleVersion_AffectsNoRows() {
+        entityManager.clear();
+        Long version = alpha.getVersion();
+
+        List<Task> first = taskRepository.updateDetailsReturningPrevious(WS, alpha.getId(), "First", null,
+                TaskStatus.PENDING.name(), TaskPriority.HIGH.name(), null, BASE, version);
+        List<Task> second = taskRepository.updateDetailsReturningPrevious(WS, alpha.getId(), "Second", null,
+                TaskStatus.PENDING.name(), TaskPriority.HIGH.name(), null, BASE, version);
+
+        assertEquals(1, first.size());
+        assertTrue(second.isEmpty());
+        entityManager.clear();
+        Task reloaded = taskRepository.findById(alpha.getId()).orElseThrow();
+        assertEquals("First", reloaded.getTitle());
+        assertEquals(version + 1, reloaded.getVersion());
+    }
+
+    @Test
+    void testDelete_ReturnsDeletedRow() {
+        entityManager.clear();
+
+        List<Task> previous = taskRepository.deleteReturningPrevious(WS, List.of(beta.getId()));
+
+        assertEquals(List.of(beta.getId()), ids(previous));
+        assertEquals(TaskPriority.LOW, previous.get(0).getPriority());
+        entityManager.clear();
+        assertFalse(taskRepository.existsById(beta.getId()));
+    }
+
+    @Test
+    void testWorkspaces_QueriesAndMutationsStayInTheirWorkspace() {
+        Task other = save("Other", TaskStatus.PENDING, TaskPriority.HIGH, BASE.plusHours(3), BASE.plusDays(1));
+        other.setWorkspace("acme");
+        taskRepository.saveAndFlush(other);
+        entityManager.clear();
+
+        List<Task> page = taskRepository.findFirstPage(WS, PageRequest.of(0, 10));
+        List<Task> changed = taskRepository.updateStatusReturningPrevious(WS, List.of(other.getId()),
+                TaskStatus.COMPLETED.name(), BASE);
+
+        assertEquals(4, page.size());
+        assertFalse(ids(page).contains(other.getId()));
+        assertTrue(changed.isEmpty());
+        assertFalse(taskRepository.existsByIdAndWorkspace(other.getId(), WS));
+        assertEquals(List.of(other.getId()), ids(taskRepository.findFirstPage("acme", PageRequest.of(0, 10))));
+    }
+
+    private Task save(String title, TaskStatus status, TaskPriority priority,
+                      LocalDateTime createdAt, LocalDateTime dueDate) {
+        Task task = new Task(title, null);
+        task.setStatus(status);
+        task.setPriority(priority);
+        task.setCreatedAt(createdAt);
+        task.setDueDate(dueDate);
+        return taskRepository.saveAndFlush(task);
+    }
+
+    private static Specification<Task> sorted(TaskFilter filter) {
+        return TaskSpecifications.matching(filter).and(TaskSpecifications.sortedBy(filter.getSort()));
+    }
+
+    private List<Long> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.taskmanager.search;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskSearchIndexTest {
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskSearchIndex();
+        index.index(task(1L, "Write quarterly report", "Summarize sales numbers"));
+        index.index(task(2L, "Review pull request", "Check the report generator changes"));
+        index.index(task(3L, "Plan team offsite", "Book venue and catering"));
+    }
+
+    @Test
+    void testSearch_MatchesTitleAndDescription() {
+        List<Long> result = index.search("report", 10);
+        assertEquals(Arrays.asList(1L, 2L), result, "Title matches should rank above description matches");
+    }
+
+    @Test
+    void testSearch_MatchesByPrefix() {
+        assertEquals(List.of(3L), index.search("off", 10));
+        assertEquals(List.of(3L), index.search("CATER", 10));
+    }
+
+    @Test
+    void testSearch_RequiresAllTerms() {
+        assertEquals(List.of(2L), index.search("report review", 10));
+        assertTrue(index.search("report venue", 10).isEmpty());
+    }
+
+    @Test
+    void testSearch_RespectsLimit() {
+        assertEquals(1, index.search("re", 1).size());
+    }
+
+    @Test
+    void testSearch_WithBlankQuery() {
+        assertTrue(index.search("   ", 10).isEmpty());
+        assertTrue(index.search(null, 10).isEmpty());
+    }
+
+    @Test
+    void testIndex_ReplacesPreviousTerms() {
+        index.index(task(1L, "Write annual summary", null));
+
+        assertEquals(List.of(2L), index.search("report", 10));
+        assertEquals(List.of(1L), index.search("annual", 10));
+    }
+
+    @Test
+    void testOnTaskChanged_DeletedRemovesTask() {
+        index.onTaskChanged(TaskChangedEvent.deleted(1L));
+
+        assertEquals(List.of(2L), index.search("report", 10));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testOnTaskChanged_CreatedIndexesTask() {
+        index.onTaskChanged(TaskChangedEvent.created(task(4L, "Renew report subscription", null)));
+
+        assertEquals(Arrays.asList(4L, 1L, 2L), index.search("report", 10));
+    }
+
+    private Task task(Long id, String title, String description) {
+        Task task = new Task(title, description);
+        task.setId(id);
+        return task;
+    }
+}
@@ -0,0 +1,178 @@
+package com.taskmanager.service;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.store.TaskStore;
+import com.taskmanager.workspace.WorkspaceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OverdueTaskTrackerTest {
+
+    @Mock
+    private TaskStore taskStore;
+
+    @Mock
+    private TaskChangeVersion changeVersion;
+
+    @InjectMocks
+    private OverdueTaskTracker tracker;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    void testReload_SplitsOverdueAndUpcoming() {
+        // Given
+        when(taskStore.findOpenTasksWithDueDate()).thenReturn(Arrays.asList(
+                task(1L, now.minusDays(1), TaskStatus.PENDING),
+                task(2L, now.plusDays(1), TaskStatus.IN_PROGRESS)));
+
+        // When
+        tracker.reload();
+
+        // Then
+        assertEquals(List.of(1L), ids(tracker.getOverdueTasks()));
+        assertEquals(2, tracker.getTrackedCount());
+    }
+
+    @Test
+    void testSweep_MovesPassedDeadlinesToOverdue() {
+        // Given
+        tracker.track(task(1L, now.plusMinutes(5), TaskStatus.PENDING));
+        tracker.track(task(2L, now.plusHours(2), TaskStatus.PENDING));
+
+        // When
+        int moved = tracker.sweep(now.plusMinutes(10));
+
+        // Then
+        assertEquals(1, moved);
+        assertEquals(List.of(1L), ids(tracker.getOverdueTasks()));
+        verify(changeVersion).bump(WorkspaceContext.DEFAULT);
+    }
+
+    @Test
+    void testSweep_WithNothingDue_KeepsChangeVersion() {
+        // Given
+        tracker.track(task(1L, now.plusHours(2), TaskStatus.PENDING));
+
+        // When
+        int moved = tracker.sweep(now);
+
+        // Then
+        assertEquals(0, moved);
+        verify(changeVersion, never()).bump(any());
+    }
+
+    @Test
+    void testGetOverdueTasks_OrderedByDueDate() {
+        // Given
+        tracker.track(task(1L, now.minusHours(1), TaskStatus.PENDING));
+        tracker.track(task(2L, now.minusDays(2), TaskStatus.CANCELLED));
+        tracker.track(task(3L, now.minusDays(1), TaskStatus.IN_PROGRESS));
+
+        // When & Then
+        assertEquals(Arrays.asList(2L, 3L, 1L), ids(tracker.getOverdueTasks()));
+    }
+
+    @Test
+    void testGetOverdueTasks_HandsOutCopiesWithTheirVersion() {
+        // Given
+        Task tracked = task(1L, now.minusHours(1), TaskStatus.PENDING);
+        tracked.setVersion(7L);
+        tracker.track(tracked);
+
+        // When
+        Task first = tracker.getOverdueTasks().get(0);
+        first.setTitle("Changed by a caller");
+
+        // Then
+        Task second = tracker.getOverdueTasks().get(0);
+        assertEquals(7L, second.getVersion());
+        assertEquals("Task 1", second.getTitle());
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void testTrack_CompletedOrUndatedTasksAreIgnored() {
+        // Given
+        tracker.track(task(1L, now.minusDays(1), TaskStatus.COMPLETED));
+        tracker.track(task(2L, null, TaskStatus.PENDING));
+
+        // When & Then
+        assertTrue(tracker.getOverdueTasks().isEmpty());
+        assertEquals(0, tracker.getTrackedCount());
+    }
+
+    @Test
+    void testOnTaskChanged_CompletingOverdueTaskRemovesIt() {
+        // Given
+        Task task = task(1L, now.minusDays(1), TaskStatus.PENDING);
+        tracker.onTaskChanged(TaskChangedEvent.created(task));
+        assertEquals(1, tracker.getOverdueTasks().size());
+
+        // When
+        task.setStatus(TaskStatus.COMPLETED);
+        tracker.onTaskChanged(TaskChangedEvent.updated(task));
+
+        // Then
+        assertTrue(tracker.getOverdueTasks().isEmpty());
+    }
+
+    @Test
+    void testOnTaskChanged_MovingDueDateForwardClearsOverdue() {
+        // Given
+        Task task = task(1L, now.minusDays(1), TaskStatus.PENDING);
+        tracker.track(task);
+
+        // When
+        task.setDueDate(now.plusDays(3));
+        tracker.onTaskChanged(TaskChangedEvent.updated(task));
+
+        // Then
+        assertTrue(tracker.getOverdueTasks().isEmpty());
+        assertEquals(1, tracker.getTrackedCount());
+    }
+
+    @Test
+    void testOnTaskChanged_DeletedTaskIsUntracked() {
+        // Given
+        tracker.track(task(1L, now.minusDays(1), TaskStatus.PENDING));
+
+        // When
+        tracker.onTaskChanged(TaskChangedEvent.deleted(1L));
+
+        // Then
+        assertTrue(tracker.getOverdueTasks().isEmpty());
+        assertEquals(0, tracker.getTrackedCount());
+    }
+
+    private Task task(Long id, LocalDateTime dueDate, TaskStatus status) {
+        Task task = new Task("Task " + id, null);
+        task.setId(id);
+        task.setDueDate(dueDate);
+        task.setStatus(status);
+        return task;
+    }
+
+    private List<Long> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+}
@@ -0,0 +1,121 @@
+package com.taskmanager.service;
+
+import com.taskmanager.workspace.ShardMap;
+import com.taskmanager.workspace.WorkspaceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskArchiverTest {
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private ShardMap shardMap;
+
+    @InjectMocks
+    private TaskArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(archiver, "enabled", true);
+        ReflectionTestUtils.setField(archiver, "minAge", Duration.ofDays(30));
+        ReflectionTestUtils.setField(archiver, "batchSize", 2);
+        ReflectionTestUtils.setField(archiver, "batchPauseMs", 0L);
+        ReflectionTestUtils.setField(archiver, "maxBatches", 5);
+        lenient().when(taskService.supportsArchive()).thenReturn(true);
+    }
+
+    @Test
+    void archivesBatchesUntilOneComesBackShort() {
+        // Given
+        LocalDateTime cutoff = LocalDateTime.of(2024, 3, 1, 0, 0);
+        when(taskService.archiveTasks(cutoff, 2)).thenReturn(2, 2, 1);
+
+        // When
+        int archived = archiver.archiveOlderThan(cutoff);
+
+        // Then
+        assertEquals(5, archived);
+        verify(taskService, times(3)).archiveTasks(cutoff, 2);
+    }
+
+    @Test
+    void stopsAfterMaxBatchesPerRun() {
+        // Given
+        when(taskService.archiveTasks(any(LocalDateTime.class), eq(2))).thenReturn(2);
+
+        // When
+        int archived = archiver.archiveOlderThan(LocalDateTime.now());
+
+        // Then
+        assertEquals(10, archived);
+        verify(taskService, times(5)).archiveTasks(any(LocalDateTime.class), eq(2));
+    }
+
+    @Test
+    void usesMinimumAgeAsCutoff() {
+        // Given
+        when(shardMap.getWorkspaces()).thenReturn(List.of(WorkspaceContext.DEFAULT));
+        when(taskService.archiveTasks(any(LocalDateTime.class), eq(2))).thenReturn(0);
+
+        // When
+        archiver.archiveDue();
+
+        // Then
+        verify(taskService).archiveTasks(argThat(cutoff ->
+                cutoff.isBefore(LocalDateTime.now().minusDays(29))), eq(2));
+    }
+
+    @Test
+    void skipsWorkspacesBeingMoved() {
+        // Given
+        when(shardMap.getWorkspaces()).thenReturn(List.of("acme"));
+        when(shardMap.isMoving("acme")).thenReturn(true);
+
+        // When
+        archiver.archiveDue();
+
+        // Then
+        verify(taskService, never()).archiveTasks(any(), anyInt());
+    }
+
+    @Test
+    void storeWithoutArchiveIsSkipped() {
+        // Given
+        when(taskService.supportsArchive()).thenReturn(false);
+
+        // When
+        archiver.archiveDue();
+
+        // Then
+        verify(taskService, never()).archiveTasks(any(), anyInt());
+        verifyNoInteractions(shardMap);
+    }
+
+    @Test
+    void disabledArchiverDoesNothing() {
+        // Given
+        ReflectionTestUtils.setField(archiver, "enabled", false);
+
+        // When
+        archiver.archiveDue();
+
+        // Then
+        verifyNoInteractions(taskService);
+    }
+}
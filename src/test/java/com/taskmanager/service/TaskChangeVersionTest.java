@@ -0,0 +1,30 @@
+package com.taskmanager.service;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.model.Task;
+import com.taskmanager.workspace.WorkspaceContext;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class TaskChangeVersionTest {
+
+    private final TaskChangeVersion changeVersion = new TaskChangeVersion();
+
+    @Test
+    void changeInAnotherWorkspaceLeavesVersionAlone() {
+        // Given
+        long before = changeVersion.getVersion();
+        long acmeBefore = WorkspaceContext.call("acme", changeVersion::getVersion);
+        Task task = new Task("Acme task", "Elsewhere");
+        task.setId(1L);
+
+        // When
+        WorkspaceContext.run("acme", () -> changeVersion.onTaskChanged(TaskChangedEvent.created(task)));
+
+        // Then
+        assertEquals(before, changeVersion.getVersion());
+        assertNotEquals(acmeBefore, (long) WorkspaceContext.call("acme", changeVersion::getVersion));
+    }
+}
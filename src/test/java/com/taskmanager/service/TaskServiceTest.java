@@ -1,17 +1,33 @@
 package com.taskmanager.service;
 
+import com.taskmanager.cache.TaskCache;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.model.ArchivedTask;
 import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskCursor;
+import com.taskmanager.model.TaskFilter;
+import com.taskmanager.model.TaskPage;
+import com.taskmanager.model.TaskSortKey;
 import com.taskmanager.model.TaskStatus;
+import com.taskmanager.model.TaskSummary;
 import com.taskmanager.model.TaskPriority;
-import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.search.TaskSearchIndex;
+import com.taskmanager.store.TaskStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -24,7 +40,28 @@ import static org.mockito.Mockito.*;
 class TaskServiceTest {
 
     @Mock
-    private TaskRepository taskRepository;
+    private TaskStore taskStore;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private OverdueTaskTracker overdueTaskTracker;
+
+    @Spy
+    private TaskCache taskCache = new TaskCache(100, 60);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskWriteBehindQueue writeBehindQueue;
+
+    @Mock
+    private TaskChangeVersion taskChangeVersion;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private TaskService taskService;
@@ -39,18 +76,20 @@ class TaskServiceTest {
         testTask.setStatus(TaskStatus.PENDING);
         testTask.setPriority(TaskPriority.MEDIUM);
         testTask.setDueDate(LocalDateTime.now().plusDays(7));
+        testTask.setVersion(3L);
 
         testTask2 = new Task("Test Task 2", "Test Description 2");
         testTask2.setId(2L);
         testTask2.setStatus(TaskStatus.IN_PROGRESS);
         testTask2.setPriority(TaskPriority.HIGH);
+        testTask2.setVersion(0L);
     }
 
     @Test
     void testGetAllTasks() {
         // Given
         List<Task> expectedTasks = Arrays.asList(testTask, testTask2);
-        when(taskRepository.findAllByOrderByCreatedAtDesc()).thenReturn(expectedTasks);
+        when(taskStore.findAllByOrderByCreatedAtDesc()).thenReturn(expectedTasks);
 
         // When
         List<Task> actualTasks = taskService.getAllTasks();
@@ -58,41 +97,146 @@ class TaskServiceTest {
         // Then
         assertEquals(expectedTasks.size(), actualTasks.size());
         assertEquals(expectedTasks, actualTasks);
-        verify(taskRepository).findAllByOrderByCreatedAtDesc();
+        verify(taskStore).findAllByOrderByCreatedAtDesc();
+    }
+
+    @Test
+    void testGetTaskPage_FirstPageWithMoreResults() {
+        // Given
+        Task testTask3 = new Task("Test Task 3", "Test Description 3");
+        testTask3.setId(3L);
+        when(taskStore.findFirstSummaryPage(3))
+                .thenReturn(summaries(testTask2, testTask, testTask3));
+
+        // When
+        TaskPage page = taskService.getTaskPage(null, 2);
+
+        // Then
+        assertEquals(summaries(testTask2, testTask), page.getTasks());
+        assertTrue(page.hasNext());
+        TaskCursor next = TaskCursor.decode(page.getNextCursor());
+        assertEquals(testTask.getId(), next.getId());
+        assertEquals(testTask.getCreatedAt(), next.getCreatedAt());
+    }
+
+    @Test
+    void testGetTaskPage_AfterCursorOnLastPage() {
+        // Given
+        String cursor = TaskCursor.of(testTask2).encode();
+        when(taskStore.findSummaryPageAfter(testTask2.getCreatedAt(), 2L, 3))
+                .thenReturn(summaries(testTask));
+
+        // When
+        TaskPage page = taskService.getTaskPage(cursor, 2);
+
+        // Then
+        assertEquals(summaries(testTask), page.getTasks());
+        assertFalse(page.hasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetTaskPage_ClampsPageSize() {
+        // Given
+        when(taskStore.findFirstSummaryPage(anyInt())).thenReturn(Arrays.asList());
+
+        // When
+        TaskPage page = taskService.getTaskPage(null, 10_000);
+
+        // Then
+        assertEquals(TaskService.MAX_PAGE_SIZE, page.getSize());
+        verify(taskStore).findFirstSummaryPage(TaskService.MAX_PAGE_SIZE + 1);
+    }
+
+    @Test
+    void testGetTaskPage_WithMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTaskPage("not a cursor", 10));
+        verifyNoInteractions(taskStore);
     }
 
     @Test
     void testGetTaskById_WhenTaskExists() {
         // Given
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+        when(taskStore.findById(1L)).thenReturn(Optional.of(testTask));
 
         // When
         Optional<Task> result = taskService.getTaskById(1L);
 
         // Then
         assertTrue(result.isPresent());
-        assertEquals(testTask, result.get());
-        verify(taskRepository).findById(1L);
+        assertEquals(testTask.getId(), result.get().getId());
+        assertEquals(testTask.getTitle(), result.get().getTitle());
+        verify(taskStore).findById(1L);
+    }
+
+    @Test
+    void testGetTaskById_SecondLookupIsServedFromCache() {
+        // Given
+        when(taskStore.findById(1L)).thenReturn(Optional.of(testTask));
+
+        // When
+        taskService.getTaskById(1L);
+        Optional<Task> result = taskService.getTaskById(1L);
+
+        // Then
+        assertEquals(testTask.getId(), result.get().getId());
+        verify(taskStore, times(1)).findById(1L);
+        assertEquals(1, taskService.getCacheStats().get("tasksById").getHits());
+    }
+
+    @Test
+    void testGetTaskById_ChangingResultLeavesCacheIntact() {
+        // Given
+        when(taskStore.findById(1L)).thenReturn(Optional.of(testTask));
+        Task first = taskService.getTaskById(1L).get();
+
+        // When
+        first.setTitle("Edited but not saved");
+        first.setStatus(TaskStatus.CANCELLED);
+        Optional<Task> second = taskService.getTaskById(1L);
+
+        // Then
+        assertNotSame(first, second.get());
+        assertEquals("Test Task", second.get().getTitle());
+        assertEquals(TaskStatus.PENDING, second.get().getStatus());
+        verify(taskStore, times(1)).findById(1L);
+    }
+
+    @Test
+    void testGetTaskById_IsReloadedAfterUpdate() {
+        // Given
+        when(taskStore.findById(1L)).thenReturn(Optional.of(testTask));
+        when(taskStore.updateStatusReturningPrevious(eq(List.of(1L)), eq(TaskStatus.COMPLETED), any(LocalDateTime.class)))
+                .thenReturn(List.of(testTask));
+        taskService.getTaskById(1L);
+
+        // When
+        taskService.updateTaskStatus(1L, TaskStatus.COMPLETED);
+        taskCache.onTaskChanged(TaskChangedEvent.updated(testTask, TaskStatus.PENDING, TaskPriority.MEDIUM));
+        taskService.getTaskById(1L);
+
+        // Then
+        verify(taskStore, times(2)).findById(1L);
     }
 
     @Test
     void testGetTaskById_WhenTaskDoesNotExist() {
         // Given
-        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+        when(taskStore.findById(999L)).thenReturn(Optional.empty());
 
         // When
         Optional<Task> result = taskService.getTaskById(999L);
 
         // Then
         assertFalse(result.isPresent());
-        verify(taskRepository).findById(999L);
+        verify(taskStore).findById(999L);
     }
 
     @Test
     void testCreateTask() {
         // Given
         Task newTask = new Task("New Task", "New Description");
-        when(taskRepository.save(any(Task.class))).thenReturn(newTask);
+        when(taskStore.save(any(Task.class))).thenReturn(newTask);
 
         // When
         Task result = taskService.createTask(newTask);
@@ -101,7 +245,55 @@ class TaskServiceTest {
         assertNotNull(result);
         assertEquals("New Task", result.getTitle());
         assertEquals("New Description", result.getDescription());
-        verify(taskRepository).save(newTask);
+        verify(taskStore).save(newTask);
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(TaskChangedEvent.Type.CREATED, event.getValue().getType());
+        assertSame(newTask, event.getValue().getTask());
+    }
+
+    @Test
+    void testCreateTask_IgnoresIdAndVersionFromCaller() {
+        // Given
+        Task newTask = new Task("New Task", "New Description");
+        newTask.setId(1L);
+        newTask.setVersion(7L);
+        when(taskStore.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        taskService.createTask(newTask);
+
+        // Then
+        ArgumentCaptor<Task> saved = ArgumentCaptor.forClass(Task.class);
+        verify(taskStore).save(saved.capture());
+        assertNull(saved.getValue().getId());
+        assertNull(saved.getValue().getVersion());
+    }
+
+    @Test
+    void testSearchTasks_ReturnsTasksInRankedOrder() {
+        // Given
+        when(taskSearchIndex.search("test", 20)).thenReturn(Arrays.asList(2L, 1L));
+        when(taskStore.findAllById(Arrays.asList(2L, 1L))).thenReturn(Arrays.asList(testTask, testTask2));
+
+        // When
+        List<Task> result = taskService.searchTasks("test", 20);
+
+        // Then
+        assertEquals(Arrays.asList(testTask2, testTask), result);
+    }
+
+    @Test
+    void testSearchTasks_WithNoMatches() {
+        // Given
+        when(taskSearchIndex.search("nothing", 20)).thenReturn(List.of());
+
+        // When
+        List<Task> result = taskService.searchTasks("nothing", 20);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(taskStore, never()).findAllById(any());
     }
 
     @Test
@@ -110,97 +302,212 @@ class TaskServiceTest {
         Task updateData = new Task("Updated Task", "Updated Description");
         updateData.setStatus(TaskStatus.COMPLETED);
         updateData.setPriority(TaskPriority.URGENT);
+        updateData.setVersion(3L);
 
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
-        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+        when(taskStore.updateDetailsReturningPrevious(eq(1L), same(updateData), any(LocalDateTime.class), eq(3L)))
+                .thenReturn(List.of(testTask));
 
         // When
         Task result = taskService.updateTask(1L, updateData);
 
         // Then
-        assertNotNull(result);
-        verify(taskRepository).findById(1L);
-        verify(taskRepository).save(any(Task.class));
+        assertEquals("Updated Task", result.getTitle());
+        assertEquals(TaskStatus.COMPLETED, result.getStatus());
+        assertNull(result.getDueDate());
+        assertEquals(4L, result.getVersion());
+        verify(taskStore, never()).findById(any());
+        verify(taskStore, never()).save(any(Task.class));
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(TaskStatus.PENDING, event.getValue().getPreviousStatus());
+        assertEquals(TaskPriority.MEDIUM, event.getValue().getPreviousPriority());
     }
 
     @Test
     void testUpdateTask_WhenTaskDoesNotExist() {
         // Given
         Task updateData = new Task("Updated Task", "Updated Description");
-        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+        updateData.setVersion(0L);
+        when(taskStore.updateDetailsReturningPrevious(eq(999L), any(), any(), any()))
+                .thenReturn(List.of());
 
         // When
         Task result = taskService.updateTask(999L, updateData);
 
         // Then
         assertNull(result);
-        verify(taskRepository).findById(999L);
-        verify(taskRepository, never()).save(any(Task.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testUpdateTask_WithoutVersion_IsRejected() {
+        // Given
+        Task updateData = new Task("Updated Task", "Updated Description");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> taskService.updateTask(1L, updateData));
+        verifyNoInteractions(taskStore, eventPublisher);
+    }
+
+    @Test
+    void testUpdateTask_WithStaleVersion_ThrowsConflict() {
+        // Given
+        Task updateData = new Task("Updated Task", "Updated Description");
+        updateData.setVersion(2L);
+        when(taskStore.updateDetailsReturningPrevious(eq(1L), any(), any(), eq(2L)))
+                .thenReturn(List.of());
+        when(taskStore.existsById(1L)).thenReturn(true);
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () -> taskService.updateTask(1L, updateData));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testUpdateTask_WithVersionForMissingTask_ReturnsNull() {
+        // Given
+        Task updateData = new Task("Updated Task", "Updated Description");
+        when(taskStore.updateDetailsReturningPrevious(eq(999L), any(), any(), eq(2L)))
+                .thenReturn(List.of());
+        when(taskStore.existsById(999L)).thenReturn(false);
+
+        // When
+        Task result = taskService.updateTask(999L, updateData, 2L);
+
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    void testReplaceTask_RetriesAtTheNewVersionWhenItMovesOn() {
+        // Given
+        Task updateData = new Task("Updated Task", "Updated Description");
+        Task moved = new Task("Test Task", "Changed elsewhere");
+        moved.setId(1L);
+        moved.setVersion(4L);
+        when(taskStore.findById(1L)).thenReturn(Optional.of(testTask), Optional.of(moved));
+        when(taskStore.updateDetailsReturningPrevious(eq(1L), same(updateData), any(LocalDateTime.class), eq(3L)))
+                .thenReturn(List.of());
+        when(taskStore.existsById(1L)).thenReturn(true);
+        when(taskStore.updateDetailsReturningPrevious(eq(1L), same(updateData), any(LocalDateTime.class), eq(4L)))
+                .thenReturn(List.of(moved));
+
+        // When
+        Task result = taskService.replaceTask(1L, updateData);
+
+        // Then
+        assertEquals("Updated Task", result.getTitle());
+        assertEquals(5L, result.getVersion());
+        verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void testReplaceTask_WhenTaskDoesNotExist() {
+        // Given
+        when(taskStore.findById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertNull(taskService.replaceTask(999L, new Task("Updated Task", "Updated Description")));
+        verify(taskStore, never()).updateDetailsReturningPrevious(any(), any(), any(), any());
     }
 
     @Test
     void testDeleteTask_WhenTaskExists() {
         // Given
-        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(taskStore.deleteReturningPrevious(List.of(1L))).thenReturn(List.of(testTask));
 
         // When
         boolean result = taskService.deleteTask(1L);
 
         // Then
         assertTrue(result);
-        verify(taskRepository).existsById(1L);
-        verify(taskRepository).deleteById(1L);
+        verify(taskStore, never()).findById(any());
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(TaskChangedEvent.Type.DELETED, event.getValue().getType());
+        assertEquals(TaskStatus.PENDING, event.getValue().getPreviousStatus());
+        assertEquals(TaskPriority.MEDIUM, event.getValue().getPreviousPriority());
     }
 
     @Test
     void testDeleteTask_WhenTaskDoesNotExist() {
         // Given
-        when(taskRepository.existsById(999L)).thenReturn(false);
+        when(taskStore.deleteReturningPrevious(List.of(999L))).thenReturn(List.of());
 
         // When
         boolean result = taskService.deleteTask(999L);
 
         // Then
         assertFalse(result);
-        verify(taskRepository).existsById(999L);
-        verify(taskRepository, never()).deleteById(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void testGetTasksByStatus() {
         // Given
         List<Task> expectedTasks = Arrays.asList(testTask);
-        when(taskRepository.findByStatusOrderByCreatedAtDesc(TaskStatus.PENDING)).thenReturn(expectedTasks);
+        when(taskStore.findByStatusOrderByCreatedAtDesc(TaskStatus.PENDING)).thenReturn(expectedTasks);
 
         // When
         List<Task> result = taskService.getTasksByStatus(TaskStatus.PENDING);
 
         // Then
-        assertEquals(expectedTasks.size(), result.size());
-        assertEquals(expectedTasks, result);
-        verify(taskRepository).findByStatusOrderByCreatedAtDesc(TaskStatus.PENDING);
+        assertEquals(ids(expectedTasks), ids(result));
+        verify(taskStore).findByStatusOrderByCreatedAtDesc(TaskStatus.PENDING);
+    }
+
+    @Test
+    void testGetTasksByStatus_IsCachedUntilInvalidated() {
+        // Given
+        when(taskStore.findByStatusOrderByCreatedAtDesc(TaskStatus.PENDING)).thenReturn(Arrays.asList(testTask));
+
+        // When
+        taskService.getTasksByStatus(TaskStatus.PENDING);
+        taskService.getTasksByStatus(TaskStatus.PENDING);
+        taskCache.onTaskChanged(TaskChangedEvent.updated(testTask2, TaskStatus.IN_PROGRESS, TaskPriority.HIGH));
+        taskService.getTasksByStatus(TaskStatus.PENDING);
+        taskCache.onTaskChanged(TaskChangedEvent.updated(testTask, TaskStatus.PENDING, TaskPriority.MEDIUM));
+        taskService.getTasksByStatus(TaskStatus.PENDING);
+
+        // Then
+        verify(taskStore, times(2)).findByStatusOrderByCreatedAtDesc(TaskStatus.PENDING);
     }
 
     @Test
     void testGetTasksByPriority() {
         // Given
         List<Task> expectedTasks = Arrays.asList(testTask2);
-        when(taskRepository.findByPriorityOrderByCreatedAtDesc(TaskPriority.HIGH)).thenReturn(expectedTasks);
+        when(taskStore.findByPriorityOrderByCreatedAtDesc(TaskPriority.HIGH)).thenReturn(expectedTasks);
 
         // When
         List<Task> result = taskService.getTasksByPriority(TaskPriority.HIGH);
 
         // Then
-        assertEquals(expectedTasks.size(), result.size());
-        assertEquals(expectedTasks, result);
-        verify(taskRepository).findByPriorityOrderByCreatedAtDesc(TaskPriority.HIGH);
+        assertEquals(ids(expectedTasks), ids(result));
+        verify(taskStore).findByPriorityOrderByCreatedAtDesc(TaskPriority.HIGH);
+    }
+
+    @Test
+    void testFilterTasks_UsesSingleStoreQuery() {
+        // Given
+        TaskFilter filter = new TaskFilter(TaskStatus.PENDING, TaskPriority.HIGH, null, null, TaskSortKey.DUE_DATE);
+        when(taskStore.findSummaries(filter))
+                .thenReturn(summaries(testTask));
+
+        // When
+        List<TaskSummary> result = taskService.filterTasks(filter);
+
+        // Then
+        assertEquals(summaries(testTask), result);
+        verify(taskStore, times(1)).findSummaries(filter);
+        verifyNoMoreInteractions(taskStore);
     }
 
     @Test
     void testGetOverdueTasks() {
         // Given
         List<Task> expectedTasks = Arrays.asList(testTask);
-        when(taskRepository.findOverdueTasks(any(LocalDateTime.class))).thenReturn(expectedTasks);
+        when(overdueTaskTracker.getOverdueTasks()).thenReturn(expectedTasks);
 
         // When
         List<Task> result = taskService.getOverdueTasks();
@@ -208,64 +515,287 @@ class TaskServiceTest {
         // Then
         assertEquals(expectedTasks.size(), result.size());
         assertEquals(expectedTasks, result);
-        verify(taskRepository).findOverdueTasks(any(LocalDateTime.class));
+        verify(overdueTaskTracker).getOverdueTasks();
+        verifyNoInteractions(taskStore);
     }
 
     @Test
     void testUpdateTaskStatus_WhenTaskExists() {
         // Given
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
-        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+        LocalDateTime before = testTask.getUpdatedAt();
+        when(taskStore.updateStatusReturningPrevious(eq(List.of(1L)), eq(TaskStatus.COMPLETED), any(LocalDateTime.class)))
+                .thenReturn(List.of(testTask));
 
         // When
         Task result = taskService.updateTaskStatus(1L, TaskStatus.COMPLETED);
 
         // Then
-        assertNotNull(result);
-        verify(taskRepository).findById(1L);
-        verify(taskRepository).save(any(Task.class));
+        assertEquals(TaskStatus.COMPLETED, result.getStatus());
+        assertFalse(result.getUpdatedAt().isBefore(before));
+        verify(taskStore, never()).findById(any());
+        verify(taskStore, never()).save(any(Task.class));
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(TaskStatus.PENDING, event.getValue().getPreviousStatus());
+    }
+
+    @Test
+    void testUpdateTaskStatus_WithWriteBehind_QueuesInsteadOfWriting() {
+        // Given
+        Task queued = new Task("Test Task", "Test Description");
+        queued.setId(1L);
+        queued.setStatus(TaskStatus.COMPLETED);
+        when(writeBehindQueue.isEnabled()).thenReturn(true);
+        when(taskStore.findById(1L)).thenReturn(Optional.of(testTask));
+        when(writeBehindQueue.applyPending(any(Task.class))).thenReturn(queued);
+
+        // When
+        Task result = taskService.updateTaskStatus(1L, TaskStatus.COMPLETED);
+
+        // Then
+        assertEquals(TaskStatus.COMPLETED, result.getStatus());
+        verify(writeBehindQueue).enqueue(1L, TaskStatus.COMPLETED, null);
+        verify(taskChangeVersion).bump();
+        verify(taskStore, never()).updateStatusReturningPrevious(any(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testUpdateTaskPriority_WithWriteBehind_WhenTaskDoesNotExist() {
+        // Given
+        when(writeBehindQueue.isEnabled()).thenReturn(true);
+        when(taskStore.findById(999L)).thenReturn(Optional.empty());
+
+        // When
+        Task result = taskService.updateTaskPriority(999L, TaskPriority.URGENT);
+
+        // Then
+        assertNull(result);
+        verify(writeBehindQueue, never()).enqueue(any(), any(), any());
+    }
+
+    @Test
+    void testGetTaskPage_FlushesQueuedWritesFirst() {
+        // Given
+        when(writeBehindQueue.hasPending()).thenReturn(true);
+        when(taskStore.findFirstSummaryPage(anyInt())).thenReturn(Arrays.asList());
+
+        // When
+        taskService.getTaskPage(null, 10);
+
+        // Then
+        InOrder order = inOrder(writeBehindQueue, taskStore);
+        order.verify(writeBehindQueue).flush();
+        order.verify(taskStore).findFirstSummaryPage(anyInt());
+    }
+
+    @Test
+    void testGetChangeVersion_LeavesQueuedWritesAlone() {
+        // Given
+        when(taskChangeVersion.getVersion()).thenReturn(42L);
+
+        // When
+        long version = taskService.getChangeVersion();
+
+        // Then
+        assertEquals(42L, version);
+        verify(writeBehindQueue, never()).flush();
     }
 
     @Test
     void testUpdateTaskStatus_WhenTaskDoesNotExist() {
         // Given
-        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+        when(taskStore.updateStatusReturningPrevious(eq(List.of(999L)), eq(TaskStatus.COMPLETED), any(LocalDateTime.class)))
+                .thenReturn(List.of());
 
         // When
         Task result = taskService.updateTaskStatus(999L, TaskStatus.COMPLETED);
 
         // Then
         assertNull(result);
-        verify(taskRepository).findById(999L);
-        verify(taskRepository, never()).save(any(Task.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void testUpdateTaskPriority_WhenTaskExists() {
         // Given
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
-        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+        when(taskStore.updatePriorityReturningPrevious(eq(List.of(1L)), eq(TaskPriority.URGENT), any(LocalDateTime.class)))
+                .thenReturn(List.of(testTask));
 
         // When
         Task result = taskService.updateTaskPriority(1L, TaskPriority.URGENT);
 
         // Then
-        assertNotNull(result);
-        verify(taskRepository).findById(1L);
-        verify(taskRepository).save(any(Task.class));
+        assertEquals(TaskPriority.URGENT, result.getPriority());
+        verify(taskStore, never()).save(any(Task.class));
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(TaskPriority.MEDIUM, event.getValue().getPreviousPriority());
     }
 
     @Test
     void testUpdateTaskPriority_WhenTaskDoesNotExist() {
         // Given
-        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+        when(taskStore.updatePriorityReturningPrevious(eq(List.of(999L)), eq(TaskPriority.URGENT), any(LocalDateTime.class)))
+                .thenReturn(List.of());
 
         // When
         Task result = taskService.updateTaskPriority(999L, TaskPriority.URGENT);
 
         // Then
         assertNull(result);
-        verify(taskRepository).findById(999L);
-        verify(taskRepository, never()).save(any(Task.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testCreateTasks_SavesInChunks() {
+        // Given
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TaskService.BULK_CHUNK_SIZE + 1; i++) {
+            Task task = new Task("Bulk " + i, null);
+            task.setId(100L + i);
+            tasks.add(task);
+        }
+        when(taskStore.saveAll(anyList())).thenAnswer(invocation -> new ArrayList<>(invocation.<List<Task>>getArgument(0)));
+
+        // When
+        List<Task> result = taskService.createTasks(tasks);
+
+        // Then
+        assertEquals(tasks.size(), result.size());
+        assertTrue(result.stream().allMatch(task -> task.getId() == null), "Ids must be left to the sequence");
+        verify(taskStore, times(2)).saveAll(anyList());
+        verify(eventPublisher, times(tasks.size())).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void testUpdateTaskStatuses_IssuesOneStatementPerChunk() {
+        // Given
+        List<Long> ids = Arrays.asList(1L, 2L, 1L, 999L);
+        when(taskStore.updateStatusReturningPrevious(eq(Arrays.asList(1L, 2L, 999L)), eq(TaskStatus.COMPLETED),
+                any(LocalDateTime.class))).thenReturn(Arrays.asList(testTask, testTask2));
+
+        // When
+        int updated = taskService.updateTaskStatuses(ids, TaskStatus.COMPLETED);
+
+        // Then
+        assertEquals(2, updated);
+        verify(taskStore, never()).findAllById(any());
+        ArgumentCaptor<TaskChangedEvent> events = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(TaskStatus.PENDING, events.getAllValues().get(0).getPreviousStatus());
+        assertEquals(TaskStatus.COMPLETED, events.getAllValues().get(0).getTask().getStatus());
+        assertEquals(TaskStatus.IN_PROGRESS, events.getAllValues().get(1).getPreviousStatus());
+    }
+
+    @Test
+    void testUpdateTaskPriorities() {
+        // Given
+        when(taskStore.updatePriorityReturningPrevious(eq(List.of(1L)), eq(TaskPriority.URGENT), any(LocalDateTime.class)))
+                .thenReturn(List.of(testTask));
+
+        // When
+        int updated = taskService.updateTaskPriorities(List.of(1L), TaskPriority.URGENT);
+
+        // Then
+        assertEquals(1, updated);
+        assertEquals(TaskPriority.URGENT, testTask.getPriority());
+    }
+
+    @Test
+    void testDeleteTasks() {
+        // Given
+        when(taskStore.deleteReturningPrevious(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(testTask, testTask2));
+
+        // When
+        int deleted = taskService.deleteTasks(Arrays.asList(1L, 2L));
+
+        // Then
+        assertEquals(2, deleted);
+        ArgumentCaptor<TaskChangedEvent> events = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertTrue(events.getAllValues().stream().allMatch(e -> e.getType() == TaskChangedEvent.Type.DELETED));
+    }
+
+    @Test
+    void testArchiveTasks_PublishesDeletes() {
+        // Given
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(30);
+        testTask.setStatus(TaskStatus.COMPLETED);
+        testTask2.setStatus(TaskStatus.CANCELLED);
+        when(taskStore.archive(TaskService.ARCHIVABLE_STATUSES, cutoff, 500))
+                .thenReturn(Arrays.asList(testTask, testTask2));
+
+        // When
+        int archived = taskService.archiveTasks(cutoff, 500);
+
+        // Then
+        assertEquals(2, archived);
+        ArgumentCaptor<TaskChangedEvent> events = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertTrue(events.getAllValues().stream().allMatch(e -> e.getType() == TaskChangedEvent.Type.DELETED));
+        assertEquals(TaskStatus.COMPLETED, events.getAllValues().get(0).getPreviousStatus());
+    }
+
+    @Test
+    void testArchiveTasks_NothingDue() {
+        // Given
+        when(taskStore.archive(any(), any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+
+        // When
+        int archived = taskService.archiveTasks(LocalDateTime.now(), 500);
+
+        // Then
+        assertEquals(0, archived);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testRestoreArchivedTask() {
+        // Given
+        when(taskStore.restore(eq(1L), any(LocalDateTime.class))).thenReturn(testTask);
+
+        // When
+        Task restored = taskService.restoreArchivedTask(1L);
+
+        // Then
+        assertSame(testTask, restored);
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(TaskChangedEvent.Type.CREATED, event.getValue().getType());
+    }
+
+    @Test
+    void testRestoreArchivedTask_NotArchived() {
+        // Given
+        when(taskStore.restore(eq(99L), any(LocalDateTime.class))).thenReturn(null);
+
+        // When
+        Task restored = taskService.restoreArchivedTask(99L);
+
+        // Then
+        assertNull(restored);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testSearchArchivedTasks_ClampsLimit() {
+        // Given
+        List<ArchivedTask> found = List.of(ArchivedTask.of(testTask, LocalDateTime.now()));
+        when(taskStore.searchArchived("report", TaskService.MAX_PAGE_SIZE)).thenReturn(found);
+
+        // When
+        List<ArchivedTask> result = taskService.searchArchivedTasks("report", 10_000);
+
+        // Then
+        assertSame(found, result);
+    }
+
+    private static List<Long> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+
+    private static List<TaskSummary> summaries(Task... tasks) {
+        return Arrays.stream(tasks).map(TaskSummary::of).toList();
     }
 }
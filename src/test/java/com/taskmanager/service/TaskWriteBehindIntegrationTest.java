@@ -0,0 +1,58 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.stats.TaskStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:writebehind;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "taskmanager.write-behind.enabled=true",
+        "taskmanager.write-behind.flush-interval-ms=60000"
+})
+@ActiveProfiles("test")
+class TaskWriteBehindIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskWriteBehindQueue writeBehindQueue;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void queuedChangesAreWrittenToTheRow() {
+        // Given
+        Task task = taskService.createTask(new Task("Write behind", "Queued changes"));
+        taskService.updateTaskStatus(task.getId(), TaskStatus.COMPLETED);
+        taskService.updateTaskPriority(task.getId(), TaskPriority.URGENT);
+
+        // When
+        writeBehindQueue.flush();
+
+        // Then the row holds both changes, each with its own version bump
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT status, priority, version FROM tasks WHERE id = ?", task.getId());
+        assertEquals("COMPLETED", row.get("STATUS"));
+        assertEquals("URGENT", row.get("PRIORITY"));
+        assertEquals(task.getVersion() + 2, ((Number) row.get("VERSION")).longValue());
+        assertEquals(false, writeBehindQueue.hasPending());
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM task_changes WHERE task_id = ?", Integer.class, task.getId()));
+
+        TaskStats stats = taskService.getTaskStats();
+        assertEquals(1, stats.count(TaskStatus.COMPLETED));
+        assertEquals(1, stats.count(TaskPriority.URGENT));
+    }
+}
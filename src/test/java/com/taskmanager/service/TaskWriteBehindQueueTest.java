@@ -0,0 +1,136 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.workspace.WorkspaceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskWriteBehindQueueTest {
+
+    private final List<Map<Long, TaskWriteBehindQueue.PendingUpdate>> written =
+            Collections.synchronizedList(new ArrayList<>());
+    private TaskWriteBehindQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new TaskWriteBehindQueue(true, 200, 200, 60_000);
+        queue.setWriter(batch -> written.add(new LinkedHashMap<>(batch)));
+        queue.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (queue.isRunning()) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void repeatedUpdatesCoalescePerTask() {
+        // Given
+        queue.enqueue(1L, TaskStatus.IN_PROGRESS, null);
+        queue.enqueue(1L, TaskStatus.COMPLETED, null);
+        queue.enqueue(1L, null, TaskPriority.URGENT);
+        queue.enqueue(2L, TaskStatus.CANCELLED, null);
+
+        // When
+        int flushed = queue.flush();
+
+        // Then
+        assertEquals(2, flushed);
+        TaskWriteBehindQueue.PendingUpdate first = written.get(0).get(1L);
+        assertEquals(TaskStatus.COMPLETED, first.getStatus());
+        assertEquals(TaskPriority.URGENT, first.getPriority());
+        assertFalse(queue.hasPending());
+    }
+
+    @Test
+    void updatesKeepTheWorkspaceTheyWereQueuedIn() {
+        // Given
+        WorkspaceContext.run("acme", () -> queue.enqueue(1L, TaskStatus.IN_PROGRESS, null));
+        queue.enqueue(1L, null, TaskPriority.HIGH);
+        queue.enqueue(2L, TaskStatus.COMPLETED, null);
+
+        // When
+        queue.flush();
+
+        // Then
+        assertEquals("acme", written.get(0).get(1L).getWorkspace());
+        assertEquals(WorkspaceContext.DEFAULT, written.get(0).get(2L).getWorkspace());
+    }
+
+    @Test
+    void pendingChangesAreVisibleBeforeFlush() {
+        // Given
+        Task task = new Task("Write report", null);
+        task.setId(1L);
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.LOW);
+        queue.enqueue(1L, TaskStatus.COMPLETED, null);
+
+        // When
+        Task seen = queue.applyPending(task);
+
+        // Then
+        assertEquals(TaskStatus.COMPLETED, seen.getStatus());
+        assertEquals(TaskPriority.LOW, seen.getPriority());
+        assertEquals(TaskStatus.PENDING, task.getStatus());
+        assertTrue(written.isEmpty());
+    }
+
+    @Test
+    void fullQueueIsFlushedByTheCaller() {
+        // When
+        for (long id = 1; id <= 200; id++) {
+            queue.enqueue(id, TaskStatus.COMPLETED, null);
+        }
+
+        // Then
+        assertEquals(0, queue.getPendingCount());
+        assertEquals(200, written.stream().mapToInt(Map::size).sum());
+    }
+
+    @Test
+    void failedFlushKeepsUpdatesWithoutOverridingNewerOnes() {
+        // Given
+        queue.setWriter(batch -> {
+            throw new IllegalStateException("database unavailable");
+        });
+        queue.enqueue(1L, TaskStatus.IN_PROGRESS, TaskPriority.HIGH);
+
+        // When
+        assertThrows(IllegalStateException.class, queue::flush);
+        queue.enqueue(1L, TaskStatus.COMPLETED, null);
+        queue.setWriter(batch -> written.add(new LinkedHashMap<>(batch)));
+        queue.flush();
+
+        // Then
+        TaskWriteBehindQueue.PendingUpdate update = written.get(0).get(1L);
+        assertEquals(TaskStatus.COMPLETED, update.getStatus());
+        assertEquals(TaskPriority.HIGH, update.getPriority());
+    }
+
+    @Test
+    void stopWritesEverythingStillQueued() {
+        // Given
+        queue.enqueue(1L, TaskStatus.COMPLETED, null);
+
+        // When
+        queue.stop();
+
+        // Then
+        assertFalse(queue.isRunning());
+        assertEquals(1, written.size());
+    }
+}
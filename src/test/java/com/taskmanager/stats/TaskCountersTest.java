@@ -0,0 +1,179 @@
+package com.taskmanager.stats;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.store.TaskStore;
+import com.taskmanager.workspace.WorkspaceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskCountersTest {
+
+    @Mock
+    private TaskStore taskStore;
+
+    @InjectMocks
+    private TaskCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        when(taskStore.countByStatusAndPriority()).thenReturn(List.of(
+                new Object[]{TaskStatus.PENDING, TaskPriority.URGENT, 2L},
+                new Object[]{TaskStatus.PENDING, TaskPriority.LOW, 3L},
+                new Object[]{TaskStatus.COMPLETED, TaskPriority.LOW, 4L}));
+        counters.reload();
+    }
+
+    @Test
+    void reload_SeedsBothDimensionsFromOneQuery() {
+        TaskStats stats = counters.snapshot();
+
+        assertEquals(9, stats.getTotal());
+        assertEquals(5, stats.count(TaskStatus.PENDING));
+        assertEquals(0, stats.count(TaskStatus.IN_PROGRESS));
+        assertEquals(7, stats.count(TaskPriority.LOW));
+        assertEquals(2, stats.count(TaskPriority.URGENT));
+        verify(taskStore, times(1)).countByStatusAndPriority();
+    }
+
+    @Test
+    void onTaskChanged_MovesCountsBetweenBuckets() {
+        Task task = task(1L, TaskStatus.IN_PROGRESS, TaskPriority.URGENT);
+
+        counters.onTaskChanged(TaskChangedEvent.updated(task, TaskStatus.PENDING, TaskPriority.LOW));
+        counters.onTaskChanged(TaskChangedEvent.created(task(2L, TaskStatus.PENDING, TaskPriority.HIGH)));
+        counters.onTaskChanged(TaskChangedEvent.deleted(3L, TaskStatus.COMPLETED, TaskPriority.LOW));
+
+        TaskStats stats = counters.snapshot();
+        assertEquals(9, stats.getTotal());
+        assertEquals(5, stats.count(TaskStatus.PENDING));
+        assertEquals(1, stats.count(TaskStatus.IN_PROGRESS));
+        assertEquals(3, stats.count(TaskStatus.COMPLETED));
+        assertEquals(3, stats.count(TaskPriority.URGENT));
+        assertEquals(5, stats.count(TaskPriority.LOW));
+        assertEquals(1, stats.count(TaskPriority.HIGH));
+    }
+
+    @Test
+    void onTaskChanged_WithUnknownPreviousState_ReseedsOnNextRead() {
+        counters.onTaskChanged(TaskChangedEvent.deleted(1L));
+        verify(taskStore, times(1)).countByStatusAndPriority();
+
+        counters.snapshot();
+        counters.snapshot();
+
+        verify(taskStore, times(2)).countByStatusAndPriority();
+    }
+
+    @Test
+    void snapshot_ChangeDuringFirstSeedIsCountedOnce() {
+        // Given a task created in a new workspace while its GROUP BY runs
+        AtomicInteger queries = new AtomicInteger();
+        when(taskStore.countByStatusAndPriority()).thenAnswer(invocation -> {
+            if (queries.incrementAndGet() == 1) {
+                counters.onTaskChanged(TaskChangedEvent.created(task(10L, TaskStatus.PENDING, TaskPriority.HIGH)));
+                return List.<Object[]>of();
+            }
+            return List.<Object[]>of(new Object[]{TaskStatus.PENDING, TaskPriority.HIGH, 1L});
+        });
+
+        // When
+        TaskStats stats = WorkspaceContext.call("acme", counters::snapshot);
+
+        // Then it is neither lost nor counted on top of the reseed
+        assertEquals(2, queries.get());
+        assertEquals(1, stats.getTotal());
+        assertEquals(1, stats.count(TaskPriority.HIGH));
+    }
+
+    @Test
+    void reload_ChangeCommittedBeforeQueryIsNotCountedTwice() {
+        // Given an update the GROUP BY already reflects, published while it runs
+        AtomicInteger queries = new AtomicInteger();
+        when(taskStore.countByStatusAndPriority()).thenAnswer(invocation -> {
+            if (queries.incrementAndGet() == 1) {
+                counters.onTaskChanged(TaskChangedEvent.updated(
+                        task(1L, TaskStatus.COMPLETED, TaskPriority.LOW), TaskStatus.PENDING, TaskPriority.LOW));
+            }
+            return List.<Object[]>of(new Object[]{TaskStatus.COMPLETED, TaskPriority.LOW, 1L});
+        });
+
+        // When
+        counters.reload();
+
+        // Then
+        TaskStats stats = counters.snapshot();
+        assertEquals(1, stats.getTotal());
+        assertEquals(1, stats.count(TaskStatus.COMPLETED));
+        assertEquals(0, stats.count(TaskStatus.PENDING));
+    }
+
+    @Test
+    void reload_ChangeCountedAfterQueryThatSawItIsNotCountedTwice() {
+        // Given an update that commits before the GROUP BY but is counted after it
+        when(taskStore.countByStatusAndPriority()).thenReturn(List.<Object[]>of(
+                new Object[]{TaskStatus.COMPLETED, TaskPriority.LOW, 1L}));
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            counters.onTaskChanged(TaskChangedEvent.updated(
+                    task(1L, TaskStatus.COMPLETED, TaskPriority.LOW), TaskStatus.PENDING, TaskPriority.LOW));
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // When
+        counters.reload();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Then
+        TaskStats stats = counters.snapshot();
+        assertEquals(1, stats.getTotal());
+        assertEquals(1, stats.count(TaskStatus.COMPLETED));
+        assertEquals(0, stats.count(TaskStatus.PENDING));
+    }
+
+    @Test
+    void onTaskChanged_ConcurrentCreatesAreAllCounted() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            long id = 100L + i;
+            pool.execute(() -> counters.onTaskChanged(
+                    TaskChangedEvent.created(task(id, TaskStatus.PENDING, TaskPriority.MEDIUM))));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        TaskStats stats = counters.snapshot();
+        assertEquals(1009, stats.getTotal());
+        assertEquals(1000, stats.count(TaskPriority.MEDIUM));
+    }
+
+    private static Task task(Long id, TaskStatus status, TaskPriority priority) {
+        Task task = new Task("Task " + id, null);
+        task.setId(id);
+        task.setStatus(status);
+        task.setPriority(priority);
+        return task;
+    }
+}
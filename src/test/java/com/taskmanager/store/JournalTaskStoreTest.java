@@ -0,0 +1,357 @@
+package com.taskmanager.store;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskFilter;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskSortKey;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.model.TaskSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalTaskStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private JournalTaskStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void testSave_AssignsIdsAndVersions() {
+        // When
+        Task first = store.save(task("First", TaskStatus.PENDING, TaskPriority.LOW));
+        Task second = store.save(task("Second", TaskStatus.PENDING, TaskPriority.LOW));
+
+        // Then
+        assertEquals(1L, first.getId());
+        assertEquals(2L, second.getId());
+        assertEquals(0L, first.getVersion());
+        assertEquals("First", store.findById(1L).orElseThrow().getTitle());
+        assertTrue(store.existsById(2L));
+        assertFalse(store.existsById(3L));
+    }
+
+    @Test
+    void testFindById_ReturnsCopies() {
+        // Given
+        Task saved = store.save(task("Original", TaskStatus.PENDING, TaskPriority.LOW));
+
+        // When
+        store.findById(saved.getId()).orElseThrow().setTitle("Changed outside the store");
+
+        // Then
+        assertEquals("Original", store.findById(saved.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void testIndexes_FollowStatusChanges() {
+        // Given
+        Task task = store.save(task("Task", TaskStatus.PENDING, TaskPriority.HIGH));
+
+        // When
+        List<Task> previous = store.updateStatusReturningPrevious(List.of(task.getId()), TaskStatus.COMPLETED,
+                LocalDateTime.now());
+
+        // Then
+        assertEquals(TaskStatus.PENDING, previous.get(0).getStatus());
+        assertTrue(store.findByStatusOrderByCreatedAtDesc(TaskStatus.PENDING).isEmpty());
+        assertEquals(1, store.findByStatusOrderByCreatedAtDesc(TaskStatus.COMPLETED).size());
+        assertEquals(1L, store.findById(task.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testFindSummaries_FiltersAndSorts() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        store.save(withDueDate(task("Later", TaskStatus.PENDING, TaskPriority.HIGH), now.plusDays(5)));
+        store.save(withDueDate(task("Sooner", TaskStatus.PENDING, TaskPriority.HIGH), now.plusDays(1)));
+        store.save(withDueDate(task("Low", TaskStatus.PENDING, TaskPriority.LOW), now.plusDays(2)));
+        store.save(withDueDate(task("Done", TaskStatus.COMPLETED, TaskPriority.HIGH), now.plusDays(3)));
+        store.save(withDueDate(task("Too late", TaskStatus.PENDING, TaskPriority.HIGH), now.plusDays(30)));
+
+        // When
+        List<TaskSummary> result = store.findSummaries(new TaskFilter(TaskStatus.PENDING, TaskPriority.HIGH,
+                now, now.plusDays(10), TaskSortKey.DUE_DATE));
+
+        // Then
+        assertEquals(List.of("Sooner", "Later"), result.stream().map(TaskSummary::getTitle).toList());
+    }
+
+    @Test
+    void testFindPageAfter_WalksNewestFirst() {
+        // Given
+        LocalDateTime start = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            Task task = task("Task " + i, TaskStatus.PENDING, TaskPriority.MEDIUM);
+            task.setCreatedAt(start.plusMinutes(i));
+            store.save(task);
+        }
+
+        // When
+        List<Task> first = store.findFirstPage(2);
+        Task last = first.get(1);
+        List<Task> second = store.findPageAfter(last.getCreatedAt(), last.getId(), 2);
+
+        // Then
+        assertEquals(List.of("Task 4", "Task 3"), first.stream().map(Task::getTitle).toList());
+        assertEquals(List.of("Task 2", "Task 1"), second.stream().map(Task::getTitle).toList());
+    }
+
+    @Test
+    void testUpdateDetails_StaleVersionChangesNothing() {
+        // Given
+        Task task = store.save(task("Task", TaskStatus.PENDING, TaskPriority.MEDIUM));
+        Task details = task("Renamed", TaskStatus.IN_PROGRESS, TaskPriority.HIGH);
+
+        // When
+        List<Task> stale = store.updateDetailsReturningPrevious(task.getId(), details, LocalDateTime.now(), 5L);
+        List<Task> current = store.updateDetailsReturningPrevious(task.getId(), details, LocalDateTime.now(), 0L);
+
+        // Then
+        assertTrue(stale.isEmpty());
+        assertEquals("Task", current.get(0).getTitle());
+        assertEquals("Renamed", store.findById(task.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void testDelete_RemovesFromEveryIndex() {
+        // Given
+        Task task = store.save(withDueDate(task("Task", TaskStatus.PENDING, TaskPriority.HIGH),
+                LocalDateTime.now().plusDays(1)));
+
+        // When
+        List<Task> previous = store.deleteReturningPrevious(List.of(task.getId(), 99L));
+
+        // Then
+        assertEquals(1, previous.size());
+        assertTrue(store.findAllByOrderByCreatedAtDesc().isEmpty());
+        assertTrue(store.findByPriorityOrderByCreatedAtDesc(TaskPriority.HIGH).isEmpty());
+        assertTrue(store.findOpenTasksWithDueDate().isEmpty());
+        assertTrue(store.countByStatusAndPriority().isEmpty());
+    }
+
+    @Test
+    void testSave_MissingTitleIsRejected() {
+        // Given
+        Task task = task(null, TaskStatus.PENDING, TaskPriority.MEDIUM);
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class, () -> store.save(task));
+        assertTrue(store.findAllByOrderByIdAsc().isEmpty());
+    }
+
+    @Test
+    void testOpen_ReplaysJournalAfterCrash() throws IOException {
+        // Given
+        store.save(task("Kept", TaskStatus.PENDING, TaskPriority.MEDIUM));
+        Task removed = store.save(task("Removed", TaskStatus.PENDING, TaskPriority.MEDIUM));
+        store.deleteReturningPrevious(List.of(removed.getId()));
+
+        // When
+        JournalTaskStore reopened = open();
+
+        // Then
+        try {
+            assertEquals(List.of("Kept"), titles(reopened.findAllByOrderByIdAsc()));
+            assertEquals(3L, reopened.save(task("Next", TaskStatus.PENDING, TaskPriority.MEDIUM)).getId());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void testOpen_LoadsSnapshotAfterClose() throws IOException {
+        // Given
+        store.save(task("First", TaskStatus.PENDING, TaskPriority.MEDIUM));
+        store.save(task("Second", TaskStatus.COMPLETED, TaskPriority.HIGH));
+        store.close();
+
+        // When
+        store = open();
+
+        // Then
+        assertEquals(List.of("First", "Second"), titles(store.findAllByOrderByIdAsc()));
+        assertEquals(1, journals().size());
+        assertEquals(1, snapshots().size());
+    }
+
+    @Test
+    void testOpen_IgnoresTornTail() throws IOException {
+        // Given
+        store.save(task("Durable", TaskStatus.PENDING, TaskPriority.MEDIUM));
+        store.save(task("Torn", TaskStatus.PENDING, TaskPriority.MEDIUM));
+        // Stops like a crash would: the journal is released without the snapshot close() takes
+        ((TaskJournal) ReflectionTestUtils.getField(store, "journal")).close();
+        Path journal = journals().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(journal.toFile(), "rw")) {
+            int firstLength = file.readInt();
+            long second = Integer.BYTES * 2L + firstLength;
+            file.seek(second);
+            int secondLength = file.readInt();
+            long lastPayloadByte = second + Integer.BYTES * 2L + secondLength - 1;
+            file.seek(lastPayloadByte);
+            int original = file.read();
+            file.seek(lastPayloadByte);
+            file.write(original ^ 0xff);
+        }
+
+        // When
+        store = open();
+
+        // Then
+        assertEquals(List.of("Durable"), titles(store.findAllByOrderByIdAsc()));
+    }
+
+    @Test
+    void testSaveAll_SpansSeveralRegions() throws IOException {
+        // Given
+        String description = "x".repeat(900);
+
+        // When
+        for (int batch = 0; batch < 15; batch++) {
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                tasks.add(new Task("Task " + batch + "-" + i, description));
+            }
+            store.saveAll(tasks);
+        }
+        JournalTaskStore reopened = open();
+
+        // Then
+        try {
+            assertEquals(1500, reopened.findAllByOrderByIdAsc().size());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void testCopies_KeepEveryField() {
+        // Given
+        Task task = withDueDate(task("Copied", TaskStatus.PENDING, TaskPriority.LOW), LocalDateTime.now());
+        task.setWorkspace("acme");
+
+        // When
+        Task saved = store.save(task);
+        Task found = store.findById(saved.getId()).orElseThrow();
+
+        // Then
+        assertEquals("acme", saved.getWorkspace());
+        assertEquals("acme", found.getWorkspace());
+        assertEquals(saved.getVersion(), found.getVersion());
+        assertEquals(task.getDueDate(), found.getDueDate());
+    }
+
+    @Test
+    void testArchive_IsNotSupported() {
+        // Given
+        store.save(task("Done", TaskStatus.COMPLETED, TaskPriority.LOW));
+
+        // When & Then
+        assertFalse(store.supportsArchive());
+        assertThrows(UnsupportedOperationException.class,
+                () -> store.archive(Set.of(TaskStatus.COMPLETED), LocalDateTime.now(), 10));
+        assertThrows(UnsupportedOperationException.class, () -> store.searchArchived("", 10));
+        assertThrows(UnsupportedOperationException.class, () -> store.restore(1L, LocalDateTime.now()));
+        assertEquals(1, store.findAllByOrderByIdAsc().size());
+    }
+
+    @Test
+    void testConcurrentWriters_AllRecovered() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Long>> ids = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 400; i++) {
+            int n = i;
+            ids.add(executor.submit(() -> store.save(task("Task " + n, TaskStatus.PENDING, TaskPriority.LOW)).getId()));
+        }
+        Set<Long> assigned = ids.stream().map(future -> {
+            try {
+                return future.get();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).collect(Collectors.toSet());
+        executor.shutdown();
+        JournalTaskStore reopened = open();
+
+        // Then
+        try {
+            assertEquals(400, assigned.size());
+            assertEquals(400, reopened.findAllByOrderByIdAsc().size());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    private JournalTaskStore open() throws IOException {
+        JournalTaskStore opened = new JournalTaskStore();
+        ReflectionTestUtils.setField(opened, "directoryName", directory.toString());
+        ReflectionTestUtils.setField(opened, "regionSizeMb", 1);
+        ReflectionTestUtils.setField(opened, "fsync", true);
+        opened.open();
+        return opened;
+    }
+
+    private List<Path> journals() throws IOException {
+        return files("journal-");
+    }
+
+    private List<Path> snapshots() throws IOException {
+        return files("snapshot-");
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix)).sorted().toList();
+        }
+    }
+
+    private static Task task(String title, TaskStatus status, TaskPriority priority) {
+        Task task = new Task(title, "Description");
+        task.setStatus(status);
+        task.setPriority(priority);
+        return task;
+    }
+
+    private static Task withDueDate(Task task, LocalDateTime dueDate) {
+        task.setDueDate(dueDate);
+        return task;
+    }
+
+    private static List<String> titles(List<Task> tasks) {
+        return tasks.stream().map(Task::getTitle).toList();
+    }
+}
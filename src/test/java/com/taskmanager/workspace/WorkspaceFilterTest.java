@@ -0,0 +1,97 @@
+package com.taskmanager.workspace;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WorkspaceFilterTest {
+
+    private final ShardMap shardMap = mock(ShardMap.class);
+
+    @Test
+    void requestRunsInWorkspaceFromHeader() throws Exception {
+        // Given
+        WorkspaceFilter filter = new WorkspaceFilter(shardMap, true);
+        MockHttpServletRequest request = request("acme");
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> seen.set(WorkspaceContext.current()));
+
+        // Then
+        assertEquals("acme", seen.get());
+        assertEquals(WorkspaceContext.DEFAULT, WorkspaceContext.current());
+        verify(shardMap).shardFor("acme");
+    }
+
+    @Test
+    void requestWithoutHeaderRunsInDefaultWorkspace() throws Exception {
+        // Given
+        WorkspaceFilter filter = new WorkspaceFilter(shardMap, false);
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertNotNull(chain.getRequest());
+        verifyNoInteractions(shardMap);
+    }
+
+    @Test
+    void invalidWorkspaceNameIsRejected() throws Exception {
+        // Given
+        WorkspaceFilter filter = new WorkspaceFilter(shardMap, true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request("../Acme"), response, chain);
+
+        // Then
+        assertEquals(400, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void otherWorkspacesAreRejectedWhileDisabled() throws Exception {
+        // Given
+        WorkspaceFilter filter = new WorkspaceFilter(shardMap, false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request("acme"), response, new MockFilterChain());
+
+        // Then
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    void workspaceBeingMovedIsAskedToRetry() throws Exception {
+        // Given
+        when(shardMap.isMoving("acme")).thenReturn(true);
+        WorkspaceFilter filter = new WorkspaceFilter(shardMap, true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request("acme"), response, chain);
+
+        // Then
+        assertEquals(503, response.getStatus());
+        assertEquals("30", response.getHeader("Retry-After"));
+        assertNull(chain.getRequest());
+    }
+
+    private static MockHttpServletRequest request(String workspace) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader(WorkspaceFilter.HEADER, workspace);
+        return request;
+    }
+}
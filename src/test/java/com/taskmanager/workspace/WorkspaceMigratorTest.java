@@ -0,0 +1,153 @@
+package com.taskmanager.workspace;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkspaceMigratorTest {
+
+    private static final Timestamp NOW = Timestamp.valueOf(LocalDateTime.of(2024, 3, 1, 9, 0));
+
+    private JdbcTemplate shard0;
+    private JdbcTemplate shard1;
+    private DirectoryShardMap shardMap;
+    private WorkspaceMigrator migrator;
+
+    @BeforeEach
+    void setUp() {
+        DataSource first = shard("shard0");
+        DataSource second = shard("shard1");
+        shard0 = new JdbcTemplate(first);
+        shard1 = new JdbcTemplate(second);
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        shards.put("shard-0", first);
+        shards.put("shard-1", second);
+        shardMap = new DirectoryShardMap(first, List.of("shard-0", "shard-1"), 60_000);
+        shardMap.start();
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(shards, () -> shardMap);
+        routing.afterPropertiesSet();
+        migrator = new WorkspaceMigrator(shardMap, routing, 0, 2);
+    }
+
+    @Test
+    void newWorkspacesGoToLeastUsedShard() {
+        // When
+        String acme = shardMap.shardFor("acme");
+        String globex = shardMap.shardFor("globex");
+
+        // Then
+        assertEquals("shard-0", shardMap.shardFor(WorkspaceContext.DEFAULT));
+        assertEquals("shard-1", acme);
+        assertEquals("shard-0", globex);
+        assertEquals(List.of("acme", WorkspaceContext.DEFAULT, "globex"), shardMap.getWorkspaces());
+    }
+
+    @Test
+    void migrateMovesRowsAndDirectoryEntry() {
+        // Given
+        assertEquals("shard-1", shardMap.shardFor("acme"));
+        insertTask(shard1, 1L, "acme");
+        insertTask(shard1, 2L, "acme");
+        insertTask(shard1, 3L, "acme");
+        insertTask(shard1, 4L, "other");
+        shard1.update("INSERT INTO archived_tasks (id, workspace, title, status, priority, created_at, "
+                + "updated_at, version, archived_at) VALUES (5, 'acme', 'Old', 'COMPLETED', 'LOW', ?, ?, 0, ?)",
+                NOW, NOW, NOW);
+        for (int i = 0; i < 3; i++) {
+            appendChange(shard1, "acme");
+        }
+
+        // When
+        int moved = migrator.migrate("acme", "shard-0");
+
+        // Then
+        assertEquals(4, moved);
+        assertEquals("shard-0", shardMap.shardFor("acme"));
+        assertFalse(shardMap.isMoving("acme"));
+        assertEquals(List.of(1L, 2L, 3L), ids(shard0, "tasks", "acme"));
+        assertEquals(List.of(5L), ids(shard0, "archived_tasks", "acme"));
+        assertTrue(ids(shard1, "tasks", "acme").isEmpty());
+        assertEquals(List.of(4L), ids(shard1, "tasks", "other"));
+        appendChange(shard0, "acme");
+        Long seq = shard0.queryForObject("SELECT MAX(seq) FROM task_changes", Long.class);
+        assertTrue(seq > 3, "change log must continue past the source's positions");
+    }
+
+    @Test
+    void failedMigrateLeavesWorkspaceWhereItWas() {
+        // Given
+        assertEquals("shard-1", shardMap.shardFor("acme"));
+        insertTask(shard1, 1L, "acme");
+        insertTask(shard1, 2L, "acme");
+        insertTask(shard1, 3L, "acme");
+        // Taken on the target, so the copy fails part way
+        insertTask(shard0, 3L, WorkspaceContext.DEFAULT);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> migrator.migrate("acme", "shard-0"));
+        assertEquals("shard-1", shardMap.shardFor("acme"));
+        assertFalse(shardMap.isMoving("acme"));
+        assertTrue(ids(shard0, "tasks", "acme").isEmpty());
+        assertEquals(List.of(1L, 2L, 3L), ids(shard1, "tasks", "acme"));
+    }
+
+    @Test
+    void rebalanceMovesWorkspaceOffFullestShard() {
+        // Given
+        assertEquals("shard-1", shardMap.shardFor("acme"));
+        assertEquals("shard-0", shardMap.shardFor("globex"));
+        for (long id = 1; id <= 8; id++) {
+            insertTask(shard0, id, id <= 6 ? WorkspaceContext.DEFAULT : "globex");
+        }
+        insertTask(shard1, 9L, "acme");
+
+        // When
+        Map<String, String> moves = migrator.rebalance(10);
+
+        // Then
+        assertEquals(Map.of("globex", "shard-1"), moves);
+        assertEquals("shard-1", shardMap.shardFor("globex"));
+        assertEquals(List.of(7L, 8L), ids(shard1, "tasks", "globex"));
+    }
+
+    private static void insertTask(JdbcTemplate shard, long id, String workspace) {
+        shard.update("INSERT INTO tasks (id, workspace, title, status, priority, created_at, updated_at, version) "
+                + "VALUES (?, ?, ?, 'PENDING', 'MEDIUM', ?, ?, 0)", id, workspace, "Task " + id, NOW, NOW);
+    }
+
+    private static void appendChange(JdbcTemplate shard, String workspace) {
+        shard.update("INSERT INTO task_changes (seq, workspace, task_id, type, changed_at) "
+                + "VALUES (NEXT VALUE FOR task_change_seq, ?, 1, 'UPDATED', ?)",
+                workspace, NOW);
+    }
+
+    private static List<Long> ids(JdbcTemplate shard, String table, String workspace) {
+        return shard.queryForList("SELECT id FROM " + table + " WHERE workspace = ? ORDER BY id", Long.class,
+                workspace);
+    }
+
+    private static DataSource shard(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        String taskColumns = "id BIGINT PRIMARY KEY, workspace VARCHAR(40) NOT NULL, title VARCHAR(255), "
+                + "description VARCHAR(2000), status VARCHAR(20), priority VARCHAR(20), created_at TIMESTAMP, "
+                + "updated_at TIMESTAMP, due_date TIMESTAMP, version BIGINT";
+        jdbc.execute("CREATE TABLE tasks (" + taskColumns + ")");
+        jdbc.execute("CREATE TABLE archived_tasks (" + taskColumns + ", archived_at TIMESTAMP)");
+        jdbc.execute("CREATE SEQUENCE task_change_seq START WITH 1 INCREMENT BY 1");
+        jdbc.execute("CREATE TABLE task_changes (seq BIGINT PRIMARY KEY, "
+                + "workspace VARCHAR(40) NOT NULL, task_id BIGINT, type VARCHAR(20), changed_at TIMESTAMP)");
+        return dataSource;
+    }
+}